@@ -1,8 +1,13 @@
 import type {
     Artifact,
+    ArtifactPage,
+    ArtifactPageParams,
+    ArtifactSearchResult,
     DependencyRow,
     UploadResult,
     GraphData,
+    CytoscapeElement,
+    NeighborPage,
     TableInfo,
     GraphParams,
     DependencyParams,
@@ -10,6 +15,10 @@ import type {
 
 const API_BASE = '/api';
 
+// Compact string-table encoding of /graph/data (see CompactGraphCodec on the server)
+const COMPACT_GRAPH_TYPE = 'application/vnd.jdep.graph+binary';
+const COMPACT_GRAPH_MAGIC = 0x3247444a; // "JDG2"
+
 // Helper to build query string
 function buildQuery(params: Record<string, unknown>): string {
     const searchParams = new URLSearchParams();
@@ -42,6 +51,20 @@ export async function getArtifacts(limit = 500): Promise<Artifact[]> {
     return res.json();
 }
 
+// One keyset page of artifacts; pass nextCursor back as `after` for the next one
+export async function getArtifactsPage(params: ArtifactPageParams = {}): Promise<ArtifactPage> {
+    const query = buildQuery({ ...params });
+    const res = await fetch(`${API_BASE}/artifacts?${query}`);
+    return { items: await res.json(), nextCursor: res.headers.get('X-Next-Cursor') };
+}
+
+// Typeahead search over group, artifact and version
+export async function searchArtifacts(q: string, limit = 20): Promise<ArtifactSearchResult> {
+    const query = buildQuery({ q, limit });
+    const res = await fetch(`${API_BASE}/artifacts/search?${query}`);
+    return res.json();
+}
+
 // Get graph data in Cytoscape format
 export async function getGraphData(params: GraphParams): Promise<GraphData> {
     const query = buildQuery({
@@ -51,11 +74,118 @@ export async function getGraphData(params: GraphParams): Promise<GraphData> {
         show_version: params.showVersion ?? true,
         depth: params.depth,
         scope: params.scope,
+        layout: params.layout,
     });
+    if (params.compact) {
+        const res = await fetch(`${API_BASE}/graph/data?${query}`, {
+            headers: { Accept: COMPACT_GRAPH_TYPE },
+        });
+        return decodeCompactGraph(await res.arrayBuffer());
+    }
     const res = await fetch(`${API_BASE}/graph/data?${query}`);
     return res.json();
 }
 
+// Decode the compact graph encoding into Cytoscape elements; numbers are little-endian on any host
+export function decodeCompactGraph(buffer: ArrayBuffer): GraphData {
+    const view = new DataView(buffer);
+    const int = (byteOffset: number) => view.getInt32(byteOffset, true);
+    if (int(0) !== COMPACT_GRAPH_MAGIC) {
+        throw new Error('Not a compact graph payload');
+    }
+    const flags = int(4);
+    const stringCount = int(8);
+    const nodeCount = int(12);
+    const edgeCount = int(16);
+    const tableBytes = int(28);
+
+    let offset = 32;
+    const stringOffsets = offset;
+    offset += (stringCount + 1) * 4;
+    const decoder = new TextDecoder();
+    const strings: string[] = new Array(stringCount);
+    for (let i = 0; i < stringCount; i++) {
+        const start = int(stringOffsets + i * 4);
+        const end = int(stringOffsets + (i + 1) * 4);
+        strings[i] = decoder.decode(new Uint8Array(buffer, offset + start, end - start));
+    }
+    offset += (tableBytes + 3) & ~3;
+
+    const nodesOffset = offset;
+    offset += nodeCount * 6 * 4;
+    const edgesOffset = offset;
+    offset += edgeCount * 4 * 4;
+    const positionsOffset = flags & 1 ? offset : -1;
+    const node = (i: number) => int(nodesOffset + i * 4);
+    const edge = (i: number) => int(edgesOffset + i * 4);
+
+    const elements: CytoscapeElement[] = new Array(nodeCount + edgeCount);
+    const ids: string[] = new Array(nodeCount);
+    for (let i = 0; i < nodeCount; i++) {
+        const row = i * 6;
+        ids[i] = strings[node(row)];
+        const element: CytoscapeElement = {
+            data: {
+                id: ids[i],
+                label: strings[node(row + 1)],
+                group_id: strings[node(row + 2)],
+                artifact_id: strings[node(row + 3)],
+                version: strings[node(row + 4)],
+            },
+            classes: strings[node(row + 5)],
+        };
+        if (positionsOffset >= 0) {
+            element.position = {
+                x: view.getFloat32(positionsOffset + i * 8, true),
+                y: view.getFloat32(positionsOffset + i * 8 + 4, true),
+            };
+        }
+        elements[i] = element;
+    }
+    for (let i = 0; i < edgeCount; i++) {
+        const row = i * 4;
+        const source = ids[edge(row)];
+        const target = ids[edge(row + 1)];
+        elements[nodeCount + i] = {
+            data: {
+                id: `${source}__${target}`,
+                source,
+                target,
+                scope: strings[edge(row + 2)],
+                optional: edge(row + 3) === 1,
+            },
+        };
+    }
+    return { elements, layout: positionsOffset >= 0 ? 'preset' : undefined };
+}
+
+// Get one level of the groupId-prefix hierarchy; expanded nodes are replaced by their children
+export async function getGraphHierarchy(expand: string[] = [], maxNodes?: number): Promise<GraphData> {
+    const query = buildQuery({
+        expand,
+        max_nodes: maxNodes,
+    });
+    const res = await fetch(`${API_BASE}/graph/hierarchy?${query}`);
+    return res.json();
+}
+
+// Get one page of a node's direct dependencies and dependents
+export async function getNeighbors(
+    nodeId: string,
+    direction: 'forward' | 'reverse' | 'both' = 'both',
+    offset = 0,
+    limit = 100,
+): Promise<NeighborPage> {
+    const query = buildQuery({
+        node_id: nodeId,
+        direction,
+        offset,
+        limit,
+    });
+    const res = await fetch(`${API_BASE}/graph/neighbors?${query}`);
+    return res.json();
+}
+
 // Get dependencies table data
 export async function getDependencies(params: DependencyParams): Promise<DependencyRow[]> {
     const query = buildQuery({
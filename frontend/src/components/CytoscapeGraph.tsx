@@ -7,7 +7,7 @@ import type { CytoscapeElement } from '../types/api';
 // Register dagre layout
 cytoscape.use(dagre);
 
-export type LayoutName = 'dagre' | 'cose' | 'grid' | 'circle' | 'concentric' | 'breadthfirst';
+export type LayoutName = 'dagre' | 'cose' | 'grid' | 'circle' | 'concentric' | 'breadthfirst' | 'preset';
 
 interface CytoscapeGraphProps {
     elements: CytoscapeElement[];
@@ -67,6 +67,10 @@ export function CytoscapeGraph({
         if (name === 'dagre') {
             return { ...base, rankDir: 'LR' };
         }
+        if (name === 'preset') {
+            // Positions were computed by the server; just place the nodes
+            return { ...base, animate: false };
+        }
         return base;
     }, []);
 
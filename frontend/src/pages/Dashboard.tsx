@@ -13,7 +13,7 @@ export function Dashboard() {
     const [elements, setElements] = useState<CytoscapeElement[]>([]);
     const [showGroup, setShowGroup] = useState(false);
     const [showVersion, setShowVersion] = useState(false);
-    const [layout, setLayout] = useState<LayoutName>('concentric');
+    const [layout, setLayout] = useState<LayoutName>('preset');
     const [loading, setLoading] = useState(false);
 
     const refreshGraph = useCallback(async (ignoreGroup: boolean, ignoreVersion: boolean) => {
@@ -23,8 +23,13 @@ export function Dashboard() {
                 showGroup: !ignoreGroup,
                 showVersion: !ignoreVersion,
                 direction: 'forward',
+                layout: 'server',
+                compact: true,
             });
             setElements(data.elements || []);
+            if (data.layout === 'preset') {
+                setLayout('preset');
+            }
         } catch (err) {
             console.error('Failed to load graph:', err);
         } finally {
@@ -132,6 +137,7 @@ export function Dashboard() {
                                 onChange={handleLayoutChange}
                                 className="bg-gray-50 border border-gray-300 text-gray-900 text-sm rounded-lg focus:ring-primary-500 focus:border-primary-500 block p-1.5"
                             >
+                                <option value="preset">Precomputed (Server)</option>
                                 <option value="dagre">Hierarchy (Dagre)</option>
                                 <option value="cose">Force (Cose)</option>
                                 <option value="grid">Grid</option>
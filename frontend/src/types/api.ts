@@ -8,6 +8,31 @@ export interface Artifact {
     version: string;
 }
 
+export interface ArtifactMatch {
+    gav: string;
+    group_id: string;
+    artifact_id: string;
+    version: string;
+}
+
+export interface ArtifactPageParams {
+    limit?: number;
+    after?: string;
+    sort?: 'gav' | 'group_id' | 'artifact_id' | 'version';
+    order?: 'asc' | 'desc';
+}
+
+export interface ArtifactPage {
+    items: ArtifactMatch[];
+    nextCursor: string | null;
+}
+
+export interface ArtifactSearchResult {
+    q: string;
+    count: number;
+    items: ArtifactMatch[];
+}
+
 export interface DependencyRow {
     fromGav: string;
     fromGroup: string;
@@ -31,6 +56,8 @@ export interface UploadResult {
 
 export interface GraphData {
     elements: CytoscapeElement[];
+    // 'preset' when nodes carry server-computed positions
+    layout?: string;
 }
 
 export interface CytoscapeElement {
@@ -41,9 +68,22 @@ export interface CytoscapeElement {
         target?: string;
         [key: string]: unknown;
     };
+    position?: { x: number; y: number };
     classes?: string;
 }
 
+export interface NeighborPage {
+    node_id: string;
+    found: boolean;
+    out_degree: number;
+    in_degree: number;
+    total: number;
+    offset: number;
+    limit: number;
+    next_offset: number | null;
+    elements: CytoscapeElement[];
+}
+
 export interface TableInfo {
     name: string;
     rowCount: number;
@@ -56,6 +96,9 @@ export interface GraphParams {
     showVersion?: boolean;
     depth?: number;
     scope?: string[];
+    layout?: 'server';
+    // Request the compact binary encoding instead of JSON
+    compact?: boolean;
 }
 
 export interface DependencyParams {
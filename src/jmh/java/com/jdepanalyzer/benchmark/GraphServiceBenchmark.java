@@ -0,0 +1,73 @@
+package com.jdepanalyzer.benchmark;
+
+import com.jdepanalyzer.service.GraphService;
+import com.jdepanalyzer.service.GraphService.AggregatedEdgeData;
+import com.jdepanalyzer.service.GraphService.EdgeData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jgrapht.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregation, traversal and Cytoscape serialization over synthetic graphs of
+ * 10k, 100k and 1M edges (see {@link SyntheticGraphs}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GraphServiceBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int edges;
+
+    private GraphService graphService;
+    private Graph<String, EdgeData> atomic;
+    private Graph<String, AggregatedEdgeData> aggregated;
+    private String root;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The repositories are only used to load from the database, which is not measured here
+        graphService = new GraphService(null, null, new SimpleMeterRegistry());
+        atomic = SyntheticGraphs.atomic(edges);
+        aggregated = graphService.aggregateGraph(atomic, true, false);
+        root = SyntheticGraphs.gav(0);
+    }
+
+    @Benchmark
+    public Graph<String, AggregatedEdgeData> aggregateHideVersion() {
+        return graphService.aggregateGraph(atomic, true, false);
+    }
+
+    @Benchmark
+    public Graph<String, AggregatedEdgeData> aggregateArtifactOnly() {
+        return graphService.aggregateGraph(atomic, false, false);
+    }
+
+    @Benchmark
+    public Set<String> nodesWithinDepth3() {
+        return graphService.nodesWithinDepth(atomic, root, "forward", 3);
+    }
+
+    @Benchmark
+    public Set<String> nodesWithinDepthAll() {
+        return graphService.nodesWithinDepth(atomic, root, "forward", null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> toCytoscapeElementsAtomic() {
+        return graphService.toCytoscapeElements(atomic, null, "forward", true, null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> toCytoscapeElementsAggregated() {
+        return graphService.toCytoscapeElements(aggregated, null, "forward", false, null);
+    }
+}
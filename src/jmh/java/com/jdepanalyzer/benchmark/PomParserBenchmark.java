@@ -0,0 +1,56 @@
+package com.jdepanalyzer.benchmark;
+
+import com.jdepanalyzer.dto.MavenProject;
+import com.jdepanalyzer.service.PomParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PomParser#parse(java.io.InputStream)} over the sample POMs in
+ * {@code src/test/resources/testing/sample-poms}, read into memory up front.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PomParserBenchmark {
+
+    private PomParser parser;
+    private List<byte[]> poms;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        parser = new PomParser(new SimpleMeterRegistry());
+        poms = new ArrayList<>();
+        for (Resource pom : new PathMatchingResourcePatternResolver()
+                .getResources("classpath:testing/sample-poms/*.pom")) {
+            poms.add(pom.getContentAsByteArray());
+        }
+        if (poms.isEmpty()) {
+            throw new IllegalStateException("No sample POMs on the classpath");
+        }
+    }
+
+    /**
+     * Parse every sample POM once; the score is per batch.
+     */
+    @Benchmark
+    public int parseSamplePoms() throws Exception {
+        int dependencies = 0;
+        for (byte[] pom : poms) {
+            MavenProject project = parser.parse(new ByteArrayInputStream(pom));
+            dependencies += project.getDependencies().size();
+        }
+        return dependencies;
+    }
+}
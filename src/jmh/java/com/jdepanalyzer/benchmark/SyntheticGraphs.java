@@ -0,0 +1,51 @@
+package com.jdepanalyzer.benchmark;
+
+import com.jdepanalyzer.service.GraphService.EdgeData;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+
+import java.util.Random;
+
+/**
+ * Deterministic synthetic dependency graphs for benchmarks.
+ *
+ * Shape: four nodes (versions) per GA, 500 groups, an average out-degree of
+ * four, and edges only from lower to higher node numbers so the graph is a
+ * DAG like a real repository. Node 0 reaches most of the graph. The same
+ * {@code edges} always yields the same graph, so results are comparable
+ * across runs.
+ */
+final class SyntheticGraphs {
+
+    static final int VERSIONS_PER_ARTIFACT = 4;
+    static final int GROUPS = 500;
+    static final int AVERAGE_OUT_DEGREE = 4;
+
+    private static final String[] SCOPES = { "compile", "compile", "compile", "runtime", "test", "provided" };
+
+    private SyntheticGraphs() {
+    }
+
+    static String gav(int node) {
+        int artifact = node / VERSIONS_PER_ARTIFACT;
+        return "com.bench.g" + (artifact % GROUPS) + ":a" + artifact + ":1." + (node % VERSIONS_PER_ARTIFACT);
+    }
+
+    static Graph<String, EdgeData> atomic(int edges) {
+        int nodes = Math.max(2, edges / AVERAGE_OUT_DEGREE);
+        Random random = new Random(42);
+        Graph<String, EdgeData> graph = new DefaultDirectedGraph<>(EdgeData.class);
+        String[] gavs = new String[nodes];
+        for (int i = 0; i < nodes; i++) {
+            gavs[i] = gav(i);
+            graph.addVertex(gavs[i]);
+        }
+        while (graph.edgeSet().size() < edges) {
+            int source = random.nextInt(nodes - 1);
+            int target = source + 1 + random.nextInt(nodes - source - 1);
+            graph.addEdge(gavs[source], gavs[target],
+                    new EdgeData(SCOPES[random.nextInt(SCOPES.length)], random.nextInt(20) == 0));
+        }
+        return graph;
+    }
+}
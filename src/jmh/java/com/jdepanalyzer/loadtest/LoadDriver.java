@@ -0,0 +1,268 @@
+package com.jdepanalyzer.loadtest;
+
+import com.jdepanalyzer.JDepAnalyzerApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * End-to-end load driver: uploads a {@link SyntheticPomCorpus} through
+ * {@code /api/upload}, then replays a mix of graph, table and export requests
+ * from several threads and prints throughput and p50/p99 latency per endpoint.
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:java@load -Dload.args="--embedded=sqlite --projects=2000"
+ *
+ * --base-url=URL          drive an already running server instead of starting one
+ * --embedded=sqlite       start the application in-process on a temporary SQLite file (default)
+ * --embedded=postgres     start it on H2 in PostgreSQL mode with the PostgreSQL Flyway migrations
+ * --projects=N --versions=N --seed=N   corpus shape (see SyntheticPomCorpus.Options)
+ * --batch=N               POMs per upload request (default 100)
+ * --requests=N            replayed read requests (default 1000)
+ * --concurrency=N         replay threads (default 8)
+ * </pre>
+ */
+public final class LoadDriver {
+
+    /** Replayed request kinds and their relative weights. */
+    private static final String[] KINDS = { "graph.full", "graph.rooted", "graph.aggregated", "table", "export" };
+    private static final int[] WEIGHTS = { 15, 35, 10, 30, 10 };
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        SyntheticPomCorpus.Options corpusOptions = SyntheticPomCorpus.Options.defaults()
+                .withProjects(intOption(options, "projects", 2000))
+                .withVersions(intOption(options, "versions", 3))
+                .withSeed(intOption(options, "seed", 42));
+        int batch = intOption(options, "batch", 100);
+        int requests = intOption(options, "requests", 1000);
+        int concurrency = intOption(options, "concurrency", 8);
+
+        ConfigurableApplicationContext app = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            app = startEmbedded(options.getOrDefault("embedded", "sqlite"));
+            baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            RestTemplate rest = new RestTemplate(new SimpleClientHttpRequestFactory());
+            List<SyntheticPomCorpus.Pom> corpus = SyntheticPomCorpus.generate(corpusOptions);
+            System.out.printf("Corpus: %d POMs (%d projects x %d versions)%n",
+                    corpus.size(), corpusOptions.projects(), corpusOptions.versions());
+
+            Stats upload = upload(rest, baseUrl, corpus, batch);
+            System.out.printf("Upload: %.1f POMs/s%n", corpus.size() / upload.elapsedSeconds());
+            Map<String, Stats> replay = replay(rest, baseUrl, corpusOptions, requests, concurrency);
+
+            System.out.println();
+            System.out.printf("%-18s %8s %7s %10s %10s %10s %10s%n",
+                    "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+            print("upload (batch)", upload);
+            for (String kind : KINDS) {
+                print(kind, replay.get(kind));
+            }
+            print("replay (all)", Stats.merge(replay.values()));
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(String database) throws Exception {
+        // Passed as command-line arguments so they override application.yml
+        Map<String, Object> props = new LinkedHashMap<>();
+        props.put("server.port", "0");
+        props.put("logging.level.com.jdepanalyzer", "WARN");
+        switch (database) {
+            case "sqlite" -> {
+                Path file = Files.createTempFile("jdep-load", ".db");
+                file.toFile().deleteOnExit();
+                props.put("spring.datasource.url", "jdbc:sqlite:" + file);
+            }
+            case "postgres" -> {
+                // Stand-in for PostgreSQL: same Flyway schema and validate mode as the postgresql profile
+                props.put("spring.datasource.url", "jdbc:h2:mem:jdepload;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+                props.put("spring.datasource.driver-class-name", "org.h2.Driver");
+                props.put("spring.datasource.hikari.maximum-pool-size", "5");
+                props.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+                props.put("spring.jpa.hibernate.ddl-auto", "validate");
+                props.put("spring.flyway.enabled", "true");
+                props.put("spring.flyway.locations", "classpath:db/migration/postgresql");
+                // H2 has no partial indexes; V5 only adds uq_validity_open, which validate does not check
+                props.put("spring.flyway.target", "4");
+                props.put("spring.sql.init.mode", "never");
+            }
+            default -> throw new IllegalArgumentException("Unknown --embedded database: " + database);
+        }
+        String[] args = props.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(JDepAnalyzerApplication.class).run(args);
+    }
+
+    private static Stats upload(RestTemplate rest, String baseUrl, List<SyntheticPomCorpus.Pom> corpus, int batch) {
+        Stats stats = new Stats();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        long start = System.nanoTime();
+        for (int from = 0; from < corpus.size(); from += batch) {
+            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+            for (SyntheticPomCorpus.Pom pom : corpus.subList(from, Math.min(corpus.size(), from + batch))) {
+                body.add("files", new ByteArrayResource(pom.xml().getBytes(StandardCharsets.UTF_8)) {
+                    @Override
+                    public String getFilename() {
+                        return pom.fileName();
+                    }
+                });
+            }
+            stats.time(() -> rest.postForEntity(baseUrl + "/api/upload", new HttpEntity<>(body, headers),
+                    String.class));
+        }
+        stats.elapsedNanos = System.nanoTime() - start;
+        return stats;
+    }
+
+    private static Map<String, Stats> replay(RestTemplate rest, String baseUrl, SyntheticPomCorpus.Options corpus,
+            int requests, int concurrency) throws InterruptedException {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (String kind : KINDS) {
+            stats.put(kind, new Stats());
+        }
+        int totalWeight = Arrays.stream(WEIGHTS).sum();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int r = 0; r < requests; r++) {
+            Random random = new Random(corpus.seed() * 31 + r);
+            int pick = random.nextInt(totalWeight);
+            int k = 0;
+            while (pick >= WEIGHTS[k]) {
+                pick -= WEIGHTS[k++];
+            }
+            String kind = KINDS[k];
+            String url = baseUrl + path(kind, random, corpus);
+            Stats target = stats.get(kind);
+            pool.execute(() -> target.time(() -> rest.getForEntity(url, byte[].class)));
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.HOURS);
+        long elapsed = System.nanoTime() - start;
+        stats.values().forEach(s -> s.elapsedNanos = elapsed);
+        return stats;
+    }
+
+    /**
+     * A request of the given kind. Roots are skewed toward popular artifacts,
+     * like the corpus itself, so hot shapes repeat and exercise the caches.
+     */
+    private static String path(String kind, Random random, SyntheticPomCorpus.Options corpus) {
+        int artifact = (int) Math.floor(Math.pow(random.nextDouble(), corpus.skew()) * corpus.projects());
+        int group = artifact % Math.max(1, Math.min(corpus.groups(), corpus.projects()));
+        String gav = SyntheticPomCorpus.groupId(group) + ":" + SyntheticPomCorpus.artifactId(artifact) + ":"
+                + SyntheticPomCorpus.version(corpus.versions() - 1);
+        return switch (kind) {
+            case "graph.full" -> "/api/graph/data?show_group=" + random.nextBoolean();
+            case "graph.rooted" -> "/api/graph/data?root_id=" + gav + "&depth=" + (1 + random.nextInt(3))
+                    + "&direction=" + (random.nextBoolean() ? "forward" : "reverse");
+            case "graph.aggregated" -> "/api/graph/data?show_version=false&root_id="
+                    + SyntheticPomCorpus.groupId(group) + ":" + SyntheticPomCorpus.artifactId(artifact);
+            case "table" -> "/api/dependencies/table?q=" + SyntheticPomCorpus.artifactId(artifact)
+                    + (random.nextBoolean() ? "&ignore_version=true" : "");
+            default -> random.nextBoolean()
+                    ? "/api/dependencies/export?group_q=" + SyntheticPomCorpus.groupId(group)
+                    : "/api/export/dependencyedge.csv";
+        };
+    }
+
+    private static void print(String name, Stats stats) {
+        long[] sorted = stats.sortedLatencies();
+        System.out.printf("%-18s %8d %7d %10.1f %10.1f %10.1f %10.1f%n", name, sorted.length, stats.errors,
+                sorted.length / stats.elapsedSeconds(), percentile(sorted, 0.50), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            for (String part : arg.trim().split("\\s+")) {
+                if (part.startsWith("--") && part.contains("=")) {
+                    options.put(part.substring(2, part.indexOf('=')), part.substring(part.indexOf('=') + 1));
+                } else if (!part.isEmpty()) {
+                    throw new IllegalArgumentException("Expected --name=value, got: " + part);
+                }
+            }
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    /**
+     * Latencies of one endpoint; thread-safe.
+     */
+    private static final class Stats {
+        private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        private volatile int errors;
+        private long elapsedNanos;
+
+        void time(Runnable request) {
+            long start = System.nanoTime();
+            try {
+                request.run();
+            } catch (RestClientException e) {
+                synchronized (this) {
+                    errors++;
+                }
+            }
+            latencies.add(System.nanoTime() - start);
+        }
+
+        long[] sortedLatencies() {
+            synchronized (latencies) {
+                return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+        }
+
+        double elapsedSeconds() {
+            return Math.max(elapsedNanos, 1) / 1e9;
+        }
+
+        static Stats merge(Collection<Stats> all) {
+            Stats merged = new Stats();
+            for (Stats s : all) {
+                merged.latencies.addAll(Arrays.stream(s.sortedLatencies()).boxed().toList());
+                merged.errors += s.errors;
+                merged.elapsedNanos = Math.max(merged.elapsedNanos, s.elapsedNanos);
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.jdepanalyzer.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a deterministic corpus of synthetic POMs that looks like a real
+ * internal repository rather than a uniform random graph.
+ *
+ * <ul>
+ * <li>Artifacts are spread over {@code groups} groups such as
+ * {@code com.synth.payments.t7}. Each group has a {@code <team>-parent} POM
+ * that its artifacts inherit groupId from, and a {@code <team>-bom} that
+ * manages all of the group's versions.</li>
+ * <li>Dependency targets follow a power law: artifact {@code i} only depends
+ * on artifacts {@code < i}, chosen as {@code floor(u^skew * i)}, so a few
+ * early "platform" artifacts collect most of the fan-in and the graph stays
+ * acyclic.</li>
+ * <li>Dependency versions are written as {@code ${...version}} properties,
+ * and a share of projects imports the BOM of their first dependency.</li>
+ * </ul>
+ *
+ * The same options always produce the same files.
+ */
+public final class SyntheticPomCorpus {
+
+    private static final String[] DOMAINS = { "platform", "payments", "search", "identity", "catalog", "billing",
+            "analytics", "messaging" };
+    private static final String[] SCOPES = { "compile", "compile", "compile", "compile", "compile", "compile",
+            "compile", "test", "test", "runtime", "provided" };
+
+    /**
+     * A generated POM file.
+     */
+    public record Pom(String fileName, String xml) {
+    }
+
+    /**
+     * Corpus shape. {@code projects} counts artifacts, each released in
+     * {@code versions} versions.
+     */
+    public record Options(int projects, int versions, int groups, int avgDependencies, double skew,
+            double bomShare, long seed) {
+
+        public static Options defaults() {
+            return new Options(2000, 3, 40, 8, 2.5, 0.2, 42);
+        }
+
+        public Options withProjects(int projects) {
+            return new Options(projects, versions, groups, avgDependencies, skew, bomShare, seed);
+        }
+
+        public Options withVersions(int versions) {
+            return new Options(projects, versions, groups, avgDependencies, skew, bomShare, seed);
+        }
+
+        public Options withSeed(long seed) {
+            return new Options(projects, versions, groups, avgDependencies, skew, bomShare, seed);
+        }
+    }
+
+    private SyntheticPomCorpus() {
+    }
+
+    public static List<Pom> generate(Options options) {
+        Random random = new Random(options.seed());
+        int groups = Math.max(1, Math.min(options.groups(), options.projects()));
+        List<Pom> poms = new ArrayList<>();
+
+        for (int g = 0; g < groups; g++) {
+            poms.add(parentPom(g));
+            poms.add(bomPom(g, options));
+        }
+        for (int i = 0; i < options.projects(); i++) {
+            for (int v = 0; v < options.versions(); v++) {
+                poms.add(projectPom(i, v, options, random));
+            }
+        }
+        return poms;
+    }
+
+    static String groupId(int group) {
+        return "com.synth." + DOMAINS[group % DOMAINS.length] + ".t" + group;
+    }
+
+    static String artifactId(int artifact) {
+        return DOMAINS[(artifact / 7) % DOMAINS.length] + "-lib" + artifact;
+    }
+
+    static String version(int version) {
+        return "1." + version + ".0";
+    }
+
+    private static int groupOf(int artifact, Options options) {
+        return artifact % Math.max(1, Math.min(options.groups(), options.projects()));
+    }
+
+    private static Pom parentPom(int group) {
+        String team = "t" + group;
+        StringBuilder xml = header();
+        xml.append("  <groupId>").append(groupId(group)).append("</groupId>\n");
+        xml.append("  <artifactId>").append(team).append("-parent</artifactId>\n");
+        xml.append("  <version>1.0</version>\n");
+        xml.append("  <packaging>pom</packaging>\n");
+        xml.append("  <properties>\n");
+        xml.append("    <java.version>17</java.version>\n");
+        xml.append("    <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n");
+        xml.append("  </properties>\n");
+        xml.append("</project>\n");
+        return new Pom(team + "-parent-1.0.pom", xml.toString());
+    }
+
+    private static Pom bomPom(int group, Options options) {
+        String team = "t" + group;
+        StringBuilder xml = header();
+        xml.append("  <groupId>").append(groupId(group)).append("</groupId>\n");
+        xml.append("  <artifactId>").append(team).append("-bom</artifactId>\n");
+        xml.append("  <version>1.0</version>\n");
+        xml.append("  <packaging>pom</packaging>\n");
+        xml.append("  <dependencyManagement>\n    <dependencies>\n");
+        for (int a = group; a < options.projects(); a += Math.max(1, Math.min(options.groups(), options.projects()))) {
+            dependency(xml, groupId(group), artifactId(a), version(options.versions() - 1), null, false, "      ");
+        }
+        xml.append("    </dependencies>\n  </dependencyManagement>\n");
+        xml.append("</project>\n");
+        return new Pom(team + "-bom-1.0.pom", xml.toString());
+    }
+
+    private static Pom projectPom(int artifact, int version, Options options, Random random) {
+        int group = groupOf(artifact, options);
+        String artifactId = artifactId(artifact);
+
+        // Dependencies: power-law choice among older artifacts, latest version mostly
+        List<int[]> deps = new ArrayList<>();
+        if (artifact > 0) {
+            int count = Math.min(artifact, 1 + random.nextInt(2 * options.avgDependencies()));
+            List<Integer> seen = new ArrayList<>();
+            for (int d = 0; d < count; d++) {
+                int target = (int) Math.floor(Math.pow(random.nextDouble(), options.skew()) * artifact);
+                if (seen.contains(target)) {
+                    continue;
+                }
+                seen.add(target);
+                int targetVersion = random.nextInt(4) == 0
+                        ? random.nextInt(options.versions())
+                        : options.versions() - 1;
+                deps.add(new int[] { target, targetVersion });
+            }
+        }
+
+        StringBuilder xml = header();
+        xml.append("  <parent>\n");
+        xml.append("    <groupId>").append(groupId(group)).append("</groupId>\n");
+        xml.append("    <artifactId>t").append(group).append("-parent</artifactId>\n");
+        xml.append("    <version>1.0</version>\n");
+        xml.append("  </parent>\n");
+        xml.append("  <artifactId>").append(artifactId).append("</artifactId>\n");
+        xml.append("  <version>").append(version(version)).append("</version>\n");
+
+        xml.append("  <properties>\n");
+        for (int[] dep : deps) {
+            xml.append("    <").append(artifactId(dep[0])).append(".version>")
+                    .append(version(dep[1]))
+                    .append("</").append(artifactId(dep[0])).append(".version>\n");
+        }
+        xml.append("  </properties>\n");
+
+        if (!deps.isEmpty() && random.nextDouble() < options.bomShare()) {
+            int bomGroup = groupOf(deps.get(0)[0], options);
+            xml.append("  <dependencyManagement>\n    <dependencies>\n");
+            xml.append("      <dependency>\n");
+            xml.append("        <groupId>").append(groupId(bomGroup)).append("</groupId>\n");
+            xml.append("        <artifactId>t").append(bomGroup).append("-bom</artifactId>\n");
+            xml.append("        <version>1.0</version>\n");
+            xml.append("        <type>pom</type>\n");
+            xml.append("        <scope>import</scope>\n");
+            xml.append("      </dependency>\n");
+            xml.append("    </dependencies>\n  </dependencyManagement>\n");
+        }
+
+        xml.append("  <dependencies>\n");
+        for (int[] dep : deps) {
+            String scope = SCOPES[random.nextInt(SCOPES.length)];
+            dependency(xml, groupId(groupOf(dep[0], options)), artifactId(dep[0]),
+                    "${" + artifactId(dep[0]) + ".version}",
+                    "compile".equals(scope) ? null : scope, random.nextInt(20) == 0, "    ");
+        }
+        xml.append("  </dependencies>\n");
+        xml.append("</project>\n");
+        return new Pom(artifactId + "-" + version(version) + ".pom", xml.toString());
+    }
+
+    private static StringBuilder header() {
+        return new StringBuilder(1024)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n");
+    }
+
+    private static void dependency(StringBuilder xml, String groupId, String artifactId, String version,
+            String scope, boolean optional, String indent) {
+        xml.append(indent).append("<dependency>\n");
+        xml.append(indent).append("  <groupId>").append(groupId).append("</groupId>\n");
+        xml.append(indent).append("  <artifactId>").append(artifactId).append("</artifactId>\n");
+        xml.append(indent).append("  <version>").append(version).append("</version>\n");
+        if (scope != null) {
+            xml.append(indent).append("  <scope>").append(scope).append("</scope>\n");
+        }
+        if (optional) {
+            xml.append(indent).append("  <optional>true</optional>\n");
+        }
+        xml.append(indent).append("</dependency>\n");
+    }
+}
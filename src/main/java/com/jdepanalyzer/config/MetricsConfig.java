@@ -0,0 +1,72 @@
+package com.jdepanalyzer.config;
+
+import com.jdepanalyzer.service.GraphIndex;
+import com.jdepanalyzer.service.GraphQueryCache;
+import com.jdepanalyzer.service.GraphVersionService;
+import com.jdepanalyzer.service.ResidentGraphService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges for the resident graph and the graph-data response cache.
+ *
+ * Timers and counters on the ingestion and graph-building paths are
+ * registered by the services themselves; everything is scraped from
+ * {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder graphMetrics(ResidentGraphService residentGraphService,
+            GraphVersionService graphVersionService) {
+        return registry -> {
+            Gauge.builder("jdep.graph.nodes", residentGraphService, s -> count(s.lastBuilt(), true))
+                    .description("Artifacts in the resident graph index")
+                    .register(registry);
+            Gauge.builder("jdep.graph.edges", residentGraphService, s -> count(s.lastBuilt(), false))
+                    .description("Dependency edges in the resident graph index")
+                    .register(registry);
+            Gauge.builder("jdep.graph.version", graphVersionService, GraphVersionService::current)
+                    .description("Current graph version")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder graphQueryCacheMetrics(GraphQueryCache cache) {
+        return registry -> {
+            FunctionCounter.builder("jdep.cache.graph-data.requests", cache, GraphQueryCache::hitCount)
+                    .description("Graph-data cache lookups")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("jdep.cache.graph-data.requests", cache, GraphQueryCache::missCount)
+                    .description("Graph-data cache lookups")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("jdep.cache.graph-data.hit.ratio", cache, MetricsConfig::hitRatio)
+                    .description("Share of graph-data cache lookups served from the cache")
+                    .register(registry);
+            Gauge.builder("jdep.cache.graph-data.size", cache, GraphQueryCache::sizeInBytes)
+                    .description("Bytes held by the graph-data cache")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    private static double count(GraphIndex index, boolean nodes) {
+        if (index == null) {
+            return Double.NaN;
+        }
+        return nodes ? index.nodeCount() : index.edgeCount();
+    }
+
+    private static double hitRatio(GraphQueryCache cache) {
+        long hits = cache.hitCount();
+        long total = hits + cache.missCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
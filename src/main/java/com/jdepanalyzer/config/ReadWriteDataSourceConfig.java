@@ -0,0 +1,74 @@
+package com.jdepanalyzer.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Separate read and write connection pools for the {@code postgresql} profile.
+ *
+ * Connections taken inside a {@code @Transactional(readOnly = true)} boundary
+ * come from the read pool ({@code jdep.datasource.read.*}, normally a read
+ * replica); everything else, including uploads and the LISTEN connection,
+ * uses the primary pool ({@code spring.datasource.*}). Each pool has its own
+ * Hikari settings, so exports and graph loads cannot starve uploads.
+ *
+ * The router is wrapped in a {@link LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for a connection before it marks the transaction
+ * read-only, so the real connection is only chosen at the first statement.
+ */
+@Configuration
+@Profile("postgresql")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("jdep-primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("jdep.datasource.read")
+    public HikariDataSource readDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("jdep-read");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("readDataSource") DataSource read) {
+        ReadWriteRoutingDataSource router = new ReadWriteRoutingDataSource();
+        router.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.READ, read));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(router);
+    }
+
+    enum Route {
+        PRIMARY, READ
+    }
+
+    static class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.READ : Route.PRIMARY;
+        }
+    }
+}
@@ -1,15 +1,42 @@
 package com.jdepanalyzer.controller;
 
-import com.jdepanalyzer.model.Artifact;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jdepanalyzer.dto.ArtifactSummary;
+import com.jdepanalyzer.model.DependencyEdge;
 import com.jdepanalyzer.repository.ArtifactRepository;
 import com.jdepanalyzer.repository.DependencyEdgeRepository;
+import com.jdepanalyzer.service.ArtifactSearchIndex;
+import com.jdepanalyzer.service.CompactGraphCodec;
+import com.jdepanalyzer.service.GraphLayoutService;
+import com.jdepanalyzer.service.GraphQueryCache;
 import com.jdepanalyzer.service.GraphService;
+import com.jdepanalyzer.service.GraphIndex;
+import com.jdepanalyzer.service.GraphVersionService;
+import com.jdepanalyzer.service.PrimaryReads;
+import com.jdepanalyzer.service.ResidentGraphService;
+import com.jdepanalyzer.service.SqlGraphTraversal;
 import com.jdepanalyzer.service.UploadService;
 import org.jgrapht.Graph;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
@@ -19,26 +46,69 @@ import java.util.*;
 @RequestMapping("/api")
 public class ApiController {
 
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    /** Sort parameter values of /artifacts mapped to entity properties. */
+    private static final Map<String, String> ARTIFACT_SORTS = Map.of(
+            "gav", "gav",
+            "group_id", "groupId",
+            "artifact_id", "artifactId",
+            "version", "version");
+
     private final ArtifactRepository artifactRepository;
     private final DependencyEdgeRepository edgeRepository;
     private final GraphService graphService;
     private final UploadService uploadService;
+    private final GraphVersionService graphVersionService;
+    private final GraphQueryCache graphQueryCache;
+    private final GraphLayoutService graphLayoutService;
+    private final ArtifactSearchIndex artifactSearchIndex;
+    private final SqlGraphTraversal sqlGraphTraversal;
+    private final ResidentGraphService residentGraphService;
+    private final PrimaryReads primaryReads;
+    private final ObjectMapper objectMapper;
+    private final long gzipMinBytes;
 
     public ApiController(ArtifactRepository artifactRepository,
             DependencyEdgeRepository edgeRepository,
             GraphService graphService,
-            UploadService uploadService) {
+            UploadService uploadService,
+            GraphVersionService graphVersionService,
+            GraphQueryCache graphQueryCache,
+            GraphLayoutService graphLayoutService,
+            ArtifactSearchIndex artifactSearchIndex,
+            SqlGraphTraversal sqlGraphTraversal,
+            ResidentGraphService residentGraphService,
+            PrimaryReads primaryReads,
+            ObjectMapper objectMapper,
+            @Value("${server.compression.enabled:false}") boolean compressionEnabled,
+            @Value("${server.compression.min-response-size:2KB}") DataSize compressionMinSize) {
         this.artifactRepository = artifactRepository;
         this.edgeRepository = edgeRepository;
         this.graphService = graphService;
         this.uploadService = uploadService;
+        this.graphVersionService = graphVersionService;
+        this.graphQueryCache = graphQueryCache;
+        this.graphLayoutService = graphLayoutService;
+        this.artifactSearchIndex = artifactSearchIndex;
+        this.sqlGraphTraversal = sqlGraphTraversal;
+        this.residentGraphService = residentGraphService;
+        this.primaryReads = primaryReads;
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = compressionEnabled ? compressionMinSize.toBytes() : Long.MAX_VALUE;
     }
 
     /**
-     * Upload POM files.
+     * Upload POM files as one ingestion batch. With {@code full_scan=true} the
+     * files stand for the whole estate, and edges none of them declare are
+     * removed, along with artifacts they leave unreferenced. A full scan with
+     * a file that fails to parse removes nothing and reports
+     * {@code fullScan: false}.
      */
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, Object>> uploadPoms(@RequestParam("files") List<MultipartFile> files) {
+    public ResponseEntity<Map<String, Object>> uploadPoms(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(name = "full_scan", defaultValue = "false") boolean fullScan) {
         Map<String, Object> response = new LinkedHashMap<>();
 
         if (files == null || files.isEmpty()) {
@@ -47,12 +117,16 @@ public class ApiController {
             return ResponseEntity.badRequest().body(response);
         }
 
-        UploadService.UploadResult result = uploadService.processUpload(files);
+        UploadService.UploadResult result = uploadService.processUpload(files, fullScan);
 
         response.put("success", true);
+        response.put("batchId", result.batchId());
+        response.put("fullScan", result.fullScan());
         response.put("parsed", result.parsed());
         response.put("newArtifacts", result.newArtifacts());
         response.put("newEdges", result.newEdges());
+        response.put("removedEdges", result.removedEdges());
+        response.put("removedArtifacts", result.removedArtifacts());
         response.put("skipped", result.skipped());
         response.put("errors", result.errors());
 
@@ -60,90 +134,403 @@ public class ApiController {
     }
 
     /**
-     * Get all artifacts.
+     * Get artifacts, one keyset page at a time.
+     *
+     * The page is sorted by {@code sort} (gav, group_id, artifact_id or
+     * version, ties broken by gav) and starts after the opaque {@code after}
+     * cursor. When more rows follow, the cursor of the next page is returned in
+     * {@code X-Next-Cursor} and a {@code Link: rel="next"} header.
      */
     @GetMapping("/artifacts")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<Map<String, Object>>> getArtifacts(
-            @RequestParam(defaultValue = "500") int limit) {
-        List<Artifact> artifacts = artifactRepository.findAll();
-        List<Map<String, Object>> result = new ArrayList<>();
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "gav") String sort,
+            @RequestParam(defaultValue = "asc") String order,
+            WebRequest request) {
+        String property = ARTIFACT_SORTS.get(sort);
+        if (property == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Sort.Direction direction = "desc".equalsIgnoreCase(order) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort ordering = Sort.by(direction, property);
+        if (!"gav".equals(property)) {
+            ordering = ordering.and(Sort.by(direction, "gav"));
+        }
+        List<String> keys = ordering.stream().map(Sort.Order::getProperty).toList();
 
-        int count = 0;
-        for (Artifact a : artifacts) {
-            if (count >= limit)
-                break;
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        if (after != null && !after.isEmpty()) {
+            position = decodeArtifactCursor(after, keys);
+            if (position == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (ConditionalRequests.notModified(request, graphVersionService)) {
+            return null;
+        }
+
+        Window<ArtifactSummary> page = artifactRepository.findArtifactsBy(
+                position, ordering, Limit.of(Math.max(1, Math.min(limit, 10000))));
+
+        List<Map<String, Object>> result = new ArrayList<>(page.size());
+        for (ArtifactSummary a : page) {
             Map<String, Object> item = new LinkedHashMap<>();
-            item.put("gav", a.getGav());
-            item.put("group_id", a.getGroupId());
-            item.put("artifact_id", a.getArtifactId());
-            item.put("version", a.getVersion());
+            item.put("gav", a.gav());
+            item.put("group_id", a.groupId());
+            item.put("artifact_id", a.artifactId());
+            item.put("version", a.version());
             result.add(item);
-            count++;
         }
 
-        return ResponseEntity.ok(result);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext() && !page.isEmpty()) {
+            ArtifactSummary last = page.getContent().get(page.size() - 1);
+            String cursor = encodeArtifactCursor(last, keys);
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", cursor).build().toUriString();
+            response.header("X-Next-Cursor", cursor)
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(result);
+    }
+
+    /**
+     * The keyset values of the last row of a page, as base64url of the values
+     * joined by NUL.
+     */
+    private static String encodeArtifactCursor(ArtifactSummary last, List<String> keys) {
+        StringJoiner values = new StringJoiner("\0");
+        for (String key : keys) {
+            values.add(switch (key) {
+                case "groupId" -> last.groupId();
+                case "artifactId" -> last.artifactId();
+                case "version" -> last.version();
+                default -> last.gav();
+            });
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(values.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null if the cursor is malformed or was issued for another sort
+     */
+    private static KeysetScrollPosition decodeArtifactCursor(String cursor, List<String> keys) {
+        String[] values;
+        try {
+            values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\0", -1);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (values.length != keys.size()) {
+            return null;
+        }
+        Map<String, Object> keyset = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            keyset.put(keys.get(i), values[i]);
+        }
+        return ScrollPosition.forward(keyset);
+    }
+
+    /**
+     * Typeahead search over group, artifact and version, ranked with artifactId
+     * matches first. Every whitespace-separated token must match.
+     */
+    @GetMapping("/artifacts/search")
+    public ResponseEntity<Map<String, Object>> searchArtifacts(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (ArtifactSearchIndex.Match match : artifactSearchIndex.search(query, Math.max(1, Math.min(limit, 200)))) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("gav", match.gav());
+            item.put("group_id", match.groupId());
+            item.put("artifact_id", match.artifactId());
+            item.put("version", match.version());
+            items.add(item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("q", query);
+        response.put("count", items.size());
+        response.put("items", items);
+        return ResponseEntity.ok(response);
     }
 
     /**
      * Get graph data in Cytoscape.js format.
+     *
+     * Serialized responses are cached per graph version and normalized query,
+     * and carry a strong ETag so unchanged graphs revalidate with 304.
+     * With {@code layout=server} every node carries a precomputed
+     * {@code position} and the response asks for the {@code preset} layout.
+     * Clients that accept {@link CompactGraphCodec#MEDIA_TYPE} (or pass
+     * {@code format=binary}) get the string-table encoding instead of JSON.
+     * Large bodies are served from the cached gzip copy when the client accepts it.
+     *
+     * With {@code explain=true} the query is run uncached and the response is
+     * its stage-by-stage profile instead of the graph; every response carries a
+     * {@code Server-Timing} header.
+     *
+     * When the graph is estimated to be too large to load, rooted queries on
+     * the full GAV view are walked in the database by {@link SqlGraphTraversal}
+     * and only the visible subgraph is read; {@code edge_count} then counts
+     * that subgraph. Otherwise the query reads the latest
+     * {@link ResidentGraphService} index, without locking or waiting for
+     * uploads in progress, and is cached under that index's version.
      */
     @GetMapping("/graph/data")
-    public ResponseEntity<Map<String, Object>> getGraphData(
+    @Transactional(readOnly = true)
+    public ResponseEntity<byte[]> getGraphData(
             @RequestParam(name = "root_id", required = false) String rootId,
             @RequestParam(defaultValue = "forward") String direction,
             @RequestParam(name = "show_group", defaultValue = "true") boolean showGroup,
             @RequestParam(name = "show_version", defaultValue = "true") boolean showVersion,
             @RequestParam(required = false) Integer depth,
-            @RequestParam(required = false) List<String> scope) {
+            @RequestParam(required = false) List<String> scope,
+            @RequestParam(required = false) String layout,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean explain,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        long start = System.nanoTime();
+
+        Set<String> scopes = scope != null && !scope.isEmpty() ? new TreeSet<>(scope) : null;
+        String normalizedDirection = "reverse".equals(direction) ? "reverse" : "forward";
+        boolean serverLayout = "server".equals(layout);
+        String viewKey = String.join("|",
+                String.valueOf(rootId), normalizedDirection, String.valueOf(showGroup),
+                String.valueOf(showVersion), String.valueOf(depth), String.valueOf(scopes));
+
+        boolean binary = "binary".equals(format)
+                || (accept != null && accept.contains(CompactGraphCodec.MEDIA_TYPE));
+
+        boolean pushdown = rootId != null && showGroup && showVersion && sqlGraphTraversal.preferred();
+        GraphIndex index = pushdown ? null : residentGraphService.current();
+        long version = index != null ? index.version() : graphVersionService.current();
+        String cacheKey = viewKey + "|" + serverLayout + "|" + binary;
+        boolean cached = graphQueryCache.contains(version, cacheKey);
+
+        if (explain) {
+            QueryProfile profile = QueryProfile.enabled();
+            profile.put("graph_version", version);
+            profile.put("cache_hit", cached);
+            Map<String, Object> data = buildGraphData(rootId, normalizedDirection, showGroup, showVersion,
+                    depth, scopes, serverLayout ? viewKey : null, version, index, profile);
+            byte[] body = profile.stage("encode",
+                    () -> binary ? CompactGraphCodec.encode(data) : toJson(data));
+            profile.put("response_bytes", body.length);
+            return explained(profile).body(toJson(explainBody(profile)));
+        }
 
-        Set<String> scopes = scope != null ? new HashSet<>(scope) : null;
+        GraphQueryCache.Entry entry = graphQueryCache.get(version, cacheKey,
+                () -> {
+                    Map<String, Object> data = buildGraphData(rootId, normalizedDirection, showGroup, showVersion,
+                            depth, scopes, serverLayout ? viewKey : null, version, index,
+                            QueryProfile.disabled());
+                    return binary ? CompactGraphCodec.encode(data) : toJson(data);
+                });
+
+        boolean gzip = acceptsGzip(acceptEncoding) && entry.body().length >= gzipMinBytes;
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(binary ? MediaType.parseMediaType(CompactGraphCodec.MEDIA_TYPE) : MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noCache())
+                .header(SERVER_TIMING, QueryProfile.serverTiming("cache", cached ? "hit" : "miss",
+                        System.nanoTime() - start));
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .eTag(entry.gzipEtag())
+                    .body(entry.gzipBody());
+        }
+        return builder.eTag(entry.etag()).body(entry.body());
+    }
 
-        // Load atomic graph
-        Graph<String, GraphService.EdgeData> atomic = graphService.loadAtomicGraph(scopes);
+    /**
+     * @param layoutKey view key to compute (and cache) server-side positions
+     *                  under, or null to leave layout to the client
+     * @param index     resident index to build from, or null to walk from the root
+     *                  in the database
+     * @param profile   receives the stage timings and counts
+     */
+    private Map<String, Object> buildGraphData(String rootId, String direction, boolean showGroup,
+            boolean showVersion, Integer depth, Set<String> scopes, String layoutKey, long version,
+            GraphIndex index, QueryProfile profile) {
 
-        // Aggregate if needed
         Graph<String, ?> graph;
-        if (!showGroup || !showVersion) {
-            graph = graphService.aggregateGraph(atomic, showGroup, showVersion);
-            // Adjust rootId for aggregation
-            if (rootId != null) {
-                rootId = graphService.aggregatedNodeId(rootId, showGroup, showVersion);
-            }
+        Set<String> visibleNodes = null;
+        String root;
+        if (index == null) {
+            // Too large to load whole: walk from the root in the database
+            String start = rootId;
+            Graph<String, GraphService.EdgeData> reachable = profile.stage("load",
+                    () -> primaryReads.load(() -> sqlGraphTraversal.loadReachable(start, direction, depth, scopes)));
+            profile.put("backend", "sql");
+            profile.put("rows_scanned", reachable.edgeSet().size());
+            graph = reachable;
+            root = rootId;
+            visibleNodes = new HashSet<>(reachable.vertexSet());
+            profile.put("nodes_visited", visibleNodes.size());
         } else {
-            graph = atomic;
+            // Build the atomic graph from the resident index
+            Graph<String, GraphService.EdgeData> atomic = profile.stage("load",
+                    () -> graphService.loadAtomicGraph(index, scopes));
+            profile.put("backend", "memory");
+            profile.put("rows_scanned", atomic.vertexSet().size() + atomic.edgeSet().size());
+
+            // Aggregate if needed
+            if (!showGroup || !showVersion) {
+                graph = profile.stage("aggregate",
+                        () -> graphService.aggregateGraph(atomic, showGroup, showVersion));
+                // Adjust rootId for aggregation
+                if (rootId != null) {
+                    rootId = graphService.aggregatedNodeId(rootId, showGroup, showVersion);
+                }
+            } else {
+                graph = atomic;
+            }
+            root = rootId;
+
+            // Filter by depth and direction
+            if (root != null && graph.containsVertex(root)) {
+                // Get nodes within depth (or all reachable nodes if depth is null)
+                Graph<String, ?> full = graph;
+                visibleNodes = profile.stage("traverse",
+                        () -> graphService.nodesWithinDepth(full, root, direction, depth));
+                profile.put("nodes_visited", visibleNodes.size());
+            }
         }
-
-        // Filter by depth and direction
-        Set<String> visibleNodes = null;
-        if (rootId != null && graph.containsVertex(rootId)) {
-            // Get nodes within depth (or all reachable nodes if depth is null)
-            visibleNodes = graphService.nodesWithinDepth(graph, rootId, direction, depth);
+        Set<String> visible = visibleNodes;
+
+        List<Map<String, Object>> elements = profile.stage("elements",
+                () -> graphService.toCytoscapeElements(graph, root, direction, showVersion, visible));
+        profile.put("elements", elements.size());
+
+        if (layoutKey != null) {
+            Map<String, GraphLayoutService.Point> positions = profile.stage("layout",
+                    () -> graphLayoutService.positions(version, layoutKey, graph, visible));
+            for (Map<String, Object> element : elements) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> data = (Map<String, Object>) element.get("data");
+                GraphLayoutService.Point point = positions.get((String) data.get("id"));
+                if (point != null && !data.containsKey("source")) {
+                    element.put("position", Map.of("x", point.x(), "y", point.y()));
+                }
+            }
         }
 
-        List<Map<String, Object>> elements = graphService.toCytoscapeElements(
-                graph, rootId, direction, showVersion, visibleNodes);
-
         Map<String, Object> response = new LinkedHashMap<>();
         response.put("elements", elements);
         response.put("node_count", visibleNodes != null ? visibleNodes.size() : graph.vertexSet().size());
         response.put("edge_count", graph.edgeSet().size());
+        if (layoutKey != null) {
+            response.put("layout", "preset");
+        }
 
-        return ResponseEntity.ok(response);
+        return response;
+    }
+
+    /**
+     * Headers of an {@code explain=true} response: the stages go into
+     * {@code Server-Timing} and the profile is never cached.
+     */
+    private static ResponseEntity.BodyBuilder explained(QueryProfile profile) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noStore())
+                .header(SERVER_TIMING, profile.serverTiming());
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip. An explicit
+     * {@code gzip} (or {@code x-gzip}) entry decides on its own q-value;
+     * otherwise a {@code *} entry does. A q-value of 0 means "not acceptable".
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzipQ = null;
+        Double wildcardQ = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.length() > 2 && param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0.0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQ = gzipQ == null ? q : Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                wildcardQ = q;
+            }
+        }
+        if (gzipQ != null) {
+            return gzipQ > 0;
+        }
+        return wildcardQ != null && wildcardQ > 0;
+    }
+
+    private static Map<String, Object> explainBody(QueryProfile profile) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("explain", profile.toMap());
+        return body;
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
     }
 
     /**
      * Get dependencies table data as JSON.
+     *
+     * With {@code explain=true} the response is the stage-by-stage profile of
+     * the query (rows scanned and matched) instead of the rows.
      */
     @GetMapping("/dependencies/table")
-    public ResponseEntity<List<Map<String, Object>>> getDependenciesTable(
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getDependenciesTable(
             @RequestParam(name = "q", required = false) String query,
             @RequestParam(name = "group_q", required = false) String groupQuery,
             @RequestParam(name = "scope", required = false) List<String> scopes,
             @RequestParam(name = "ignore_version", defaultValue = "false") boolean ignoreVersion,
             @RequestParam(name = "ignore_group", defaultValue = "false") boolean ignoreGroup,
-            @RequestParam(defaultValue = "500") int limit) {
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "false") boolean explain,
+            WebRequest request) {
+        if (!explain && ConditionalRequests.notModified(request, graphVersionService)) {
+            return null;
+        }
+        QueryProfile profile = explain ? QueryProfile.enabled() : QueryProfile.disabled();
 
-        var edges = edgeRepository.findAll();
+        var edges = profile.stage("load", () -> edgeRepository.findAll());
+        profile.put("rows_scanned", edges.size());
+
+        List<Map<String, Object>> result = profile.stage("filter",
+                () -> dependencyRows(edges, query, groupQuery, scopes, ignoreVersion, ignoreGroup, limit));
+        if (explain) {
+            profile.put("rows_returned", result.size());
+            return explained(profile).body(explainBody(profile));
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    private List<Map<String, Object>> dependencyRows(List<DependencyEdge> edges, String query,
+            String groupQuery, List<String> scopes, boolean ignoreVersion, boolean ignoreGroup, int limit) {
         List<Map<String, Object>> result = new ArrayList<>();
 
         int count = 0;
@@ -197,13 +584,14 @@ public class ApiController {
             count++;
         }
 
-        return ResponseEntity.ok(result);
+        return result;
     }
 
     /**
      * Export dependencies as CSV (matches Python version format).
      */
     @GetMapping("/dependencies/export")
+    @Transactional(readOnly = true)
     public void exportDependenciesCsv(
             @RequestParam(name = "q", required = false) String query,
             @RequestParam(name = "group_q", required = false) String groupQuery,
@@ -211,7 +599,11 @@ public class ApiController {
             @RequestParam(name = "ignore_version", defaultValue = "false") boolean ignoreVersion,
             @RequestParam(name = "ignore_group", defaultValue = "false") boolean ignoreGroup,
             @RequestParam(name = "limit", required = false) Integer limit,
+            jakarta.servlet.http.HttpServletRequest request,
             jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException {
+        if (ConditionalRequests.notModified(new ServletWebRequest(request, response), graphVersionService)) {
+            return;
+        }
 
         response.setContentType("text/csv; charset=utf-8");
         response.setHeader("Content-Disposition", "attachment; filename=\"dependencies.csv\"");
@@ -0,0 +1,28 @@
+package com.jdepanalyzer.controller;
+
+import com.jdepanalyzer.service.GraphVersionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional GET support for responses derived from the graph data.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Set ETag, Last-Modified and Cache-Control from the graph version, and
+     * return true when the client's copy is still current. The 304 status has
+     * then already been set and the caller must not write a body.
+     */
+    static boolean notModified(WebRequest request, GraphVersionService graphVersionService) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return request.checkNotModified(graphVersionService.etag(), graphVersionService.lastModified());
+    }
+}
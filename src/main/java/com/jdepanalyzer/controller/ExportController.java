@@ -4,10 +4,14 @@ import com.jdepanalyzer.model.Artifact;
 import com.jdepanalyzer.model.DependencyEdge;
 import com.jdepanalyzer.repository.ArtifactRepository;
 import com.jdepanalyzer.repository.DependencyEdgeRepository;
+import com.jdepanalyzer.service.GraphVersionService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -21,20 +25,28 @@ public class ExportController {
 
     private final ArtifactRepository artifactRepository;
     private final DependencyEdgeRepository edgeRepository;
+    private final GraphVersionService graphVersionService;
 
     public ExportController(ArtifactRepository artifactRepository,
-            DependencyEdgeRepository edgeRepository) {
+            DependencyEdgeRepository edgeRepository,
+            GraphVersionService graphVersionService) {
         this.artifactRepository = artifactRepository;
         this.edgeRepository = edgeRepository;
+        this.graphVersionService = graphVersionService;
     }
 
     @GetMapping("/api/export/{table}.csv")
-    public void exportTableCsv(@PathVariable String table, HttpServletResponse response) throws IOException {
+    @Transactional(readOnly = true)
+    public void exportTableCsv(@PathVariable String table, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         // Validate table name
         if (!table.matches("^[a-zA-Z_][a-zA-Z0-9_]*$")) {
             response.sendError(400, "Invalid table name");
             return;
         }
+        if (ConditionalRequests.notModified(new ServletWebRequest(request, response), graphVersionService)) {
+            return;
+        }
 
         response.setContentType("text/csv; charset=utf-8");
         response.setHeader("Content-Disposition", "attachment; filename=\"" + table + ".csv\"");
@@ -0,0 +1,347 @@
+package com.jdepanalyzer.controller;
+
+import com.jdepanalyzer.model.IngestionBatch;
+import com.jdepanalyzer.service.CycleService;
+import com.jdepanalyzer.service.GroupHierarchy;
+import com.jdepanalyzer.service.GroupHierarchyService;
+import com.jdepanalyzer.service.IngestionHistoryService;
+import com.jdepanalyzer.service.NeighborService;
+import com.jdepanalyzer.service.PathService;
+import com.jdepanalyzer.service.VersionMediationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+/**
+ * REST API controller for analyses computed over the dependency graph.
+ */
+@RestController
+@RequestMapping("/api/graph")
+public class GraphAnalysisController {
+
+    private final VersionMediationService mediationService;
+    private final CycleService cycleService;
+    private final PathService pathService;
+    private final GroupHierarchyService hierarchyService;
+    private final NeighborService neighborService;
+    private final IngestionHistoryService historyService;
+
+    public GraphAnalysisController(VersionMediationService mediationService,
+            CycleService cycleService,
+            PathService pathService,
+            GroupHierarchyService hierarchyService,
+            NeighborService neighborService,
+            IngestionHistoryService historyService) {
+        this.mediationService = mediationService;
+        this.cycleService = cycleService;
+        this.pathService = pathService;
+        this.hierarchyService = hierarchyService;
+        this.neighborService = neighborService;
+        this.historyService = historyService;
+    }
+
+    /**
+     * Compute the effective (Maven-mediated) dependency tree for one or more roots.
+     */
+    @GetMapping("/resolve")
+    public ResponseEntity<Map<String, Object>> resolve(
+            @RequestParam(name = "root_id") List<String> rootIds,
+            @RequestParam(name = "scope", required = false) List<String> scope) {
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (rootIds == null || rootIds.isEmpty()) {
+            response.put("error", "At least one root_id is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        Set<String> rootScopes = scope != null ? new HashSet<>(scope) : null;
+        List<Map<String, Object>> results = new ArrayList<>();
+
+        for (VersionMediationService.Resolution resolution : mediationService.resolve(rootIds, rootScopes)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("root", resolution.root());
+            item.put("found", resolution.found());
+
+            List<Map<String, Object>> resolved = new ArrayList<>();
+            for (VersionMediationService.ResolvedDependency dep : resolution.resolved()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("ga", dep.ga());
+                row.put("version", dep.version());
+                row.put("gav", dep.gav());
+                row.put("depth", dep.depth());
+                row.put("scope", dep.scope());
+                row.put("via", dep.via());
+                resolved.add(row);
+            }
+            item.put("resolved", resolved);
+
+            List<Map<String, Object>> conflicts = new ArrayList<>();
+            for (VersionMediationService.Conflict conflict : resolution.conflicts()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("ga", conflict.ga());
+                row.put("chosen_version", conflict.chosenVersion());
+                row.put("omitted_versions", conflict.omittedVersions());
+                conflicts.add(row);
+            }
+            item.put("conflicts", conflicts);
+
+            results.add(item);
+        }
+
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * List dependency cycles (strongly connected components with more than one
+     * node) in the atomic or aggregated graph. Graphs never hold self-loops:
+     * the atomic graph rejects them and aggregation drops them.
+     */
+    @GetMapping("/cycles")
+    public ResponseEntity<Map<String, Object>> getCycles(
+            @RequestParam(name = "show_group", defaultValue = "true") boolean showGroup,
+            @RequestParam(name = "show_version", defaultValue = "true") boolean showVersion,
+            @RequestParam(required = false) List<String> scope) {
+
+        Set<String> scopes = scope != null ? new HashSet<>(scope) : null;
+        CycleService.Condensation condensation = cycleService.condensation(scopes, showGroup, showVersion);
+
+        List<Map<String, Object>> cycles = new ArrayList<>();
+        for (int componentId : condensation.cyclic()) {
+            List<String> members = condensation.components().get(componentId);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", componentId);
+            item.put("size", members.size());
+            item.put("members", members);
+            cycles.add(item);
+        }
+        cycles.sort(Comparator.comparingInt((Map<String, Object> c) -> (Integer) c.get("size")).reversed());
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("cycle_count", cycles.size());
+        response.put("node_count", condensation.componentOf().size());
+        response.put("component_count", condensation.components().size());
+        response.put("dag_edge_count", condensation.dag().edgeSet().size());
+        response.put("cycles", cycles);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Explain why a target is in a root's dependency graph: the shortest path
+     * plus up to {@code max_paths} distinct paths, bounded by depth and time.
+     * The target may be a GAV or a groupId:artifactId (any version).
+     */
+    @GetMapping("/paths")
+    public ResponseEntity<Map<String, Object>> getPaths(
+            @RequestParam(name = "root_id") String rootId,
+            @RequestParam(name = "target_id") String targetId,
+            @RequestParam(name = "max_paths", defaultValue = "10") int maxPaths,
+            @RequestParam(name = "max_depth", defaultValue = "15") int maxDepth,
+            @RequestParam(name = "timeout_ms", defaultValue = "200") long timeoutMs,
+            @RequestParam(required = false) List<String> scope) {
+
+        PathService.PathResult result = pathService.findPaths(rootId, targetId, scope,
+                Math.max(1, Math.min(maxPaths, 1000)),
+                Math.max(1, Math.min(maxDepth, 100)),
+                Math.max(1, Math.min(timeoutMs, 5000)));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("root", rootId);
+        response.put("target", targetId);
+        response.put("matched_targets", result.targets());
+        response.put("found", result.shortest() != null);
+        response.put("shortest", result.shortest() != null ? pathToMap(result.shortest()) : null);
+
+        List<Map<String, Object>> paths = new ArrayList<>();
+        for (PathService.Path path : result.paths()) {
+            paths.add(pathToMap(path));
+        }
+        response.put("paths", paths);
+        response.put("truncated", result.truncated());
+        response.put("truncated_reason", result.truncatedReason());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Hierarchical view by groupId prefix, in Cytoscape.js format. Only the top
+     * level is shown until nodes are listed in {@code expand}; expanding a node
+     * replaces it with its children (sub-groups, artifacts, then versions).
+     * Edges are atomic dependencies rolled up between the visible nodes; past
+     * {@code max_edges} only the heaviest are returned.
+     */
+    @GetMapping("/hierarchy")
+    public ResponseEntity<Map<String, Object>> getHierarchy(
+            @RequestParam(required = false) List<String> expand,
+            @RequestParam(name = "max_nodes", defaultValue = "2000") int maxNodes,
+            @RequestParam(name = "max_edges", defaultValue = "10000") int maxEdges) {
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        GroupHierarchy.View view;
+        try {
+            view = hierarchyService.current().view(expand != null ? expand : List.of(),
+                    Math.max(1, Math.min(maxNodes, 10000)), Math.max(1, Math.min(maxEdges, 50000)));
+        } catch (IllegalArgumentException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        List<Map<String, Object>> elements = new ArrayList<>();
+        for (GroupHierarchy.Node node : view.nodes()) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("id", node.id());
+            data.put("label", node.label());
+            data.put("kind", node.kind());
+            // Not "parent": Cytoscape would treat that as a compound node
+            data.put("hierarchy_parent", node.parent());
+            data.put("depth", node.depth());
+            data.put("artifact_count", node.artifactCount());
+            data.put("version_count", node.versionCount());
+            data.put("child_count", node.childCount());
+            data.put("expandable", node.childCount() > 0);
+
+            Map<String, Object> element = new LinkedHashMap<>();
+            element.put("data", data);
+            element.put("classes", node.kind());
+            elements.add(element);
+        }
+        for (GroupHierarchy.Edge edge : view.edges()) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("id", edge.source() + "__" + edge.target());
+            data.put("source", edge.source());
+            data.put("target", edge.target());
+            data.put("weight", edge.weight());
+
+            Map<String, Object> element = new LinkedHashMap<>();
+            element.put("data", data);
+            elements.add(element);
+        }
+
+        response.put("elements", elements);
+        response.put("node_count", view.nodes().size());
+        response.put("edge_count", view.edges().size());
+        response.put("edges_truncated", view.edges().size() < view.totalEdges());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Direct neighbors of one node, paginated, in Cytoscape.js format. Each
+     * neighbor carries its own in/out degree so the client can show what is
+     * left to expand behind it.
+     */
+    @GetMapping("/neighbors")
+    public ResponseEntity<Map<String, Object>> getNeighbors(
+            @RequestParam(name = "node_id") String nodeId,
+            @RequestParam(defaultValue = "both") String direction,
+            @RequestParam(required = false) List<String> scope,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        int pageOffset = Math.max(0, offset);
+        int pageLimit = Math.max(1, Math.min(limit, 1000));
+        NeighborService.NeighborPage page = neighborService.neighbors(nodeId, direction, scope, pageOffset, pageLimit);
+
+        List<Map<String, Object>> elements = new ArrayList<>();
+        for (NeighborService.Neighbor neighbor : page.neighbors()) {
+            Map<String, Object> nodeData = new LinkedHashMap<>();
+            nodeData.put("id", neighbor.gav());
+            nodeData.put("label", neighbor.gav());
+            nodeData.put("out_degree", neighbor.outDegree());
+            nodeData.put("in_degree", neighbor.inDegree());
+            Map<String, Object> node = new LinkedHashMap<>();
+            node.put("data", nodeData);
+            elements.add(node);
+
+            String source = "dependency".equals(neighbor.relation()) ? nodeId : neighbor.gav();
+            String target = "dependency".equals(neighbor.relation()) ? neighbor.gav() : nodeId;
+            Map<String, Object> edgeData = new LinkedHashMap<>();
+            edgeData.put("id", source + "__" + target);
+            edgeData.put("source", source);
+            edgeData.put("target", target);
+            edgeData.put("scope", neighbor.scope());
+            edgeData.put("optional", neighbor.optional());
+            Map<String, Object> edge = new LinkedHashMap<>();
+            edge.put("data", edgeData);
+            elements.add(edge);
+        }
+
+        int nextOffset = pageOffset + page.neighbors().size();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("node_id", nodeId);
+        response.put("found", page.center() != null);
+        response.put("out_degree", page.center() != null ? page.center().outDegree() : 0);
+        response.put("in_degree", page.center() != null ? page.center().inDegree() : 0);
+        response.put("total", page.total());
+        response.put("offset", pageOffset);
+        response.put("limit", pageLimit);
+        response.put("next_offset", nextOffset < page.total() ? nextOffset : null);
+        response.put("elements", elements);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Ingestion batches, oldest first. Their ids are the versions accepted by
+     * {@code /diff}.
+     */
+    @GetMapping("/batches")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Map<String, Object>>> getBatches() {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (IngestionBatch batch : historyService.batches()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", batch.getId());
+            item.put("created_at", batch.getCreatedAt());
+            item.put("full_scan", Boolean.TRUE.equals(batch.getFullScan()));
+            items.add(item);
+        }
+        return ResponseEntity.ok(items);
+    }
+
+    /**
+     * Artifacts and edges added and removed between two ingestion batches.
+     */
+    @GetMapping("/diff")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Map<String, Object>> getDiff(
+            @RequestParam long from,
+            @RequestParam long to) {
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        for (long batchId : new long[] { from, to }) {
+            if (!historyService.exists(batchId)) {
+                response.put("error", "Unknown batch: " + batchId);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+        }
+
+        IngestionHistoryService.Diff diff = historyService.diff(from, to);
+        response.put("from", diff.from());
+        response.put("to", diff.to());
+        response.put("from_edges", diff.fromEdges());
+        response.put("to_edges", diff.toEdges());
+        response.put("added_artifacts", diff.addedArtifacts());
+        response.put("removed_artifacts", diff.removedArtifacts());
+        response.put("added_edges", diff.addedEdges().stream().map(this::edgeToMap).toList());
+        response.put("removed_edges", diff.removedEdges().stream().map(this::edgeToMap).toList());
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> edgeToMap(IngestionHistoryService.Edge edge) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("from", edge.fromGav());
+        item.put("to", edge.toGav());
+        item.put("scope", edge.scope());
+        item.put("optional", edge.optional());
+        return item;
+    }
+
+    private Map<String, Object> pathToMap(PathService.Path path) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("length", path.nodes().size() - 1);
+        item.put("nodes", path.nodes());
+        item.put("scopes", path.scopes());
+        return item;
+    }
+}
@@ -0,0 +1,116 @@
+package com.jdepanalyzer.controller;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Stage-by-stage breakdown of one query, for {@code explain=true} and the
+ * {@code Server-Timing} header.
+ *
+ * Each stage records wall time and, where the JVM supports it, the bytes
+ * allocated by the request thread while it ran. A {@link #disabled()} profile
+ * just runs the stages, so the same code path serves normal requests.
+ */
+final class QueryProfile {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadMXBean();
+
+    private final boolean enabled;
+    private final long start = System.nanoTime();
+    private final long startAllocated;
+    private final List<Stage> stages = new ArrayList<>();
+    private final Map<String, Object> facts = new LinkedHashMap<>();
+
+    private QueryProfile(boolean enabled) {
+        this.enabled = enabled;
+        this.startAllocated = enabled ? allocatedBytes() : -1;
+    }
+
+    static QueryProfile enabled() {
+        return new QueryProfile(true);
+    }
+
+    static QueryProfile disabled() {
+        return new QueryProfile(false);
+    }
+
+    <T> T stage(String name, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        long allocated = allocatedBytes();
+        long begin = System.nanoTime();
+        T result = work.get();
+        long nanos = System.nanoTime() - begin;
+        stages.add(new Stage(name, nanos, allocated < 0 ? -1 : allocatedBytes() - allocated));
+        return result;
+    }
+
+    /**
+     * Record a fact about the query (rows scanned, nodes visited, cache hit...).
+     */
+    void put(String key, Object value) {
+        if (enabled) {
+            facts.put(key, value);
+        }
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total_ms", millis(System.nanoTime() - start));
+        long allocated = allocatedBytes();
+        result.put("allocated_bytes", allocated < 0 || startAllocated < 0 ? -1 : allocated - startAllocated);
+        List<Map<String, Object>> stageList = new ArrayList<>();
+        for (Stage stage : stages) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", stage.name());
+            item.put("duration_ms", millis(stage.nanos()));
+            item.put("allocated_bytes", stage.allocatedBytes());
+            stageList.add(item);
+        }
+        result.put("stages", stageList);
+        result.putAll(facts);
+        return result;
+    }
+
+    /**
+     * {@code Server-Timing} value: one metric per stage plus {@code total}.
+     */
+    String serverTiming() {
+        StringJoiner header = new StringJoiner(", ");
+        for (Stage stage : stages) {
+            header.add(stage.name() + ";dur=" + millis(stage.nanos()));
+        }
+        header.add("total;dur=" + millis(System.nanoTime() - start));
+        return header.toString();
+    }
+
+    static String serverTiming(String name, String description, long nanos) {
+        return String.format(Locale.ROOT, "%s;desc=\"%s\";dur=%s", name, description, millis(nanos));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    private record Stage(String name, long nanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.jdepanalyzer.controller;
+
+import com.jdepanalyzer.dto.GAV;
+import com.jdepanalyzer.service.GraphIndex;
+import com.jdepanalyzer.service.MavenVersions;
+import com.jdepanalyzer.service.ResidentGraphService;
+import com.jdepanalyzer.service.VersionDriftIndex;
+import com.jdepanalyzer.service.VersionIndex;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+
+/**
+ * REST API controller for version-oriented queries.
+ */
+@RestController
+@RequestMapping("/api/versions")
+public class VersionController {
+
+    private final VersionIndex versionIndex;
+    private final VersionDriftIndex driftIndex;
+    private final ResidentGraphService residentGraphService;
+
+    public VersionController(VersionIndex versionIndex, VersionDriftIndex driftIndex,
+            ResidentGraphService residentGraphService) {
+        this.versionIndex = versionIndex;
+        this.driftIndex = driftIndex;
+        this.residentGraphService = residentGraphService;
+    }
+
+    /**
+     * Find the versions of a groupId:artifactId inside a Maven version range,
+     * optionally with every artifact that (transitively) depends on each match.
+     */
+    @GetMapping("/range")
+    public ResponseEntity<Map<String, Object>> findInRange(
+            @RequestParam String ga,
+            @RequestParam String range,
+            @RequestParam(defaultValue = "false") boolean dependents) {
+
+        Map<String, Object> response = new LinkedHashMap<>();
+
+        VersionRange versionRange;
+        try {
+            versionRange = MavenVersions.parseRange(range);
+        } catch (InvalidVersionSpecificationException e) {
+            response.put("error", "Invalid version range: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        List<String> matches = versionIndex.findInRange(ga, versionRange);
+        GraphIndex graph = dependents && !matches.isEmpty() ? residentGraphService.current() : null;
+        int[] seen = graph != null ? new int[graph.nodeCount()] : null;
+        int stamp = 0;
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (String gav : matches) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("gav", gav);
+            item.put("version", GAV.parse(gav).getVersion());
+            if (graph != null) {
+                item.put("dependents", dependents(graph, gav, seen, ++stamp));
+            }
+            items.add(item);
+        }
+
+        response.put("ga", ga);
+        response.put("range", versionRange.toString());
+        response.put("count", items.size());
+        response.put("matches", items);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Every GAV that transitively depends on {@code gav}, by a walk over the
+     * index's in-edges. {@code seen} is shared between calls: a node is
+     * visited in this walk when it holds {@code stamp}.
+     */
+    private static Set<String> dependents(GraphIndex graph, String gav, int[] seen, int stamp) {
+        Set<String> result = new TreeSet<>();
+        int start = graph.id(gav);
+        if (start < 0) {
+            return result;
+        }
+        Deque<Integer> queue = new ArrayDeque<>();
+        seen[start] = stamp;
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int e = graph.inBegin(node); e < graph.inEnd(node); e++) {
+                int source = graph.inSource(e);
+                if (seen[source] != stamp) {
+                    seen[source] = stamp;
+                    result.add(graph.gav(source));
+                    queue.add(source);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Version drift / convergence report: for each groupId:artifactId referenced in
+     * several versions, how many consumers use each version and who is off the
+     * dominant one.
+     */
+    @GetMapping("/drift")
+    public ResponseEntity<Map<String, Object>> getDrift(
+            @RequestParam(name = "min_versions", defaultValue = "2") int minVersions,
+            @RequestParam(name = "q", required = false) String query,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        if (limit < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit must be at least 1"));
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (VersionDriftIndex.Drift drift : driftIndex.report(minVersions, query, limit)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("ga", drift.ga());
+            item.put("version_count", drift.versions().size());
+            item.put("consumer_count", drift.consumerCount());
+            item.put("latest_version", drift.latestVersion());
+            item.put("dominant_version", drift.dominantVersion());
+
+            List<Map<String, Object>> versions = new ArrayList<>();
+            for (VersionDriftIndex.VersionUsage usage : drift.versions()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("version", usage.version());
+                row.put("consumers", usage.consumers());
+                versions.add(row);
+            }
+            item.put("versions", versions);
+
+            List<Map<String, Object>> outliers = new ArrayList<>();
+            for (VersionDriftIndex.Outlier outlier : drift.outliers()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("consumer", outlier.consumer());
+                row.put("version", outlier.version());
+                outliers.add(row);
+            }
+            item.put("outliers", outliers);
+
+            items.add(item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("count", items.size());
+        response.put("items", items);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,8 @@
+package com.jdepanalyzer.dto;
+
+/**
+ * Read-only projection of an artifact row, loaded straight from a query
+ * without going through a managed {@code Artifact} entity.
+ */
+public record ArtifactSummary(String gav, String groupId, String artifactId, String version) {
+}
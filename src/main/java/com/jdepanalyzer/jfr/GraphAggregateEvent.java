@@ -0,0 +1,34 @@
+package com.jdepanalyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * {@code GraphService.aggregateGraph}: merging nodes by hidden group/version.
+ */
+@Name("com.jdepanalyzer.GraphAggregate")
+@Label("Graph Aggregate")
+@Category({ "J-Dep Analyzer", "Graph" })
+@Description("Aggregating the atomic graph by group and version visibility")
+public class GraphAggregateEvent extends jdk.jfr.Event {
+
+    @Label("Show Group")
+    public boolean showGroup;
+
+    @Label("Show Version")
+    public boolean showVersion;
+
+    @Label("Input Nodes")
+    public int inputNodes;
+
+    @Label("Input Edges")
+    public int inputEdges;
+
+    @Label("Output Nodes")
+    public int outputNodes;
+
+    @Label("Output Edges")
+    public int outputEdges;
+}
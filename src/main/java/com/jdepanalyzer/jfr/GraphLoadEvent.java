@@ -0,0 +1,26 @@
+package com.jdepanalyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * {@code GraphService.loadAtomicGraph}: reading the graph from the database.
+ */
+@Name("com.jdepanalyzer.GraphLoad")
+@Label("Graph Load")
+@Category({ "J-Dep Analyzer", "Graph" })
+@Description("Loading the atomic dependency graph from the database")
+public class GraphLoadEvent extends jdk.jfr.Event {
+
+    @Label("Scopes")
+    @Description("Comma-separated scope filter, empty for all scopes")
+    public String scopes;
+
+    @Label("Nodes")
+    public int nodes;
+
+    @Label("Edges")
+    public int edges;
+}
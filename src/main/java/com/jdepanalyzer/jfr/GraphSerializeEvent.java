@@ -0,0 +1,32 @@
+package com.jdepanalyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * {@code GraphService.toCytoscapeElements}: building the response elements.
+ */
+@Name("com.jdepanalyzer.GraphSerialize")
+@Label("Graph Serialize")
+@Category({ "J-Dep Analyzer", "Graph" })
+@Description("Converting a graph to Cytoscape elements")
+public class GraphSerializeEvent extends jdk.jfr.Event {
+
+    @Label("Root")
+    public String root;
+
+    @Label("Direction")
+    public String direction;
+
+    @Label("Show Version")
+    public boolean showVersion;
+
+    @Label("Visible Nodes")
+    @Description("-1 when the whole graph is visible")
+    public int visibleNodes;
+
+    @Label("Elements")
+    public int elements;
+}
@@ -0,0 +1,32 @@
+package com.jdepanalyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * {@code GraphService.nodesWithinDepth}: the BFS from the requested root.
+ */
+@Name("com.jdepanalyzer.GraphTraversal")
+@Label("Graph Traversal")
+@Category({ "J-Dep Analyzer", "Graph" })
+@Description("Collecting the nodes within a depth of a root")
+public class GraphTraversalEvent extends jdk.jfr.Event {
+
+    @Label("Root")
+    public String root;
+
+    @Label("Direction")
+    public String direction;
+
+    @Label("Depth")
+    @Description("-1 for unbounded")
+    public int depth;
+
+    @Label("Graph Nodes")
+    public int graphNodes;
+
+    @Label("Visited Nodes")
+    public int visitedNodes;
+}
@@ -0,0 +1,27 @@
+package com.jdepanalyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One {@code PomParser.parse} call.
+ */
+@Name("com.jdepanalyzer.PomParse")
+@Label("POM Parse")
+@Category({ "J-Dep Analyzer", "Upload" })
+@Description("Parsing of one POM document")
+public class PomParseEvent extends jdk.jfr.Event {
+
+    @Label("GAV")
+    public String gav;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Dependencies")
+    public int dependencies;
+}
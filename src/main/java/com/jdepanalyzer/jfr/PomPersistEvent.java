@@ -0,0 +1,35 @@
+package com.jdepanalyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Storing the artifacts and edges of one parsed, uploaded POM.
+ */
+@Name("com.jdepanalyzer.PomPersist")
+@Label("POM Persist")
+@Category({ "J-Dep Analyzer", "Upload" })
+@Description("Upserting the artifacts and edges of one uploaded POM")
+public class PomPersistEvent extends jdk.jfr.Event {
+
+    @Label("File Name")
+    public String fileName;
+
+    @Label("GAV")
+    public String gav;
+
+    @Label("Dependencies")
+    public int dependencies;
+
+    @Label("New Artifacts")
+    public int newArtifacts;
+
+    @Label("New Edges")
+    public int newEdges;
+
+    @Label("JDBC Statements")
+    @Description("Statements Hibernate prepared for this POM")
+    public int dbCalls;
+}
@@ -0,0 +1,67 @@
+package com.jdepanalyzer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The range of ingestion batches in which a dependency edge existed:
+ * from {@code validFrom} (inclusive) to {@code validTo} (exclusive, null
+ * while the edge is current). An edge that disappears and comes back gets a
+ * second range. An edge has at most one open range: the partial unique index
+ * {@code uq_validity_open}, which JPA cannot express, comes from the V5
+ * migration of each dialect.
+ */
+@Entity
+@Table(name = "edge_validity", indexes = {
+        @Index(name = "idx_validity_from", columnList = "valid_from"),
+        @Index(name = "idx_validity_to", columnList = "valid_to")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EdgeValidity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "from_gav")
+    private String fromGav;
+
+    @Column(name = "to_gav")
+    private String toGav;
+
+    private String scope;
+
+    private Boolean optional;
+
+    @Column(name = "valid_from")
+    private Long validFrom;
+
+    @Column(name = "valid_to")
+    private Long validTo;
+
+    /**
+     * Open a range for an edge, starting at {@code batchId}.
+     */
+    public static EdgeValidity open(String fromGav, String toGav, String scope, Boolean optional, long batchId) {
+        return EdgeValidity.builder()
+                .fromGav(fromGav)
+                .toGav(toGav)
+                .scope(scope)
+                .optional(optional)
+                .validFrom(batchId)
+                .build();
+    }
+
+    /**
+     * Whether the edge existed in batch {@code batchId}.
+     */
+    public boolean validIn(long batchId) {
+        return validFrom <= batchId && (validTo == null || batchId < validTo);
+    }
+}
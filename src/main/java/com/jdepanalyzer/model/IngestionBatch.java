@@ -0,0 +1,45 @@
+package com.jdepanalyzer.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One upload request, recorded as a version of the graph history.
+ * Batch ids only grow, so they order the history.
+ */
+@Entity
+@Table(name = "ingestion_batch")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestionBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    /**
+     * Whether the batch is a full scan: edges it did not see were closed.
+     */
+    @Column(name = "full_scan")
+    private Boolean fullScan;
+
+    /**
+     * Start a new batch now.
+     */
+    public static IngestionBatch of(boolean fullScan) {
+        return IngestionBatch.builder()
+                .createdAt(Instant.now())
+                .fullScan(fullScan)
+                .build();
+    }
+}
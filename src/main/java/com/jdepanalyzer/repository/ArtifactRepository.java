@@ -1,7 +1,13 @@
 package com.jdepanalyzer.repository;
 
+import com.jdepanalyzer.dto.ArtifactSummary;
 import com.jdepanalyzer.model.Artifact;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +18,18 @@ public interface ArtifactRepository extends JpaRepository<Artifact, String> {
     List<Artifact> findByArtifactIdContainingIgnoreCase(String artifactId);
 
     List<Artifact> findByGroupIdContainingIgnoreCase(String groupId);
+
+    /**
+     * One page of artifacts in {@code sort} order, continuing after
+     * {@code position}. Use a keyset position so each page is an index range
+     * scan instead of an ever-growing OFFSET.
+     */
+    Window<ArtifactSummary> findArtifactsBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Artifacts that no dependency edge starts or ends at.
+     */
+    @Query("SELECT a FROM Artifact a WHERE NOT EXISTS"
+            + " (SELECT 1 FROM DependencyEdge d WHERE d.fromGav = a.gav OR d.toGav = a.gav)")
+    List<Artifact> findUnreferenced();
 }
@@ -1,6 +1,7 @@
 package com.jdepanalyzer.repository;
 
 import com.jdepanalyzer.model.DependencyEdge;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -17,6 +18,10 @@ public interface DependencyEdgeRepository extends JpaRepository<DependencyEdge,
 
     List<DependencyEdge> findByScopeIn(List<String> scopes);
 
+    List<DependencyEdge> findByScopeIn(List<String> scopes, Sort sort);
+
+    List<DependencyEdge> findByIdGreaterThan(Long id, Sort sort);
+
     Optional<DependencyEdge> findByFromGavAndToGavAndScopeAndOptional(
             String fromGav, String toGav, String scope, Boolean optional);
 
@@ -0,0 +1,21 @@
+package com.jdepanalyzer.repository;
+
+import com.jdepanalyzer.model.EdgeValidity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EdgeValidityRepository extends JpaRepository<EdgeValidity, Long> {
+
+    List<EdgeValidity> findByValidToIsNull();
+
+    /**
+     * Ranges that overlap batches {@code from..to} (inclusive).
+     */
+    @Query("SELECT e FROM EdgeValidity e WHERE e.validFrom <= :to AND (e.validTo IS NULL OR e.validTo > :from)")
+    List<EdgeValidity> findOverlapping(@Param("from") long from, @Param("to") long to);
+}
@@ -0,0 +1,9 @@
+package com.jdepanalyzer.repository;
+
+import com.jdepanalyzer.model.IngestionBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngestionBatchRepository extends JpaRepository<IngestionBatch, Long> {
+}
@@ -0,0 +1,310 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.dto.GAV;
+import com.jdepanalyzer.model.Artifact;
+import com.jdepanalyzer.repository.ArtifactRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory trigram index over artifact GAVs for typeahead search.
+ *
+ * Every lower-cased {@code groupId:artifactId:version} is split into
+ * character trigrams; a query token of three or more characters is answered
+ * by walking the rarest posting list of its trigrams, probing the others and
+ * verifying each survivor against its stored lower-cased GAV. Shorter tokens
+ * fall back to a prefix lookup on sorted artifactIds and groupIds. Matches are
+ * ranked exact artifactId, artifactId prefix, groupId (segment) prefix,
+ * artifactId substring, then anything else. At most
+ * {@value #MAX_CANDIDATES} candidates are verified per query, and only the
+ * {@code limit} best become {@link Match}es.
+ *
+ * Built lazily from the {@code artifact} table and kept current by applying
+ * upload deltas, like {@link VersionIndex}.
+ */
+@Service
+public class ArtifactSearchIndex {
+
+    private static final int MAX_CANDIDATES = 10_000;
+
+    private final ArtifactRepository artifactRepository;
+    private final GraphVersionService graphVersionService;
+    private final PrimaryReads primaryReads;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Trigrams index = new Trigrams(); // guarded by lock
+    private volatile long builtVersion = -1;
+
+    public ArtifactSearchIndex(ArtifactRepository artifactRepository, GraphVersionService graphVersionService,
+            PrimaryReads primaryReads) {
+        this.artifactRepository = artifactRepository;
+        this.graphVersionService = graphVersionService;
+        this.primaryReads = primaryReads;
+    }
+
+    /**
+     * Up to {@code limit} artifacts containing every whitespace-separated token
+     * of {@code query} (case-insensitive), best matches first.
+     */
+    public List<Match> search(String query, int limit) {
+        String[] tokens = query == null ? new String[0] : query.toLowerCase(Locale.ROOT).trim().split("\\s+");
+        List<String> terms = new ArrayList<>();
+        for (String token : tokens) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        if (builtVersion != graphVersionService.current()) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onGraphChanged(GraphChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (builtVersion != event.fromVersion()) {
+                return; // stale: the next reader rebuilds
+            }
+            for (Artifact artifact : event.addedArtifacts()) {
+                index.add(artifact.getGav());
+            }
+            builtVersion = event.toVersion();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            long version = graphVersionService.current();
+            if (builtVersion == version) {
+                return;
+            }
+            Trigrams fresh = new Trigrams();
+            for (Artifact artifact : primaryReads.load(artifactRepository::findAll)) {
+                fresh.add(artifact.getGav());
+            }
+            index = fresh;
+            builtVersion = version;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A search hit; lower {@code score} ranks higher.
+     */
+    public record Match(String gav, String groupId, String artifactId, String version, int score) {
+    }
+
+    /**
+     * The mutable index proper. Not thread-safe on its own.
+     */
+    private static final class Trigrams {
+
+        private final List<String> gavs = new ArrayList<>();
+        private final List<String> lowered = new ArrayList<>();
+        private int[] colons = new int[8]; // per document: the two ':' offsets in its GAV
+        private final Set<String> present = new HashSet<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private final NavigableMap<String, Postings> names = new TreeMap<>();
+
+        void add(String gav) {
+            if (!present.add(gav)) {
+                return;
+            }
+            int doc = gavs.size();
+            String lower = gav.toLowerCase(Locale.ROOT);
+            gavs.add(gav);
+            lowered.add(lower);
+            if (2 * doc + 2 > colons.length) {
+                colons = Arrays.copyOf(colons, colons.length * 2);
+            }
+            int first = lower.indexOf(':');
+            first = first < 0 ? lower.length() : first;
+            int second = lower.indexOf(':', first + 1);
+            colons[2 * doc] = first;
+            colons[2 * doc + 1] = second < 0 ? lower.length() : second;
+
+            Set<Long> seen = new HashSet<>();
+            for (int i = 0; i + 3 <= lower.length(); i++) {
+                long key = trigram(lower, i);
+                if (seen.add(key)) {
+                    postings.computeIfAbsent(key, k -> new Postings()).add(doc);
+                }
+            }
+            GAV parsed = GAV.parse(lower);
+            names.computeIfAbsent(parsed.getArtifactId(), k -> new Postings()).addIfAbsent(doc);
+            names.computeIfAbsent(parsed.getGroupId(), k -> new Postings()).addIfAbsent(doc);
+        }
+
+        List<Match> search(List<String> terms, int limit) {
+            Comparator<int[]> order = Comparator.<int[]>comparingInt(hit -> hit[1])
+                    .thenComparingInt(hit -> gavs.get(hit[0]).length())
+                    .thenComparing(hit -> gavs.get(hit[0]));
+            PriorityQueue<int[]> best = new PriorityQueue<>(limit + 1, order.reversed());
+
+            int verified = 0;
+            PrimitiveIterator.OfInt candidates = candidates(terms);
+            while (candidates.hasNext() && verified < MAX_CANDIDATES) {
+                int doc = candidates.nextInt();
+                verified++;
+                String lower = lowered.get(doc);
+                int score = 0;
+                for (String term : terms) {
+                    int termScore = score(lower, colons[2 * doc], colons[2 * doc + 1], term);
+                    if (termScore < 0) {
+                        score = -1;
+                        break;
+                    }
+                    score += termScore;
+                }
+                if (score < 0) {
+                    continue;
+                }
+                best.add(new int[] {doc, score});
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            List<int[]> hits = new ArrayList<>(best);
+            hits.sort(order);
+            List<Match> result = new ArrayList<>(hits.size());
+            for (int[] hit : hits) {
+                String gav = gavs.get(hit[0]);
+                GAV parsed = GAV.parse(gav);
+                result.add(new Match(gav, parsed.getGroupId(), parsed.getArtifactId(), parsed.getVersion(), hit[1]));
+            }
+            return result;
+        }
+
+        /**
+         * Candidate documents, in id order: the rarest trigram posting list of
+         * the long terms filtered by the others, or prefix matches of the
+         * longest term when all are short.
+         */
+        private PrimitiveIterator.OfInt candidates(List<String> terms) {
+            List<Postings> lists = new ArrayList<>();
+            String longest = "";
+            for (String term : terms) {
+                if (term.length() > longest.length()) {
+                    longest = term;
+                }
+                for (int i = 0; i + 3 <= term.length(); i++) {
+                    Postings list = postings.get(trigram(term, i));
+                    if (list == null) {
+                        return IntStream.empty().iterator();
+                    }
+                    lists.add(list);
+                }
+            }
+
+            if (lists.isEmpty()) {
+                BitSet docs = new BitSet();
+                for (Postings list : names.subMap(longest, true, longest + Character.MAX_VALUE, false).values()) {
+                    for (int i = 0; i < list.size; i++) {
+                        docs.set(list.items[i]);
+                    }
+                    if (docs.cardinality() >= MAX_CANDIDATES) {
+                        break;
+                    }
+                }
+                return docs.stream().iterator();
+            }
+
+            lists.sort(Comparator.comparingInt(p -> p.size));
+            Postings rarest = lists.get(0);
+            List<Postings> others = lists.subList(1, lists.size());
+            return IntStream.range(0, rarest.size)
+                    .map(i -> rarest.items[i])
+                    .filter(doc -> {
+                        for (Postings list : others) {
+                            if (!list.contains(doc)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    })
+                    .iterator();
+        }
+
+        /**
+         * Rank of {@code term} within the lower-cased {@code gav} whose
+         * separators are at {@code groupEnd} and {@code artifactEnd}, or -1 if
+         * it does not occur at all.
+         */
+        private static int score(String gav, int groupEnd, int artifactEnd, String term) {
+            int artifactLength = artifactEnd - groupEnd - 1;
+            if (term.length() == artifactLength && gav.startsWith(term, groupEnd + 1)) {
+                return 0;
+            }
+            if (term.length() < artifactLength && gav.startsWith(term, groupEnd + 1)) {
+                return 1;
+            }
+            if (term.length() <= groupEnd && gav.startsWith(term)) {
+                return 2;
+            }
+            int at = gav.indexOf(term);
+            if (at < 0) {
+                return -1;
+            }
+            for (int i = at; i >= 0 && i + term.length() <= groupEnd; i = gav.indexOf(term, i + 1)) {
+                if (i > 0 && gav.charAt(i - 1) == '.') {
+                    return 2;
+                }
+            }
+            int inArtifact = gav.indexOf(term, groupEnd + 1);
+            if (inArtifact >= 0 && inArtifact + term.length() <= artifactEnd) {
+                return 3;
+            }
+            return 4;
+        }
+
+        private static long trigram(String s, int i) {
+            return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+        }
+    }
+
+    /**
+     * Ascending list of document ids. Documents are numbered in insertion
+     * order, so appending keeps it sorted.
+     */
+    private static final class Postings {
+        int[] items = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = doc;
+        }
+
+        void addIfAbsent(int doc) {
+            if (size == 0 || items[size - 1] != doc) {
+                add(doc);
+            }
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(items, 0, size, doc) >= 0;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.jdepanalyzer.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compact binary encoding of {@code /api/graph/data} responses.
+ *
+ * Every distinct string is stored once in a string table; nodes and edges
+ * become fixed-width int32 rows that index into it (edges index nodes), so a
+ * client can read them without parsing JSON. String {@code i} is the UTF-8
+ * bytes from {@code stringOffsets[i]} to {@code stringOffsets[i + 1]}, so
+ * strings may contain any character. All numbers are little-endian and every
+ * section starts on a 4-byte boundary.
+ *
+ * <pre>
+ * magic "JDG2"
+ * int32 flags              bit 0: node positions present
+ * int32 stringCount, nodeCount, edgeCount, totalNodeCount, totalEdgeCount
+ * int32 stringBytes
+ * int32[stringCount + 1]   stringOffsets, the last one is stringBytes
+ * byte[stringBytes]        UTF-8 strings, zero-padded to 4 bytes
+ * int32[nodeCount * 6]     id, label, group_id, artifact_id, version, classes
+ * int32[edgeCount * 4]     source node, target node, scope, optional (0/1)
+ * float32[nodeCount * 2]   x, y (only with flag bit 0)
+ * </pre>
+ *
+ * Edge ids are not sent; they are always {@code source + "__" + target}.
+ */
+public final class CompactGraphCodec {
+
+    public static final String MEDIA_TYPE = "application/vnd.jdep.graph+binary";
+
+    static final int MAGIC = 0x3247444A; // "JDG2" read as little-endian int32
+    static final int FLAG_POSITIONS = 1;
+
+    private static final String[] NODE_FIELDS = { "id", "label", "group_id", "artifact_id", "version" };
+
+    private CompactGraphCodec() {
+    }
+
+    /**
+     * Encode a graph-data response map ({@code elements}, {@code node_count},
+     * {@code edge_count}) as produced for the JSON format.
+     */
+    @SuppressWarnings("unchecked")
+    public static byte[] encode(Map<String, Object> response) {
+        List<Map<String, Object>> elements = (List<Map<String, Object>>) response.get("elements");
+
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<String, Integer> nodeIndex = new HashMap<>();
+        List<int[]> nodes = new ArrayList<>();
+        List<float[]> positions = new ArrayList<>();
+        List<Map<String, Object>> edges = new ArrayList<>();
+        boolean hasPositions = false;
+
+        for (Map<String, Object> element : elements) {
+            Map<String, Object> data = (Map<String, Object>) element.get("data");
+            if (data.containsKey("source")) {
+                edges.add(data);
+                continue;
+            }
+            int[] row = new int[NODE_FIELDS.length + 1];
+            for (int f = 0; f < NODE_FIELDS.length; f++) {
+                row[f] = intern(strings, data.get(NODE_FIELDS[f]));
+            }
+            row[NODE_FIELDS.length] = intern(strings, element.get("classes"));
+            nodeIndex.put((String) data.get("id"), nodes.size());
+            nodes.add(row);
+
+            Map<String, Number> position = (Map<String, Number>) element.get("position");
+            hasPositions |= position != null;
+            positions.add(position != null
+                    ? new float[] { position.get("x").floatValue(), position.get("y").floatValue() }
+                    : new float[2]);
+        }
+
+        int[][] edgeRows = new int[edges.size()][];
+        for (int i = 0; i < edges.size(); i++) {
+            Map<String, Object> data = edges.get(i);
+            edgeRows[i] = new int[] {
+                    nodeIndex.get((String) data.get("source")),
+                    nodeIndex.get((String) data.get("target")),
+                    intern(strings, data.get("scope")),
+                    Boolean.TRUE.equals(data.get("optional")) ? 1 : 0 };
+        }
+
+        int[] offsets = new int[strings.size() + 1];
+        List<byte[]> encoded = new ArrayList<>(strings.size());
+        int tableBytes = 0;
+        for (String s : strings.keySet()) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            offsets[encoded.size()] = tableBytes;
+            encoded.add(bytes);
+            tableBytes += bytes.length;
+        }
+        offsets[encoded.size()] = tableBytes;
+        int paddedTable = (tableBytes + 3) & ~3;
+        int size = 4 * 8 + offsets.length * 4 + paddedTable
+                + nodes.size() * (NODE_FIELDS.length + 1) * 4
+                + edgeRows.length * 4 * 4
+                + (hasPositions ? nodes.size() * 2 * 4 : 0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(hasPositions ? FLAG_POSITIONS : 0);
+        buffer.putInt(strings.size());
+        buffer.putInt(nodes.size());
+        buffer.putInt(edgeRows.length);
+        buffer.putInt(((Number) response.get("node_count")).intValue());
+        buffer.putInt(((Number) response.get("edge_count")).intValue());
+        buffer.putInt(tableBytes);
+        for (int offset : offsets) {
+            buffer.putInt(offset);
+        }
+        for (byte[] bytes : encoded) {
+            buffer.put(bytes);
+        }
+        buffer.position(buffer.position() + paddedTable - tableBytes);
+        for (int[] row : nodes) {
+            for (int value : row) {
+                buffer.putInt(value);
+            }
+        }
+        for (int[] row : edgeRows) {
+            for (int value : row) {
+                buffer.putInt(value);
+            }
+        }
+        if (hasPositions) {
+            for (float[] p : positions) {
+                buffer.putFloat(p[0]);
+                buffer.putFloat(p[1]);
+            }
+        }
+        return buffer.array();
+    }
+
+    private static int intern(Map<String, Integer> strings, Object value) {
+        String s = value != null ? value.toString() : "";
+        Integer index = strings.get(s);
+        if (index == null) {
+            index = strings.size();
+            strings.put(s, index);
+        }
+        return index;
+    }
+}
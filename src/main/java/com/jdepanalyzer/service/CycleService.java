@@ -0,0 +1,225 @@
+package com.jdepanalyzer.service;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.AsUnmodifiableGraph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Strongly connected components and the condensed DAG of the dependency graph.
+ *
+ * Components are found with an iterative Tarjan, so deep dependency chains
+ * cannot overflow the stack. The atomic view runs it straight over the
+ * resident {@link GraphIndex}, keeping only edges in the scope mask;
+ * aggregated views are first built from the same index. Results are cached
+ * per graph version and view (scopes + aggregation toggles); entries of older
+ * versions are dropped as soon as a newer version is seen.
+ */
+@Service
+public class CycleService {
+
+    private final GraphService graphService;
+    private final ResidentGraphService residentGraphService;
+    private final Map<String, Condensation> cache = new ConcurrentHashMap<>();
+    private volatile long cachedVersion = -1;
+
+    public CycleService(GraphService graphService, ResidentGraphService residentGraphService) {
+        this.graphService = graphService;
+        this.residentGraphService = residentGraphService;
+    }
+
+    /**
+     * Condensation of the (optionally aggregated) graph for the current graph version.
+     */
+    public Condensation condensation(Set<String> scopes, boolean showGroup, boolean showVersion) {
+        GraphIndex index = residentGraphService.current();
+        long version = index.version();
+        if (cachedVersion != version) {
+            cachedVersion = version;
+            cache.keySet().removeIf(k -> !k.startsWith(version + "|"));
+        }
+        String key = version + "|" + (scopes != null ? new TreeSet<>(scopes) : "*") + "|" + showGroup + "|" + showVersion;
+        return cache.computeIfAbsent(key, k -> showGroup && showVersion
+                ? condense(index, index.scopeMask(scopes))
+                : condense(graphService.aggregateGraph(graphService.loadAtomicGraph(index, scopes),
+                        showGroup, showVersion)));
+    }
+
+    /**
+     * Condensation of the atomic graph in {@code index}, over the edges whose
+     * scope is in {@code mask}.
+     */
+    public Condensation condense(GraphIndex index, long mask) {
+        int n = index.nodeCount();
+        List<String> nodes = new ArrayList<>(n);
+        int[][] successors = new int[n][];
+        for (int v = 0; v < n; v++) {
+            nodes.add(index.gav(v));
+            int[] targets = new int[index.outDegree(v)];
+            int k = 0;
+            for (int e = index.outBegin(v); e < index.outEnd(v); e++) {
+                if ((mask & (1L << index.outScope(e))) != 0) {
+                    targets[k++] = index.outTarget(e);
+                }
+            }
+            successors[v] = k == targets.length ? targets : Arrays.copyOf(targets, k);
+        }
+        return condense(nodes, successors);
+    }
+
+    /**
+     * Collapse every strongly connected component into one node.
+     * Components are listed in reverse topological order (sinks first), and
+     * {@code dag} vertices are component indexes into that list.
+     */
+    public <E> Condensation condense(Graph<String, E> graph) {
+        List<String> nodes = new ArrayList<>(graph.vertexSet());
+        return condense(nodes, successors(graph, nodes));
+    }
+
+    private Condensation condense(List<String> nodes, int[][] successors) {
+        List<List<String>> components = stronglyConnectedComponents(nodes, successors);
+
+        Map<String, Integer> componentOf = new HashMap<>();
+        for (int i = 0; i < components.size(); i++) {
+            for (String node : components.get(i)) {
+                componentOf.put(node, i);
+            }
+        }
+
+        Graph<Integer, DefaultEdge> dag = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (int i = 0; i < components.size(); i++) {
+            dag.addVertex(i);
+        }
+        for (int v = 0; v < successors.length; v++) {
+            int from = componentOf.get(nodes.get(v));
+            for (int w : successors[v]) {
+                int to = componentOf.get(nodes.get(w));
+                if (from != to) {
+                    dag.addEdge(from, to);
+                }
+            }
+        }
+
+        List<Integer> cyclic = new ArrayList<>();
+        for (int i = 0; i < components.size(); i++) {
+            if (components.get(i).size() > 1) {
+                cyclic.add(i);
+            }
+        }
+
+        return new Condensation(components, componentOf, new AsUnmodifiableGraph<>(dag), cyclic);
+    }
+
+    /**
+     * Index a JGraphT graph so the hot loop works on int arrays.
+     */
+    private static <E> int[][] successors(Graph<String, E> graph, List<String> nodes) {
+        Map<String, Integer> ids = new HashMap<>(nodes.size() * 2);
+        for (int i = 0; i < nodes.size(); i++) {
+            ids.put(nodes.get(i), i);
+        }
+        int[][] successors = new int[nodes.size()][];
+        for (int i = 0; i < nodes.size(); i++) {
+            Set<E> out = graph.outgoingEdgesOf(nodes.get(i));
+            int[] targets = new int[out.size()];
+            int k = 0;
+            for (E edge : out) {
+                targets[k++] = ids.get(graph.getEdgeTarget(edge));
+            }
+            successors[i] = targets;
+        }
+        return successors;
+    }
+
+    /**
+     * Iterative Tarjan's algorithm. Each component's members are sorted.
+     */
+    private static List<List<String>> stronglyConnectedComponents(List<String> nodes, int[][] successors) {
+        int n = nodes.size();
+        int[] index = new int[n];
+        int[] lowLink = new int[n];
+        boolean[] onStack = new boolean[n];
+        Arrays.fill(index, -1);
+
+        int[] sccStack = new int[n];
+        int sccTop = 0;
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        int nextIndex = 0;
+
+        List<List<String>> components = new ArrayList<>();
+
+        for (int start = 0; start < n; start++) {
+            if (index[start] != -1) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = start;
+            callEdge[0] = 0;
+            index[start] = lowLink[start] = nextIndex++;
+            sccStack[sccTop++] = start;
+            onStack[start] = true;
+
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callEdge[depth] < successors[v].length) {
+                    int w = successors[v][callEdge[depth]++];
+                    if (index[w] == -1) {
+                        // Recurse into w
+                        index[w] = lowLink[w] = nextIndex++;
+                        sccStack[sccTop++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = 0;
+                    } else if (onStack[w]) {
+                        lowLink[v] = Math.min(lowLink[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // All successors done: v may be a component root
+                if (lowLink[v] == index[v]) {
+                    List<String> component = new ArrayList<>();
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack[w] = false;
+                        component.add(nodes.get(w));
+                    } while (w != v);
+                    Collections.sort(component);
+                    components.add(component);
+                }
+
+                // Return to caller
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[v]);
+                }
+            }
+        }
+
+        return components;
+    }
+
+    /**
+     * Result of collapsing strongly connected components.
+     *
+     * @param components    every component (singletons included), sinks first
+     * @param componentOf   node id -> index into {@code components}
+     * @param dag           condensed graph over component indexes; always acyclic, read-only
+     * @param cyclic        indexes of components that contain a cycle
+     */
+    public record Condensation(
+            List<List<String>> components,
+            Map<String, Integer> componentOf,
+            Graph<Integer, DefaultEdge> dag,
+            List<Integer> cyclic) {
+    }
+}
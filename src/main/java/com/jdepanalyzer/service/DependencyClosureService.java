@@ -0,0 +1,123 @@
+package com.jdepanalyzer.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materialized transitive closure of the dependency graph in
+ * {@code dependency_closure(ancestor, descendant, min_depth)}.
+ *
+ * A row means {@code ancestor} depends on {@code descendant} through
+ * {@code min_depth} edges at the shortest, over all scopes. "All transitive
+ * dependencies of Y" is a primary-key range scan on {@code ancestor}, and "all
+ * consumers of X" uses {@code idx_closure_descendant}, so plain SQL clients
+ * and read replicas can answer both without walking the graph.
+ *
+ * {@link UploadService} calls {@link #addEdge} for every edge it inserts.
+ * Adding {@code u -> v} can only create or shorten paths that run through it,
+ * so the update is every ancestor of {@code u} (and {@code u}) paired with
+ * every descendant of {@code v} (and {@code v}), keeping the smaller depth.
+ *
+ * Each update reads the closure rows it extends, so two uploads adding
+ * {@code u -> v} and {@code v -> w} concurrently would each miss the other's
+ * paths. On PostgreSQL, uploads therefore take a transaction-scoped advisory
+ * lock ({@link #lock}) before their first update and hold it until commit;
+ * under READ COMMITTED every update then sees all closure rows committed
+ * before it. SQLite allows only one writer at a time anyway.
+ *
+ * Enabled with {@code jdep.closure.enabled}; every instance that uploads must
+ * enable it, or the table goes stale. The table comes from the V3 migration of
+ * each dialect; on startup it is filled from {@code dependencyedge} if empty.
+ */
+@Service
+@ConditionalOnProperty(name = "jdep.closure.enabled", havingValue = "true")
+public class DependencyClosureService {
+
+    private static final Logger log = LoggerFactory.getLogger(DependencyClosureService.class);
+
+    static final String TABLE = "dependency_closure";
+
+    /** Advisory lock key shared by every instance: "jdepclo". */
+    private static final long LOCK_KEY = 0x6a646570636c6fL;
+
+    private static final String ADD_EDGE = "INSERT INTO dependency_closure (ancestor, descendant, min_depth)"
+            + " SELECT a.gav, d.gav, MIN(a.depth + d.depth + 1)"
+            + " FROM (SELECT ? AS gav, 0 AS depth"
+            + " UNION ALL SELECT ancestor, min_depth FROM dependency_closure WHERE descendant = ?) a"
+            + " CROSS JOIN (SELECT ? AS gav, 0 AS depth"
+            + " UNION ALL SELECT descendant, min_depth FROM dependency_closure WHERE ancestor = ?) d"
+            + " GROUP BY a.gav, d.gav"
+            + " ON CONFLICT (ancestor, descendant) DO UPDATE SET min_depth = excluded.min_depth"
+            + " WHERE excluded.min_depth < dependency_closure.min_depth";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private boolean postgres;
+
+    public DependencyClosureService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void initialize() {
+        postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+
+        boolean empty = jdbcTemplate.queryForList("SELECT 1 FROM dependency_closure LIMIT 1").isEmpty();
+        if (empty) {
+            transactionTemplate.executeWithoutResult(status -> {
+                int edges = rebuild();
+                if (edges > 0) {
+                    log.info("Filled dependency_closure from {} edges", edges);
+                }
+            });
+        }
+    }
+
+    /**
+     * Wait until no other transaction is updating the closure, and keep others
+     * waiting until this one ends. Must run in the upload's transaction before
+     * its first {@link #addEdge}; taking it again in the same transaction is
+     * harmless. A no-op outside PostgreSQL.
+     */
+    public void lock() {
+        if (postgres) {
+            jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (ResultSetExtractor<Void>) rs -> null, LOCK_KEY);
+        }
+    }
+
+    /**
+     * Record a newly inserted edge. Must run in the transaction that inserts it,
+     * after {@link #lock}.
+     */
+    public void addEdge(String fromGav, String toGav) {
+        jdbcTemplate.update(ADD_EDGE, fromGav, fromGav, toGav, toGav);
+    }
+
+    /**
+     * Recompute the whole table by replaying every distinct edge. Returns the
+     * number of edges replayed.
+     */
+    public int rebuild() {
+        lock();
+        jdbcTemplate.update("DELETE FROM dependency_closure");
+        List<Map<String, Object>> pairs = jdbcTemplate.queryForList(
+                "SELECT from_gav, to_gav FROM dependencyedge GROUP BY from_gav, to_gav ORDER BY MIN(id)");
+        for (Map<String, Object> pair : pairs) {
+            addEdge((String) pair.get("from_gav"), (String) pair.get("to_gav"));
+        }
+        return pairs.size();
+    }
+}
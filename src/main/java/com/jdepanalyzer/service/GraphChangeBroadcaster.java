@@ -0,0 +1,24 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.model.Artifact;
+import com.jdepanalyzer.model.DependencyEdge;
+
+import java.util.List;
+
+/**
+ * Tells other instances sharing the database about a graph change.
+ *
+ * Called by {@link GraphVersionService#recordChange} inside the writing
+ * transaction, so an implementation that writes through the same connection
+ * is only seen by others if the transaction commits.
+ */
+public interface GraphChangeBroadcaster {
+
+    void broadcast(List<Artifact> addedArtifacts, List<DependencyEdge> addedEdges);
+
+    /**
+     * Announce a change no delta describes, such as deleted rows; other
+     * instances reload.
+     */
+    void broadcastReload();
+}
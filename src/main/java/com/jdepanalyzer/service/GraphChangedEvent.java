@@ -0,0 +1,21 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.model.Artifact;
+import com.jdepanalyzer.model.DependencyEdge;
+
+import java.util.List;
+
+/**
+ * Published after a committed change moves the graph from {@code fromVersion}
+ * to {@code toVersion}. Carries the rows that were inserted so in-memory
+ * indexes can apply the delta instead of reloading everything.
+ *
+ * An index built at {@code fromVersion} may apply the delta; any other index
+ * must treat itself as stale and rebuild from the database.
+ */
+public record GraphChangedEvent(
+        long fromVersion,
+        long toVersion,
+        List<Artifact> addedArtifacts,
+        List<DependencyEdge> addedEdges) {
+}
@@ -0,0 +1,464 @@
+package com.jdepanalyzer.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Immutable, int-indexed snapshot of the atomic dependency graph in compressed
+ * sparse row (CSR) form.
+ *
+ * Nodes are GAV strings numbered {@code 0..nodeCount-1}. Outgoing edges of node
+ * {@code v} occupy positions {@code outBegin(v)..outEnd(v)-1} and incoming edges
+ * {@code inBegin(v)..inEnd(v)-1}; each edge carries a small scope code and an
+ * optional flag. Outgoing edges keep declaration (edge id) order.
+ *
+ * Everything lives in one little-endian buffer, so the same layout serves a
+ * heap-built index and a memory-mapped snapshot file ({@link GraphSnapshotStore})
+ * without any decoding step. GAVs are decoded on access and looked up by binary
+ * search over their UTF-8 bytes.
+ *
+ * <pre>
+ * magic "JGI2"
+ * int32 nodeCount, edgeCount, scopeCount, nameBytes, scopeBytes
+ * int64 maxEdgeId            highest dependencyedge id included
+ * int32[nodeCount + 1]       name offsets into the name bytes
+ * int32[nodeCount]           node ids sorted by name (unsigned UTF-8 order)
+ * int32[nodeCount + 1]       out offsets
+ * int32[edgeCount]           out targets
+ * int32[nodeCount + 1]       in offsets
+ * int32[edgeCount]           in sources
+ * int8[edgeCount]            out scope codes
+ * int8[edgeCount]            out optional (0/1)
+ * int8[edgeCount]            in scope codes
+ * int8[edgeCount]            in optional (0/1)
+ * int8[nameBytes]            UTF-8 GAVs, concatenated
+ * int8[scopeBytes]           UTF-8 scope names joined by '\n'
+ * </pre>
+ *
+ * Instances are never mutated after construction and are safe to share
+ * between threads.
+ */
+public final class GraphIndex {
+
+    static final int MAGIC = 0x3249474A; // "JGI2" read as little-endian int32
+    private static final int HEADER_BYTES = 6 * 4 + 8;
+
+    private final long version;
+    private final ByteBuffer data;
+    private final int nodeCount;
+    private final int edgeCount;
+    private final long maxEdgeId;
+    private final String[] scopeNames;
+
+    private final IntBuffer nameOffsets;
+    private final IntBuffer sortedIds;
+    private final ByteBuffer names;
+
+    private final IntBuffer outOffsets;
+    private final IntBuffer outTargets;
+    private final ByteBuffer outScopes;
+    private final ByteBuffer outOptional;
+
+    private final IntBuffer inOffsets;
+    private final IntBuffer inSources;
+    private final ByteBuffer inScopes;
+    private final ByteBuffer inOptional;
+
+    private GraphIndex(long version, ByteBuffer data) {
+        this.version = version;
+        this.data = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer header = this.data;
+        if (data.capacity() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a graph index");
+        }
+        int n = header.getInt(4);
+        int m = header.getInt(8);
+        int scopeCount = header.getInt(12);
+        int nameBytes = header.getInt(16);
+        int scopeBytes = header.getInt(20);
+        this.nodeCount = n;
+        this.edgeCount = m;
+        this.maxEdgeId = header.getLong(24);
+        if (data.capacity() != size(n, m, nameBytes, scopeBytes)) {
+            throw new IllegalArgumentException("Truncated graph index");
+        }
+
+        int pos = HEADER_BYTES;
+        this.nameOffsets = ints(pos, n + 1);
+        pos += (n + 1) * 4;
+        this.sortedIds = ints(pos, n);
+        pos += n * 4;
+        this.outOffsets = ints(pos, n + 1);
+        pos += (n + 1) * 4;
+        this.outTargets = ints(pos, m);
+        pos += m * 4;
+        this.inOffsets = ints(pos, n + 1);
+        pos += (n + 1) * 4;
+        this.inSources = ints(pos, m);
+        pos += m * 4;
+        this.outScopes = this.data.slice(pos, m);
+        pos += m;
+        this.outOptional = this.data.slice(pos, m);
+        pos += m;
+        this.inScopes = this.data.slice(pos, m);
+        pos += m;
+        this.inOptional = this.data.slice(pos, m);
+        pos += m;
+        this.names = this.data.slice(pos, nameBytes);
+        pos += nameBytes;
+
+        byte[] scopes = new byte[scopeBytes];
+        this.data.get(pos, scopes);
+        this.scopeNames = scopeCount == 0 ? new String[0]
+                : new String(scopes, StandardCharsets.UTF_8).split("\n", -1);
+    }
+
+    /**
+     * Index over an encoded buffer (heap or memory-mapped), reported under
+     * {@code version}.
+     *
+     * @throws IllegalArgumentException if the buffer is not a complete index
+     */
+    public static GraphIndex wrap(ByteBuffer data, long version) {
+        return new GraphIndex(version, data);
+    }
+
+    /**
+     * The same graph under another version number; shares the buffer.
+     */
+    public GraphIndex withVersion(long newVersion) {
+        return new GraphIndex(newVersion, data);
+    }
+
+    /**
+     * The encoded index, positioned at 0, for writing to a snapshot file.
+     */
+    public ByteBuffer encoded() {
+        return data.asReadOnlyBuffer().clear();
+    }
+
+    private IntBuffer ints(int offset, int count) {
+        return data.slice(offset, count * 4).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static long size(int n, long m, int nameBytes, int scopeBytes) {
+        return HEADER_BYTES + (3L * (n + 1) + n) * 4 + m * (2 * 4 + 4) + nameBytes + scopeBytes;
+    }
+
+    /**
+     * Graph version this snapshot was built from.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Highest {@code dependencyedge} id in this index; edges above it are
+     * newer than the index.
+     */
+    public long maxEdgeId() {
+        return maxEdgeId;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Node id of a GAV, or -1 if the GAV is not in the graph.
+     */
+    public int id(String gav) {
+        byte[] key = gav.getBytes(StandardCharsets.UTF_8);
+        int lo = 0;
+        int hi = nodeCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int node = sortedIds.get(mid);
+            int cmp = compareName(node, key);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return node;
+            }
+        }
+        return -1;
+    }
+
+    private int compareName(int node, byte[] key) {
+        int begin = nameOffsets.get(node);
+        int length = nameOffsets.get(node + 1) - begin;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(names.get(begin + i) & 0xff, key[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    public String gav(int id) {
+        int begin = nameOffsets.get(id);
+        byte[] bytes = new byte[nameOffsets.get(id + 1) - begin];
+        names.get(begin, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public int outBegin(int node) {
+        return outOffsets.get(node);
+    }
+
+    public int outEnd(int node) {
+        return outOffsets.get(node + 1);
+    }
+
+    public int outTarget(int edge) {
+        return outTargets.get(edge);
+    }
+
+    public int outScope(int edge) {
+        return outScopes.get(edge);
+    }
+
+    public boolean outOptional(int edge) {
+        return outOptional.get(edge) != 0;
+    }
+
+    public int inBegin(int node) {
+        return inOffsets.get(node);
+    }
+
+    public int inEnd(int node) {
+        return inOffsets.get(node + 1);
+    }
+
+    public int inSource(int edge) {
+        return inSources.get(edge);
+    }
+
+    public int inScope(int edge) {
+        return inScopes.get(edge);
+    }
+
+    public boolean inOptional(int edge) {
+        return inOptional.get(edge) != 0;
+    }
+
+    public int outDegree(int node) {
+        return outOffsets.get(node + 1) - outOffsets.get(node);
+    }
+
+    public int inDegree(int node) {
+        return inOffsets.get(node + 1) - inOffsets.get(node);
+    }
+
+    public String scopeName(int code) {
+        return scopeNames[code];
+    }
+
+    /**
+     * Bit mask of the scope codes for the given scope names; all bits set when
+     * {@code scopes} is null or empty. Unknown scope names match nothing.
+     */
+    public long scopeMask(Collection<String> scopes) {
+        if (scopes == null || scopes.isEmpty()) {
+            return -1L;
+        }
+        long mask = 0;
+        for (int code = 0; code < scopeNames.length; code++) {
+            if (scopes.contains(scopeNames[code])) {
+                mask |= 1L << code;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Accumulates nodes and edges, then freezes them into a {@link GraphIndex}.
+     */
+    public static class Builder {
+
+        private final long version;
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> nodes = new ArrayList<>();
+        private final Map<String, Integer> scopeCodes = new LinkedHashMap<>();
+        private int[] from = new int[1024];
+        private int[] to = new int[1024];
+        private byte[] scope = new byte[1024];
+        private boolean[] optional = new boolean[1024];
+        private int edgeCount;
+        private long maxEdgeId;
+
+        public Builder(long version) {
+            this.version = version;
+        }
+
+        /**
+         * A builder holding every node and edge of {@code base}, with the same
+         * node ids, to which newer edges can be appended.
+         */
+        public static Builder from(GraphIndex base, long version) {
+            Builder builder = new Builder(version);
+            for (int v = 0; v < base.nodeCount(); v++) {
+                builder.addNode(base.gav(v));
+            }
+            for (String name : base.scopeNames) {
+                builder.scopeCode(name);
+            }
+            for (int v = 0; v < base.nodeCount(); v++) {
+                for (int e = base.outBegin(v); e < base.outEnd(v); e++) {
+                    builder.addEdge(v, base.outTarget(e), (byte) base.outScope(e), base.outOptional(e));
+                }
+            }
+            builder.maxEdgeId = base.maxEdgeId();
+            return builder;
+        }
+
+        public int addNode(String gav) {
+            Integer id = ids.get(gav);
+            if (id != null) {
+                return id;
+            }
+            ids.put(gav, nodes.size());
+            nodes.add(gav);
+            return nodes.size() - 1;
+        }
+
+        public Builder addEdge(String fromGav, String toGav, String scopeName, Boolean isOptional) {
+            int source = addNode(fromGav);
+            int target = addNode(toGav);
+            addEdge(source, target, scopeCode(scopeName != null ? scopeName : "compile"),
+                    isOptional != null && isOptional);
+            return this;
+        }
+
+        /**
+         * Record the {@code dependencyedge} id of an added edge, so newer edges
+         * can be found later.
+         */
+        public Builder edgeId(long id) {
+            maxEdgeId = Math.max(maxEdgeId, id);
+            return this;
+        }
+
+        private byte scopeCode(String name) {
+            Integer code = scopeCodes.get(name);
+            if (code == null) {
+                if (scopeCodes.size() >= Long.SIZE) {
+                    throw new IllegalStateException("Too many distinct scopes: " + scopeCodes.keySet());
+                }
+                code = scopeCodes.size();
+                scopeCodes.put(name, code);
+            }
+            return code.byteValue();
+        }
+
+        private void addEdge(int source, int target, byte code, boolean isOptional) {
+            if (edgeCount == from.length) {
+                int capacity = edgeCount * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                scope = Arrays.copyOf(scope, capacity);
+                optional = Arrays.copyOf(optional, capacity);
+            }
+            from[edgeCount] = source;
+            to[edgeCount] = target;
+            scope[edgeCount] = code;
+            optional[edgeCount] = isOptional;
+            edgeCount++;
+        }
+
+        public GraphIndex build() {
+            int n = nodes.size();
+            int m = edgeCount;
+
+            // Counting sort of edges by source (stable, so declaration order is kept) and by target
+            int[] outOffsets = new int[n + 1];
+            int[] inOffsets = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                outOffsets[from[e] + 1]++;
+                inOffsets[to[e] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                outOffsets[v + 1] += outOffsets[v];
+                inOffsets[v + 1] += inOffsets[v];
+            }
+
+            int[] outTargets = new int[m];
+            byte[] outScopes = new byte[m];
+            byte[] outOptional = new byte[m];
+            int[] inSources = new int[m];
+            byte[] inScopes = new byte[m];
+            byte[] inOptional = new byte[m];
+            int[] outCursor = Arrays.copyOf(outOffsets, n);
+            int[] inCursor = Arrays.copyOf(inOffsets, n);
+            for (int e = 0; e < m; e++) {
+                int o = outCursor[from[e]]++;
+                outTargets[o] = to[e];
+                outScopes[o] = scope[e];
+                outOptional[o] = (byte) (optional[e] ? 1 : 0);
+                int i = inCursor[to[e]]++;
+                inSources[i] = from[e];
+                inScopes[i] = scope[e];
+                inOptional[i] = outOptional[o];
+            }
+
+            byte[][] encodedNames = new byte[n][];
+            int[] nameOffsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                encodedNames[v] = nodes.get(v).getBytes(StandardCharsets.UTF_8);
+                nameOffsets[v + 1] = nameOffsets[v] + encodedNames[v].length;
+            }
+            Integer[] order = new Integer[n];
+            for (int v = 0; v < n; v++) {
+                order[v] = v;
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(encodedNames[a], encodedNames[b]));
+            byte[] scopeTable = String.join("\n", scopeCodes.keySet()).getBytes(StandardCharsets.UTF_8);
+
+            long size = size(n, m, nameOffsets[n], scopeTable.length);
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Graph too large for one index buffer: " + size + " bytes");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC);
+            buffer.putInt(n);
+            buffer.putInt(m);
+            buffer.putInt(scopeCodes.size());
+            buffer.putInt(nameOffsets[n]);
+            buffer.putInt(scopeTable.length);
+            buffer.putLong(maxEdgeId);
+            putInts(buffer, nameOffsets);
+            for (Integer v : order) {
+                buffer.putInt(v);
+            }
+            putInts(buffer, outOffsets);
+            putInts(buffer, outTargets);
+            putInts(buffer, inOffsets);
+            putInts(buffer, inSources);
+            buffer.put(outScopes);
+            buffer.put(outOptional);
+            buffer.put(inScopes);
+            buffer.put(inOptional);
+            for (byte[] name : encodedNames) {
+                buffer.put(name);
+            }
+            buffer.put(scopeTable);
+            return new GraphIndex(version, buffer.clear());
+        }
+
+        private static void putInts(ByteBuffer buffer, int[] values) {
+            buffer.asIntBuffer().put(values);
+            buffer.position(buffer.position() + values.length * 4);
+        }
+    }
+}
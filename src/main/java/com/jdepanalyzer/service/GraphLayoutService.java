@@ -0,0 +1,313 @@
+package com.jdepanalyzer.service;
+
+import org.jgrapht.Graph;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Server-side layered (Sugiyama-style) layout, so large graphs can be drawn by
+ * the client with Cytoscape's {@code preset} layout instead of running a
+ * layout in the browser.
+ *
+ * Each weakly connected component is laid out on its own: cycles are broken
+ * by ignoring DFS back edges, nodes are assigned to layers by longest path
+ * from the sources, and the order within each layer is refined with
+ * alternating barycenter sweeps. Layers run left to right, like the client's
+ * dagre {@code rankDir: LR}. Components are laid out in parallel and packed
+ * into rows, largest first. Within one component, layering is sequential;
+ * only the barycenter passes over wide layers run in parallel.
+ *
+ * Positions are cached per graph version and view key; entries of older
+ * versions are dropped as soon as a newer version is seen.
+ */
+@Service
+public class GraphLayoutService {
+
+    static final double RANK_SEP = 220;
+    static final double NODE_SEP = 60;
+    static final double COMPONENT_GAP = 120;
+
+    private static final int SWEEPS = 8;
+    private static final int PARALLEL_THRESHOLD = 2_000;
+    private static final int MAX_CACHED_VIEWS = 256;
+
+    private final Map<String, Map<String, Point>> cache = new ConcurrentHashMap<>();
+    private volatile long cachedVersion = -1;
+
+    /**
+     * Positions of the visible nodes of {@code graph}, computed at most once per
+     * {@code version} and {@code viewKey}.
+     *
+     * @param visibleNodes if not null, only these nodes (and edges between them) are laid out
+     */
+    public Map<String, Point> positions(long version, String viewKey, Graph<String, ?> graph,
+            Set<String> visibleNodes) {
+        if (cachedVersion != version) {
+            cachedVersion = version;
+            cache.keySet().removeIf(k -> !k.startsWith(version + "|"));
+        }
+        if (cache.size() >= MAX_CACHED_VIEWS) {
+            cache.clear();
+        }
+        return cache.computeIfAbsent(version + "|" + viewKey, k -> layout(graph, visibleNodes));
+    }
+
+    /**
+     * Compute a layered layout of the visible part of {@code graph}.
+     */
+    public <E> Map<String, Point> layout(Graph<String, E> graph, Set<String> visibleNodes) {
+        // Local int ids in vertex order, so the result is deterministic
+        List<String> nodes = new ArrayList<>();
+        Map<String, Integer> ids = new HashMap<>();
+        for (String v : graph.vertexSet()) {
+            if (visibleNodes == null || visibleNodes.contains(v)) {
+                ids.put(v, nodes.size());
+                nodes.add(v);
+            }
+        }
+        int n = nodes.size();
+
+        List<List<Integer>> out = new ArrayList<>(n);
+        List<List<Integer>> in = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            out.add(new ArrayList<>());
+            in.add(new ArrayList<>());
+        }
+        int[] parent = IntStream.range(0, n).toArray();
+        for (E edge : graph.edgeSet()) {
+            Integer s = ids.get(graph.getEdgeSource(edge));
+            Integer t = ids.get(graph.getEdgeTarget(edge));
+            if (s == null || t == null || s.equals(t)) {
+                continue;
+            }
+            out.get(s).add(t);
+            in.get(t).add(s);
+            union(parent, s, t);
+        }
+
+        // Weakly connected components, each listed in vertex order
+        Map<Integer, List<Integer>> byRoot = new LinkedHashMap<>();
+        for (int v = 0; v < n; v++) {
+            byRoot.computeIfAbsent(find(parent, v), r -> new ArrayList<>()).add(v);
+        }
+        List<List<Integer>> components = new ArrayList<>(byRoot.values());
+
+        var stream = n >= PARALLEL_THRESHOLD ? components.parallelStream() : components.stream();
+        List<ComponentLayout> laidOut = stream
+                .map(c -> layoutComponent(c, out, in))
+                .collect(Collectors.toList());
+
+        return pack(laidOut, nodes);
+    }
+
+    /**
+     * Layering, ordering and coordinates for one connected component.
+     * Coordinates are relative to the component's top-left corner.
+     */
+    private ComponentLayout layoutComponent(List<Integer> members, List<List<Integer>> out,
+            List<List<Integer>> in) {
+        int size = members.size();
+        Map<Integer, Integer> local = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            local.put(members.get(i), i);
+        }
+
+        // Forward edges only: DFS back edges are dropped so the rest is acyclic
+        List<List<Integer>> succ = new ArrayList<>(size);
+        List<List<Integer>> pred = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            succ.add(new ArrayList<>());
+            pred.add(new ArrayList<>());
+        }
+        byte[] state = new byte[size]; // 0 = unvisited, 1 = on stack, 2 = done
+        int[] stack = new int[size];
+        int[] cursor = new int[size];
+        for (int start = 0; start < size; start++) {
+            if (state[start] != 0) {
+                continue;
+            }
+            int top = 0;
+            stack[0] = start;
+            state[start] = 1;
+            while (top >= 0) {
+                int u = stack[top];
+                List<Integer> targets = out.get(members.get(u));
+                if (cursor[u] < targets.size()) {
+                    int w = local.get(targets.get(cursor[u]++));
+                    if (state[w] == 1) {
+                        continue;
+                    }
+                    succ.get(u).add(w);
+                    pred.get(w).add(u);
+                    if (state[w] == 0) {
+                        state[w] = 1;
+                        stack[++top] = w;
+                    }
+                } else {
+                    state[u] = 2;
+                    top--;
+                }
+            }
+        }
+
+        // Longest-path layering over a topological order (Kahn)
+        int[] layer = new int[size];
+        int[] remaining = new int[size];
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        for (int v = 0; v < size; v++) {
+            remaining[v] = pred.get(v).size();
+            if (remaining[v] == 0) {
+                ready.add(v);
+            }
+        }
+        int layerCount = 1;
+        while (!ready.isEmpty()) {
+            int u = ready.poll();
+            for (int w : succ.get(u)) {
+                layer[w] = Math.max(layer[w], layer[u] + 1);
+                if (--remaining[w] == 0) {
+                    ready.add(w);
+                }
+            }
+            layerCount = Math.max(layerCount, layer[u] + 1);
+        }
+
+        List<List<Integer>> layers = new ArrayList<>(layerCount);
+        for (int l = 0; l < layerCount; l++) {
+            layers.add(new ArrayList<>());
+        }
+        for (int v = 0; v < size; v++) {
+            layers.get(layer[v]).add(v);
+        }
+
+        // Barycenter sweeps: downwards against predecessors, upwards against successors
+        double[] position = new double[size];
+        for (List<Integer> l : layers) {
+            for (int i = 0; i < l.size(); i++) {
+                position[l.get(i)] = i;
+            }
+        }
+        // Sort keys by node; each pass only writes the entries of its layer's members
+        double[] key = new double[size];
+        Comparator<Integer> byKey = Comparator.comparingDouble(v -> key[v]);
+        for (int sweep = 0; sweep < SWEEPS; sweep++) {
+            boolean down = sweep % 2 == 0;
+            for (int k = 0; k < layerCount; k++) {
+                List<Integer> l = layers.get(down ? k : layerCount - 1 - k);
+                List<List<Integer>> neighbours = down ? pred : succ;
+                if (l.size() >= PARALLEL_THRESHOLD) {
+                    // A wide layer of one big component: spread its pass over the common pool
+                    IntStream.range(0, l.size()).parallel()
+                            .forEach(i -> key[l.get(i)] = barycenter(l.get(i), neighbours, position));
+                    Integer[] sorted = l.toArray(new Integer[0]);
+                    Arrays.parallelSort(sorted, byKey);
+                    l.clear();
+                    l.addAll(Arrays.asList(sorted));
+                } else {
+                    for (int v : l) {
+                        key[v] = barycenter(v, neighbours, position);
+                    }
+                    l.sort(byKey);
+                }
+                for (int i = 0; i < l.size(); i++) {
+                    position[l.get(i)] = i;
+                }
+            }
+        }
+
+        int widest = 0;
+        for (List<Integer> l : layers) {
+            widest = Math.max(widest, l.size());
+        }
+        double height = (widest - 1) * NODE_SEP;
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for (int l = 0; l < layerCount; l++) {
+            List<Integer> nodesInLayer = layers.get(l);
+            double offset = (height - (nodesInLayer.size() - 1) * NODE_SEP) / 2;
+            for (int i = 0; i < nodesInLayer.size(); i++) {
+                int v = nodesInLayer.get(i);
+                x[v] = l * RANK_SEP;
+                y[v] = offset + i * NODE_SEP;
+            }
+        }
+        return new ComponentLayout(members, x, y, (layerCount - 1) * RANK_SEP, height);
+    }
+
+    /**
+     * Mean position of {@code v}'s neighbours in the adjacent layer, or its own
+     * position when it has none there.
+     */
+    private static double barycenter(int v, List<List<Integer>> neighbours, double[] position) {
+        List<Integer> adj = neighbours.get(v);
+        if (adj.isEmpty()) {
+            return position[v];
+        }
+        double sum = 0;
+        for (int w : adj) {
+            sum += position[w];
+        }
+        return sum / adj.size();
+    }
+
+    /**
+     * Shelf-pack components into rows, largest first, keeping the overall
+     * drawing roughly square.
+     */
+    private Map<String, Point> pack(List<ComponentLayout> components, List<String> nodes) {
+        List<ComponentLayout> ordered = new ArrayList<>(components);
+        ordered.sort(Comparator.comparingInt((ComponentLayout c) -> c.members().size()).reversed());
+
+        double area = 0;
+        double widest = 0;
+        for (ComponentLayout c : ordered) {
+            area += (c.width() + COMPONENT_GAP) * (c.height() + COMPONENT_GAP);
+            widest = Math.max(widest, c.width());
+        }
+        double rowLimit = Math.max(widest, Math.sqrt(area));
+
+        Map<String, Point> positions = new LinkedHashMap<>(nodes.size() * 2);
+        double cursorX = 0;
+        double cursorY = 0;
+        double rowHeight = 0;
+        for (ComponentLayout c : ordered) {
+            if (cursorX > 0 && cursorX + c.width() > rowLimit) {
+                cursorX = 0;
+                cursorY += rowHeight + COMPONENT_GAP;
+                rowHeight = 0;
+            }
+            for (int i = 0; i < c.members().size(); i++) {
+                positions.put(nodes.get(c.members().get(i)), new Point(cursorX + c.x()[i], cursorY + c.y()[i]));
+            }
+            cursorX += c.width() + COMPONENT_GAP;
+            rowHeight = Math.max(rowHeight, c.height());
+        }
+        return positions;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra != rb) {
+            parent[Math.max(ra, rb)] = Math.min(ra, rb);
+        }
+    }
+
+    public record Point(double x, double y) {
+    }
+
+    private record ComponentLayout(List<Integer> members, double[] x, double[] y, double width, double height) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.jdepanalyzer.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size-bounded LRU cache of serialized query responses.
+ *
+ * Keys are built from the graph version plus the normalized query
+ * parameters, so a new graph version makes every older entry unreachable;
+ * those entries are purged as soon as the first entry of a newer version is
+ * stored. Each entry carries a strong ETag derived from its bytes.
+ *
+ * Entries also keep a gzip copy, compressed once on first request, with its
+ * own strong ETag. The servlet container will not compress responses that
+ * carry a strong ETag, so cached responses are compressed here instead. The
+ * gzip copies are not counted against the byte budget.
+ */
+@Service
+public class GraphQueryCache {
+
+    private final long maxBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+    private long newestVersion;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public GraphQueryCache(@Value("${jdep.cache.graph-data.max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Return the cached entry for {@code key} at {@code version}, computing and
+     * storing it on a miss. Entries larger than a quarter of the budget are
+     * returned but not stored.
+     */
+    public Entry get(long version, String key, Supplier<byte[]> loader) {
+        String fullKey = version + "|" + key;
+        synchronized (this) {
+            Entry cached = entries.get(fullKey);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+
+        byte[] body = loader.get();
+        Entry entry = new Entry(body, version + "-" + DigestUtils.md5DigestAsHex(body));
+
+        if (body.length <= maxBytes / 4) {
+            synchronized (this) {
+                if (version > newestVersion) {
+                    newestVersion = version;
+                    purgeOlderThan(version);
+                }
+                if (version == newestVersion && !entries.containsKey(fullKey)) {
+                    entries.put(fullKey, entry);
+                    totalBytes += body.length;
+                    evictToBudget();
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Whether {@code key} at {@code version} is cached, without counting a
+     * lookup or touching the LRU order.
+     */
+    public synchronized boolean contains(long version, String key) {
+        return entries.containsKey(version + "|" + key);
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+    private void purgeOlderThan(long version) {
+        String prefix = version + "|";
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> e = it.next();
+            if (!e.getKey().startsWith(prefix)) {
+                totalBytes -= e.getValue().body().length;
+                it.remove();
+            }
+        }
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            totalBytes -= it.next().getValue().body().length;
+            it.remove();
+        }
+    }
+
+    /**
+     * A cached response body with its ETag, plus a lazily built gzip variant.
+     */
+    public static final class Entry {
+
+        private final byte[] body;
+        private final String tag;
+        private volatile byte[] gzipBody;
+
+        Entry(byte[] body, String tag) {
+            this.body = body;
+            this.tag = tag;
+        }
+
+        public byte[] body() {
+            return body;
+        }
+
+        public String etag() {
+            return "\"" + tag + "\"";
+        }
+
+        /**
+         * The body gzip-compressed; computed on first use and kept with the entry.
+         */
+        public byte[] gzipBody() {
+            byte[] compressed = gzipBody;
+            if (compressed == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(body);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                compressed = out.toByteArray();
+                gzipBody = compressed;
+            }
+            return compressed;
+        }
+
+        public String gzipEtag() {
+            return "\"" + tag + "-gz\"";
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.jdepanalyzer.service;
 
 import com.jdepanalyzer.dto.GAV;
+import com.jdepanalyzer.jfr.GraphAggregateEvent;
+import com.jdepanalyzer.jfr.GraphLoadEvent;
+import com.jdepanalyzer.jfr.GraphSerializeEvent;
+import com.jdepanalyzer.jfr.GraphTraversalEvent;
 import com.jdepanalyzer.model.Artifact;
 import com.jdepanalyzer.model.DependencyEdge;
 import com.jdepanalyzer.repository.ArtifactRepository;
 import com.jdepanalyzer.repository.DependencyEdgeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 /**
  * Service for graph operations using JGraphT.
@@ -22,16 +31,82 @@ public class GraphService {
     private final ArtifactRepository artifactRepository;
     private final DependencyEdgeRepository edgeRepository;
 
-    public GraphService(ArtifactRepository artifactRepository, DependencyEdgeRepository edgeRepository) {
+    private final Timer loadTimer;
+    private final Timer aggregateTimer;
+    private final Timer depthTimer;
+    private final Timer elementsTimer;
+
+    public GraphService(ArtifactRepository artifactRepository, DependencyEdgeRepository edgeRepository,
+            MeterRegistry meterRegistry) {
         this.artifactRepository = artifactRepository;
         this.edgeRepository = edgeRepository;
+        this.loadTimer = stageTimer(meterRegistry, "load");
+        this.aggregateTimer = stageTimer(meterRegistry, "aggregate");
+        this.depthTimer = stageTimer(meterRegistry, "depth");
+        this.elementsTimer = stageTimer(meterRegistry, "elements");
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("jdep.graph.stage")
+                .description("Time spent in one stage of building a graph view")
+                .tag("stage", stage)
+                .register(meterRegistry);
     }
 
     /**
      * Load the atomic dependency graph from the database.
      * Atomic means: every node is a full group:artifact:version.
+     * Edges are added in id order, so each node's outgoing edges keep the
+     * order in which they were declared in its POM.
+     * Artifacts and edges are read in one read-only transaction.
      */
+    @Transactional(readOnly = true)
     public Graph<String, EdgeData> loadAtomicGraph(Set<String> scopes) {
+        return recordLoad(scopes, () -> loadAtomicGraphUntimed(scopes));
+    }
+
+    /**
+     * Build the atomic dependency graph from the resident {@link GraphIndex}
+     * instead of the database: every node, plus the edges in {@code scopes}
+     * (all if null or empty), grouped by source in edge id order.
+     */
+    public Graph<String, EdgeData> loadAtomicGraph(GraphIndex index, Set<String> scopes) {
+        return recordLoad(scopes, () -> {
+            Graph<String, EdgeData> graph = new DefaultDirectedGraph<>(EdgeData.class);
+            String[] gavs = new String[index.nodeCount()];
+            for (int v = 0; v < gavs.length; v++) {
+                gavs[v] = index.gav(v);
+                graph.addVertex(gavs[v]);
+            }
+            long mask = index.scopeMask(scopes);
+            for (int v = 0; v < gavs.length; v++) {
+                for (int e = index.outBegin(v); e < index.outEnd(v); e++) {
+                    if ((mask & (1L << index.outScope(e))) != 0) {
+                        graph.addEdge(gavs[v], gavs[index.outTarget(e)],
+                                new EdgeData(index.scopeName(index.outScope(e)), index.outOptional(e)));
+                    }
+                }
+            }
+            return graph;
+        });
+    }
+
+    private Graph<String, EdgeData> recordLoad(Set<String> scopes,
+            Supplier<Graph<String, EdgeData>> load) {
+        GraphLoadEvent event = new GraphLoadEvent();
+        event.begin();
+        Graph<String, EdgeData> graph = loadTimer.record(load);
+        event.end();
+        if (event.shouldCommit()) {
+            event.scopes = scopes != null ? String.join(",", new TreeSet<>(scopes)) : "";
+            event.nodes = graph.vertexSet().size();
+            event.edges = graph.edgeSet().size();
+            event.commit();
+        }
+        return graph;
+    }
+
+    private Graph<String, EdgeData> loadAtomicGraphUntimed(Set<String> scopes) {
         Graph<String, EdgeData> graph = new DefaultDirectedGraph<>(EdgeData.class);
 
         // Add all artifacts as nodes
@@ -42,9 +117,9 @@ public class GraphService {
         // Add all edges
         List<DependencyEdge> edges;
         if (scopes != null && !scopes.isEmpty()) {
-            edges = edgeRepository.findByScopeIn(new ArrayList<>(scopes));
+            edges = edgeRepository.findByScopeIn(new ArrayList<>(scopes), Sort.by("id"));
         } else {
-            edges = edgeRepository.findAll();
+            edges = edgeRepository.findAll(Sort.by("id"));
         }
 
         for (DependencyEdge edge : edges) {
@@ -62,6 +137,25 @@ public class GraphService {
      */
     public Graph<String, AggregatedEdgeData> aggregateGraph(
             Graph<String, EdgeData> atomic, boolean showGroup, boolean showVersion) {
+        GraphAggregateEvent event = new GraphAggregateEvent();
+        event.begin();
+        Graph<String, AggregatedEdgeData> out = aggregateTimer.record(
+                () -> aggregateGraphUntimed(atomic, showGroup, showVersion));
+        event.end();
+        if (event.shouldCommit()) {
+            event.showGroup = showGroup;
+            event.showVersion = showVersion;
+            event.inputNodes = atomic.vertexSet().size();
+            event.inputEdges = atomic.edgeSet().size();
+            event.outputNodes = out.vertexSet().size();
+            event.outputEdges = out.edgeSet().size();
+            event.commit();
+        }
+        return out;
+    }
+
+    private Graph<String, AggregatedEdgeData> aggregateGraphUntimed(
+            Graph<String, EdgeData> atomic, boolean showGroup, boolean showVersion) {
 
         Graph<String, AggregatedEdgeData> out = new DefaultDirectedGraph<>(AggregatedEdgeData.class);
         Map<String, Integer> mergedCount = new HashMap<>();
@@ -118,6 +212,23 @@ public class GraphService {
      */
     public Set<String> nodesWithinDepth(
             Graph<String, ?> graph, String root, String direction, Integer depth) {
+        GraphTraversalEvent event = new GraphTraversalEvent();
+        event.begin();
+        Set<String> nodes = depthTimer.record(() -> nodesWithinDepthUntimed(graph, root, direction, depth));
+        event.end();
+        if (event.shouldCommit()) {
+            event.root = root;
+            event.direction = direction;
+            event.depth = depth != null ? depth : -1;
+            event.graphNodes = graph.vertexSet().size();
+            event.visitedNodes = nodes.size();
+            event.commit();
+        }
+        return nodes;
+    }
+
+    private Set<String> nodesWithinDepthUntimed(
+            Graph<String, ?> graph, String root, String direction, Integer depth) {
 
         if (root == null || !graph.containsVertex(root)) {
             return new HashSet<>(graph.vertexSet());
@@ -175,6 +286,25 @@ public class GraphService {
     public List<Map<String, Object>> toCytoscapeElements(
             Graph<String, ?> graph, String rootId, String direction, boolean showVersion,
             Set<String> visibleNodes) {
+        GraphSerializeEvent event = new GraphSerializeEvent();
+        event.begin();
+        List<Map<String, Object>> elements = elementsTimer.record(
+                () -> toCytoscapeElementsUntimed(graph, rootId, direction, showVersion, visibleNodes));
+        event.end();
+        if (event.shouldCommit()) {
+            event.root = rootId;
+            event.direction = direction;
+            event.showVersion = showVersion;
+            event.visibleNodes = visibleNodes != null ? visibleNodes.size() : -1;
+            event.elements = elements.size();
+            event.commit();
+        }
+        return elements;
+    }
+
+    private List<Map<String, Object>> toCytoscapeElementsUntimed(
+            Graph<String, ?> graph, String rootId, String direction, boolean showVersion,
+            Set<String> visibleNodes) {
 
         List<Map<String, Object>> elements = new ArrayList<>();
 
@@ -0,0 +1,107 @@
+package com.jdepanalyzer.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the latest {@link GraphIndex} in a file at {@code jdep.graph.snapshot.path}
+ * so a cold start can memory-map it instead of loading every row.
+ *
+ * The file is the index buffer itself, so opening it is a {@code mmap} and a
+ * header check. Saves run on a background thread and only the newest pending
+ * index is written; each write goes to a temporary file that is then moved
+ * over the snapshot, so readers never see a partial file.
+ *
+ * Disabled when the path is empty.
+ */
+@Service
+public class GraphSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphSnapshotStore.class);
+
+    private final Path path;
+    private final AtomicReference<GraphIndex> pending = new AtomicReference<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "graph-snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GraphSnapshotStore(@Value("${jdep.graph.snapshot.path:}") String path) {
+        this.path = path.isBlank() ? null : Path.of(path);
+    }
+
+    public boolean enabled() {
+        return path != null;
+    }
+
+    /**
+     * Map the snapshot file, or null if there is none or it is unreadable.
+     */
+    public GraphIndex open(long version) {
+        if (path == null || !Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return GraphIndex.wrap(buffer, version);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring graph snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write {@code index} to the snapshot file in the background.
+     */
+    public void save(GraphIndex index) {
+        if (path != null && pending.getAndSet(index) == null) {
+            writer.execute(this::writeLatest);
+        }
+    }
+
+    private void writeLatest() {
+        GraphIndex index = pending.getAndSet(null);
+        if (index == null) {
+            return;
+        }
+        Path temp = null;
+        try {
+            Path dir = path.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            temp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer data = index.encoded();
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote graph snapshot {} ({} nodes, {} edges)", path, index.nodeCount(), index.edgeCount());
+        } catch (IOException e) {
+            log.warn("Failed to write graph snapshot {}: {}", path, e.getMessage());
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException ignored) {
+                // Best effort; the next write uses a new temporary file
+            }
+        }
+    }
+}
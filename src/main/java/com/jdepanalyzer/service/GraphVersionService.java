@@ -0,0 +1,166 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.model.Artifact;
+import com.jdepanalyzer.model.DependencyEdge;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version number of the graph data held in the database.
+ *
+ * Anything cached from {@code artifact}/{@code dependencyedge} rows is valid
+ * for exactly one version. Writers report their inserts through
+ * {@link #recordChange}; the version moves only once the transaction commits,
+ * so a reader never caches uncommitted state under a new version.
+ *
+ * When a {@link GraphChangeBroadcaster} is configured, changes are also
+ * announced to other instances, which feed them back in through
+ * {@link #applyRemoteChange}.
+ */
+@Service
+public class GraphVersionService {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<GraphChangeBroadcaster> broadcaster;
+    private final AtomicLong version = new AtomicLong(1);
+    private final Set<Long> publishing = ConcurrentHashMap.newKeySet(); // fromVersion of events in flight
+    private volatile long invalidatedAt = 1;
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+    private volatile long lastModified = System.currentTimeMillis();
+
+    public GraphVersionService(ApplicationEventPublisher eventPublisher,
+            ObjectProvider<GraphChangeBroadcaster> broadcaster) {
+        this.eventPublisher = eventPublisher;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Current graph version.
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Epoch millis of the last version change.
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * ETag for responses that depend only on the graph version and the request
+     * URL. Includes a per-process id, since versions restart at 1. It is weak
+     * so the servlet container may still gzip the response.
+     */
+    public String etag() {
+        return "W/\"" + instanceId + "-" + version.get() + "\"";
+    }
+
+    /**
+     * Record inserted rows. Bumps the version and publishes a
+     * {@link GraphChangedEvent} after commit (or immediately when no
+     * transaction is active).
+     */
+    public void recordChange(List<Artifact> addedArtifacts, List<DependencyEdge> addedEdges) {
+        if (addedArtifacts.isEmpty() && addedEdges.isEmpty()) {
+            return;
+        }
+        List<Artifact> artifacts = List.copyOf(addedArtifacts);
+        List<DependencyEdge> edges = List.copyOf(addedEdges);
+        broadcaster.ifAvailable(b -> b.broadcast(artifacts, edges));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(artifacts, edges);
+                }
+            });
+        } else {
+            publish(artifacts, edges);
+        }
+    }
+
+    /**
+     * Record deleted rows. A {@link GraphChangedEvent} only carries additions,
+     * so this bumps the version without a delta after commit (or immediately
+     * when no transaction is active), and other instances reload.
+     */
+    public void recordRemoval() {
+        broadcaster.ifAvailable(GraphChangeBroadcaster::broadcastReload);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Apply rows another instance committed. Bumps the version and publishes
+     * a {@link GraphChangedEvent} right away, without broadcasting again.
+     */
+    public void applyRemoteChange(List<Artifact> addedArtifacts, List<DependencyEdge> addedEdges) {
+        publish(List.copyOf(addedArtifacts), List.copyOf(addedEdges));
+    }
+
+    /**
+     * Bump the version without a delta, forcing every index to rebuild.
+     * Used when the database was changed by something other than an upload.
+     */
+    public long invalidate() {
+        long next = bump();
+        invalidatedAt = next;
+        return next;
+    }
+
+    /**
+     * Whether a bare {@link #invalidate()} happened after {@code builtVersion},
+     * so rows may have been removed or rewritten since.
+     */
+    public boolean invalidatedSince(long builtVersion) {
+        return invalidatedAt > builtVersion;
+    }
+
+    /**
+     * Whether the {@link GraphChangedEvent} from {@code builtVersion} to the
+     * next version is still on its way to listeners, with no bare
+     * {@link #invalidate()} since. An index built at {@code builtVersion} can
+     * then keep serving until the delta reaches it, instead of rebuilding.
+     * Once that event has been delivered, an index still at
+     * {@code builtVersion} missed it and must rebuild.
+     */
+    public boolean deltaPending(long builtVersion) {
+        return publishing.contains(builtVersion) && builtVersion >= invalidatedAt;
+    }
+
+    private void publish(List<Artifact> artifacts, List<DependencyEdge> edges) {
+        long to = bump();
+        publishing.add(to - 1);
+        try {
+            eventPublisher.publishEvent(new GraphChangedEvent(to - 1, to, artifacts, edges));
+        } finally {
+            publishing.remove(to - 1);
+        }
+    }
+
+    private long bump() {
+        long next = version.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+        return next;
+    }
+}
@@ -0,0 +1,428 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.dto.GAV;
+
+import java.util.*;
+
+/**
+ * Immutable groupId-prefix hierarchy over the atomic graph, with dependency
+ * edges rolled up to every level.
+ *
+ * The hierarchy is a trie on the dot-separated segments of the groupId
+ * ({@code org} &gt; {@code org.springframework} &gt; {@code org.springframework.boot}),
+ * followed by one node per groupId:artifactId and one leaf per GAV. Chains of
+ * group nodes with a single child group are collapsed, so {@code org} alone is
+ * never shown when everything lives under {@code org.springframework}.
+ *
+ * Edges are rolled up once at build time for every level {@code d}: both ends
+ * of each atomic edge are lifted to their ancestor at depth {@code d} (or kept,
+ * if shallower), and duplicates are summed into a weight. A view, which is any
+ * cut through the trie, starts from the rollup of its deepest node's level,
+ * which refines the cut, and only lifts those pre-aggregated edges the rest of
+ * the way. Shallow views, the common case, therefore touch a few rolled-up
+ * edges rather than every atomic edge. Every level is derived from the one
+ * below it, so building costs the sum of the level sizes.
+ */
+public final class GroupHierarchy {
+
+    public static final String GROUP = "group";
+    public static final String ARTIFACT = "artifact";
+    public static final String VERSION = "version";
+
+    private final long version;
+    private final String[] ids;
+    private final String[] labels;
+    private final String[] kinds;
+    private final int[] parent;
+    private final int[] depth;
+    private final int[][] children;
+    private final int[] leafCount;
+    private final int[] artifactCount;
+    private final int[] roots;
+    private final Map<String, Integer> byId;
+    private final Rollup[] levels; // index = depth
+
+    private GroupHierarchy(long version, String[] ids, String[] labels, String[] kinds, int[] parent,
+            int[] depth, int[][] children, int[] leafCount, int[] artifactCount, int[] roots,
+            Map<String, Integer> byId, Rollup[] levels) {
+        this.version = version;
+        this.ids = ids;
+        this.labels = labels;
+        this.kinds = kinds;
+        this.parent = parent;
+        this.depth = depth;
+        this.children = children;
+        this.leafCount = leafCount;
+        this.artifactCount = artifactCount;
+        this.roots = roots;
+        this.byId = byId;
+        this.levels = levels;
+    }
+
+    /**
+     * Graph version the hierarchy was built from.
+     */
+    public long version() {
+        return version;
+    }
+
+    public int nodeCount() {
+        return ids.length;
+    }
+
+    public boolean contains(String id) {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * The visible nodes and rolled-up edges when the given nodes are expanded.
+     * Expanded ids that are unknown, or hidden under a collapsed ancestor, are ignored.
+     * When more than {@code maxEdges} edges remain, only the heaviest are kept.
+     *
+     * @throws IllegalArgumentException if the view would have more than {@code maxNodes} nodes
+     */
+    public View view(Collection<String> expanded, int maxNodes, int maxEdges) {
+        Set<Integer> open = new HashSet<>();
+        for (String id : expanded) {
+            Integer node = byId.get(id);
+            if (node != null) {
+                open.add(node);
+            }
+        }
+
+        // The frontier: descend from the roots through expanded nodes only
+        List<Integer> frontier = new ArrayList<>();
+        ArrayDeque<Integer> pending = new ArrayDeque<>();
+        for (int root : roots) {
+            pending.add(root);
+        }
+        while (!pending.isEmpty()) {
+            int node = pending.poll();
+            if (open.contains(node) && children[node].length > 0) {
+                for (int child : children[node]) {
+                    pending.add(child);
+                }
+            } else {
+                frontier.add(node);
+            }
+            if (frontier.size() + pending.size() > maxNodes) {
+                throw new IllegalArgumentException("View would exceed " + maxNodes + " nodes; collapse some nodes first");
+            }
+        }
+        frontier.sort(Comparator.comparing(n -> ids[n]));
+
+        // Lift the rollup of the frontier's deepest level to the frontier
+        int[] representative = new int[ids.length];
+        Arrays.fill(representative, -1);
+        int deepest = 0;
+        for (int node : frontier) {
+            representative[node] = node;
+            deepest = Math.max(deepest, depth[node]);
+        }
+        Rollup rollup = levels[deepest];
+        PairCounter lifted = new PairCounter();
+        for (int e = 0; e < rollup.sources.length; e++) {
+            int source = lift(rollup.sources[e], representative);
+            int target = lift(rollup.targets[e], representative);
+            if (source != target) {
+                lifted.add(source, target, rollup.weights[e]);
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>(frontier.size());
+        for (int node : frontier) {
+            nodes.add(new Node(ids[node], labels[node], kinds[node],
+                    parent[node] >= 0 ? ids[parent[node]] : null,
+                    depth[node], artifactCount[node], leafCount[node], children[node].length));
+        }
+        List<Edge> edges = new ArrayList<>(lifted.size());
+        for (int slot = 0; slot < lifted.capacity(); slot++) {
+            long key = lifted.key(slot);
+            if (key != PairCounter.EMPTY) {
+                edges.add(new Edge(ids[(int) (key >>> 32)], ids[(int) key], lifted.count(slot)));
+            }
+        }
+        int totalEdges = edges.size();
+        if (totalEdges > maxEdges) {
+            edges.sort(Comparator.comparingInt(Edge::weight).reversed()
+                    .thenComparing(Edge::source).thenComparing(Edge::target));
+            edges = new ArrayList<>(edges.subList(0, maxEdges));
+        }
+        edges.sort(Comparator.comparing(Edge::source).thenComparing(Edge::target));
+        return new View(nodes, edges, totalEdges);
+    }
+
+    /**
+     * Walk up to the frontier node covering {@code node}, memoizing the answer
+     * for every node passed on the way.
+     */
+    private int lift(int node, int[] representative) {
+        int v = node;
+        while (representative[v] < 0) {
+            v = parent[v];
+        }
+        int rep = representative[v];
+        for (int u = node; representative[u] < 0; u = parent[u]) {
+            representative[u] = rep;
+        }
+        return rep;
+    }
+
+
+    /**
+     * Build the hierarchy from a graph snapshot.
+     */
+    public static GroupHierarchy build(GraphIndex graph) {
+        RawNode root = new RawNode(null, null, null);
+        RawNode[] leafOf = new RawNode[graph.nodeCount()];
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            String gavId = graph.gav(v);
+            GAV gav = GAV.parse(gavId);
+            RawNode group = root;
+            String prefix = null;
+            for (String segment : gav.getGroupId().split("\\.")) {
+                prefix = prefix == null ? segment : prefix + "." + segment;
+                group = group.child(prefix, prefix, GROUP);
+            }
+            String ga = gav.getGroupId() + ":" + gav.getArtifactId();
+            RawNode artifact = group.child(ga, gav.getArtifactId(), ARTIFACT);
+            leafOf[v] = artifact.child(gavId, gav.getVersion(), VERSION);
+        }
+
+        // Number nodes in pre-order, collapsing single-child group chains
+        List<RawNode> order = new ArrayList<>();
+        List<Integer> parents = new ArrayList<>();
+        List<Integer> rootIds = new ArrayList<>();
+        ArrayDeque<Object[]> stack = new ArrayDeque<>();
+        List<RawNode> top = new ArrayList<>(root.children.values());
+        for (int i = top.size() - 1; i >= 0; i--) {
+            stack.push(new Object[] { top.get(i), -1 });
+        }
+        while (!stack.isEmpty()) {
+            Object[] item = stack.pop();
+            RawNode node = collapse((RawNode) item[0]);
+            int parentId = (Integer) item[1];
+            node.number = order.size();
+            order.add(node);
+            parents.add(parentId);
+            if (parentId < 0) {
+                rootIds.add(node.number);
+            }
+            List<RawNode> kids = new ArrayList<>(node.children.values());
+            for (int i = kids.size() - 1; i >= 0; i--) {
+                stack.push(new Object[] { kids.get(i), node.number });
+            }
+        }
+
+        int n = order.size();
+        String[] ids = new String[n];
+        String[] labels = new String[n];
+        String[] kinds = new String[n];
+        int[] parent = new int[n];
+        int[] depth = new int[n];
+        int[][] children = new int[n][];
+        int[] leafCount = new int[n];
+        int[] artifactCount = new int[n];
+        int maxDepth = 0;
+        Map<String, Integer> byId = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            RawNode node = order.get(i);
+            ids[i] = node.id;
+            labels[i] = node.label;
+            kinds[i] = node.kind;
+            parent[i] = parents.get(i);
+            depth[i] = parent[i] >= 0 ? depth[parent[i]] + 1 : 0;
+            maxDepth = Math.max(maxDepth, depth[i]);
+            byId.putIfAbsent(node.id, i);
+            children[i] = new int[node.children.size()];
+            int c = 0;
+            for (RawNode child : node.children.values()) {
+                children[i][c++] = collapse(child).number;
+            }
+        }
+        // Pre-order numbering: children come after their parent, so a reverse pass sums subtrees
+        for (int i = n - 1; i >= 0; i--) {
+            if (children[i].length == 0) {
+                leafCount[i] = 1;
+            }
+            if (ARTIFACT.equals(kinds[i])) {
+                artifactCount[i] = 1;
+            }
+            if (parent[i] >= 0) {
+                leafCount[parent[i]] += leafCount[i];
+                artifactCount[parent[i]] += artifactCount[i];
+            }
+        }
+
+        // Deepest level: the atomic edges between GAV leaves, summed
+        PairCounter atomic = new PairCounter();
+        for (int u = 0; u < graph.nodeCount(); u++) {
+            for (int e = graph.outBegin(u); e < graph.outEnd(u); e++) {
+                int source = leafOf[u].number;
+                int target = leafOf[graph.outTarget(e)].number;
+                if (source != target) {
+                    atomic.add(source, target, 1);
+                }
+            }
+        }
+        Rollup[] levels = new Rollup[maxDepth + 1];
+        levels[maxDepth] = atomic.toRollup();
+        // Each level from the one below: ends at depth d + 1 move up to their parent
+        for (int d = maxDepth - 1; d >= 0; d--) {
+            Rollup below = levels[d + 1];
+            PairCounter counter = new PairCounter();
+            for (int e = 0; e < below.sources.length; e++) {
+                int source = depth[below.sources[e]] > d ? parent[below.sources[e]] : below.sources[e];
+                int target = depth[below.targets[e]] > d ? parent[below.targets[e]] : below.targets[e];
+                if (source != target) {
+                    counter.add(source, target, below.weights[e]);
+                }
+            }
+            levels[d] = counter.toRollup();
+        }
+
+        return new GroupHierarchy(graph.version(), ids, labels, kinds, parent, depth, children, leafCount,
+                artifactCount, rootIds.stream().mapToInt(Integer::intValue).toArray(), Map.copyOf(byId), levels);
+    }
+
+    private static RawNode collapse(RawNode node) {
+        while (GROUP.equals(node.kind) && node.children.size() == 1) {
+            RawNode only = node.children.values().iterator().next();
+            if (!GROUP.equals(only.kind)) {
+                break;
+            }
+            node = only;
+        }
+        return node;
+    }
+
+    /**
+     * Mutable trie node used only while building.
+     */
+    private static final class RawNode {
+        final String id;
+        final String label;
+        final String kind;
+        final Map<String, RawNode> children = new TreeMap<>();
+        int number = -1;
+
+        RawNode(String id, String label, String kind) {
+            this.id = id;
+            this.label = label;
+            this.kind = kind;
+        }
+
+        RawNode child(String childId, String childLabel, String childKind) {
+            return children.computeIfAbsent(childId, k -> new RawNode(childId, childLabel, childKind));
+        }
+    }
+
+    /**
+     * Rolled-up edges of one level, as parallel arrays.
+     */
+    private record Rollup(int[] sources, int[] targets, int[] weights) {
+    }
+
+    /**
+     * Open-addressing map from a (source, target) node pair to a summed
+     * weight, without boxing either side.
+     */
+    private static final class PairCounter {
+        static final long EMPTY = -1L; // node numbers are never negative
+
+        private long[] keys = new long[16];
+        private int[] counts = new int[16];
+        private int size;
+
+        PairCounter() {
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void add(int source, int target, int weight) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            long key = ((long) source << 32) | (target & 0xffffffffL);
+            int slot = slot(key, keys.length);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+            }
+            counts[slot] += weight;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        long key(int slot) {
+            return keys[slot];
+        }
+
+        int count(int slot) {
+            return counts[slot];
+        }
+
+        Rollup toRollup() {
+            int[] sources = new int[size];
+            int[] targets = new int[size];
+            int[] weights = new int[size];
+            int i = 0;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    sources[i] = (int) (keys[slot] >>> 32);
+                    targets[i] = (int) keys[slot];
+                    weights[i] = counts[slot];
+                    i++;
+                }
+            }
+            return new Rollup(sources, targets, weights);
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            for (int old = 0; old < oldKeys.length; old++) {
+                if (oldKeys[old] != EMPTY) {
+                    int slot = slot(oldKeys[old], keys.length);
+                    while (keys[slot] != EMPTY) {
+                        slot = (slot + 1) & (keys.length - 1);
+                    }
+                    keys[slot] = oldKeys[old];
+                    counts[slot] = oldCounts[old];
+                }
+            }
+        }
+
+        private static int slot(long key, int capacity) {
+            return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (capacity - 1);
+        }
+    }
+
+    /**
+     * @param artifactCount groupId:artifactId nodes in the subtree
+     * @param versionCount  GAV leaves in the subtree
+     */
+    public record Node(String id, String label, String kind, String parent, int depth,
+            int artifactCount, int versionCount, int childCount) {
+    }
+
+    public record Edge(String source, String target, int weight) {
+    }
+
+    /**
+     * @param totalEdges rolled-up edges before the {@code maxEdges} cap
+     */
+    public record View(List<Node> nodes, List<Edge> edges, int totalEdges) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.jdepanalyzer.service;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the {@link GroupHierarchy} of the current graph version, rebuilt from
+ * the resident {@link GraphIndex} on first use after the graph changes.
+ */
+@Service
+public class GroupHierarchyService {
+
+    private final ResidentGraphService residentGraphService;
+
+    private volatile GroupHierarchy current;
+
+    public GroupHierarchyService(ResidentGraphService residentGraphService) {
+        this.residentGraphService = residentGraphService;
+    }
+
+    /**
+     * The hierarchy for the current graph version.
+     */
+    public GroupHierarchy current() {
+        GraphIndex graph = residentGraphService.current();
+        GroupHierarchy hierarchy = current;
+        if (hierarchy == null || hierarchy.version() != graph.version()) {
+            hierarchy = rebuild(graph);
+        }
+        return hierarchy;
+    }
+
+    private synchronized GroupHierarchy rebuild(GraphIndex graph) {
+        if (current != null && current.version() == graph.version()) {
+            return current;
+        }
+        current = GroupHierarchy.build(graph);
+        return current;
+    }
+}
@@ -0,0 +1,230 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.model.DependencyEdge;
+import com.jdepanalyzer.model.EdgeValidity;
+import com.jdepanalyzer.model.IngestionBatch;
+import com.jdepanalyzer.repository.DependencyEdgeRepository;
+import com.jdepanalyzer.repository.EdgeValidityRepository;
+import com.jdepanalyzer.repository.IngestionBatchRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * History of the dependency graph across ingestion batches.
+ *
+ * Every upload request is an {@link IngestionBatch}. Instead of copying the
+ * graph per batch, each edge has {@link EdgeValidity} ranges: a range opens in
+ * the first batch that declares the edge and stays open while later batches
+ * only add. A full-scan batch closes the range of every current edge it did
+ * not declare, so the graph as of batch {@code b} is the edges whose range
+ * contains {@code b}, and its artifacts are their endpoints.
+ *
+ * Every live edge has exactly one open range ({@code valid_to} null), which
+ * the partial unique index {@code uq_validity_open} (V5 migration) enforces. So an additive
+ * batch only opens ranges for the edges it inserted and never reads the
+ * existing ones; only a full scan reads every open range.
+ *
+ * On startup, edges stored before the history existed are recorded as one
+ * initial batch.
+ */
+@Service
+public class IngestionHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionHistoryService.class);
+
+    private static final Comparator<Edge> EDGE_ORDER = Comparator.comparing(Edge::fromGav)
+            .thenComparing(Edge::toGav)
+            .thenComparing(Edge::scope, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Edge::optional, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final IngestionBatchRepository batchRepository;
+    private final EdgeValidityRepository validityRepository;
+    private final DependencyEdgeRepository edgeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public IngestionHistoryService(IngestionBatchRepository batchRepository,
+            EdgeValidityRepository validityRepository,
+            DependencyEdgeRepository edgeRepository,
+            PlatformTransactionManager transactionManager) {
+        this.batchRepository = batchRepository;
+        this.validityRepository = validityRepository;
+        this.edgeRepository = edgeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (batchRepository.count() > 0) {
+                return;
+            }
+            List<DependencyEdge> edges = edgeRepository.findAll(Sort.by("id"));
+            if (edges.isEmpty()) {
+                return;
+            }
+            IngestionBatch batch = begin(false);
+            List<Edge> seen = new ArrayList<>(edges.size());
+            for (DependencyEdge edge : edges) {
+                seen.add(Edge.of(edge));
+            }
+            record(batch, seen, seen);
+            log.info("Recorded {} existing edges as ingestion batch {}", edges.size(), batch.getId());
+        });
+    }
+
+    /**
+     * Start a batch. Must run in the upload's transaction.
+     */
+    public IngestionBatch begin(boolean fullScan) {
+        return batchRepository.save(IngestionBatch.of(fullScan));
+    }
+
+    /**
+     * Record a batch: open a range for each edge it {@code inserted} into the
+     * live graph, and for a full scan close every open range of an edge it
+     * did not {@code declare}. Returns the closed edges, which the caller
+     * removes from the live graph.
+     */
+    public List<Edge> record(IngestionBatch batch, Collection<Edge> inserted, Collection<Edge> declared) {
+        long batchId = batch.getId();
+        List<EdgeValidity> opened = new ArrayList<>(inserted.size());
+        for (Edge edge : inserted) {
+            opened.add(EdgeValidity.open(edge.fromGav(), edge.toGav(), edge.scope(), edge.optional(), batchId));
+        }
+        validityRepository.saveAll(opened);
+        if (!Boolean.TRUE.equals(batch.getFullScan())) {
+            return List.of();
+        }
+
+        Set<Edge> kept = new HashSet<>(declared);
+        List<EdgeValidity> ranges = new ArrayList<>();
+        List<Edge> closed = new ArrayList<>();
+        for (EdgeValidity range : validityRepository.findByValidToIsNull()) {
+            Edge edge = Edge.of(range);
+            if (!kept.contains(edge)) {
+                range.setValidTo(batchId);
+                ranges.add(range);
+                closed.add(edge);
+            }
+        }
+        validityRepository.saveAll(ranges);
+        return closed;
+    }
+
+    public List<IngestionBatch> batches() {
+        return batchRepository.findAll(Sort.by("id"));
+    }
+
+    public boolean exists(long batchId) {
+        return batchRepository.existsById(batchId);
+    }
+
+    /**
+     * What changed from batch {@code from} to batch {@code to}: both edge sets
+     * are sorted and merged in one pass, and likewise their artifacts. With
+     * {@code from > to} the diff runs backwards.
+     */
+    public Diff diff(long from, long to) {
+        List<EdgeValidity> ranges = validityRepository.findOverlapping(Math.min(from, to), Math.max(from, to));
+        List<Edge> before = new ArrayList<>();
+        List<Edge> after = new ArrayList<>();
+        for (EdgeValidity range : ranges) {
+            if (range.validIn(from)) {
+                before.add(Edge.of(range));
+            }
+            if (range.validIn(to)) {
+                after.add(Edge.of(range));
+            }
+        }
+        before.sort(EDGE_ORDER);
+        after.sort(EDGE_ORDER);
+
+        List<Edge> addedEdges = new ArrayList<>();
+        List<Edge> removedEdges = new ArrayList<>();
+        merge(before, after, EDGE_ORDER, removedEdges, addedEdges);
+
+        List<String> addedArtifacts = new ArrayList<>();
+        List<String> removedArtifacts = new ArrayList<>();
+        merge(endpoints(before), endpoints(after), Comparator.naturalOrder(), removedArtifacts, addedArtifacts);
+
+        return new Diff(from, to, before.size(), after.size(),
+                addedArtifacts, removedArtifacts, addedEdges, removedEdges);
+    }
+
+    /**
+     * Walk two sorted, duplicate-free lists: elements only in {@code left} go
+     * to {@code onlyLeft}, elements only in {@code right} to {@code onlyRight}.
+     */
+    private static <T> void merge(List<T> left, List<T> right, Comparator<? super T> order,
+            List<T> onlyLeft, List<T> onlyRight) {
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            int cmp = order.compare(left.get(i), right.get(j));
+            if (cmp < 0) {
+                onlyLeft.add(left.get(i++));
+            } else if (cmp > 0) {
+                onlyRight.add(right.get(j++));
+            } else {
+                i++;
+                j++;
+            }
+        }
+        onlyLeft.addAll(left.subList(i, left.size()));
+        onlyRight.addAll(right.subList(j, right.size()));
+    }
+
+    private static List<String> endpoints(List<Edge> edges) {
+        String[] gavs = new String[edges.size() * 2];
+        for (int i = 0; i < edges.size(); i++) {
+            gavs[2 * i] = edges.get(i).fromGav();
+            gavs[2 * i + 1] = edges.get(i).toGav();
+        }
+        Arrays.sort(gavs);
+        List<String> distinct = new ArrayList<>(gavs.length);
+        for (String gav : gavs) {
+            if (distinct.isEmpty() || !distinct.get(distinct.size() - 1).equals(gav)) {
+                distinct.add(gav);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * An edge as identified by the {@code dependencyedge} unique key.
+     */
+    public record Edge(String fromGav, String toGav, String scope, Boolean optional) {
+
+        public static Edge of(DependencyEdge edge) {
+            return new Edge(edge.getFromGav(), edge.getToGav(), edge.getScope(), edge.getOptional());
+        }
+
+        static Edge of(EdgeValidity range) {
+            return new Edge(range.getFromGav(), range.getToGav(), range.getScope(), range.getOptional());
+        }
+    }
+
+    public record Diff(
+            long from,
+            long to,
+            int fromEdges,
+            int toEdges,
+            List<String> addedArtifacts,
+            List<String> removedArtifacts,
+            List<Edge> addedEdges,
+            List<Edge> removedEdges) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.dto.GAV;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maven version ordering with a cache of parsed versions.
+ *
+ * {@link ComparableVersion} parsing is the expensive part of every comparison,
+ * and the set of distinct version strings in the database is small, so each
+ * string is parsed once and reused.
+ */
+public final class MavenVersions {
+
+    private static final int MAX_CACHED = 100_000;
+    private static final Map<String, ComparableVersion> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Orders version strings using Maven semantics.
+     */
+    public static final Comparator<String> COMPARATOR = (a, b) -> parse(a).compareTo(parse(b));
+
+    private MavenVersions() {
+    }
+
+    /**
+     * Parse (or fetch the cached parse of) a version string.
+     */
+    public static ComparableVersion parse(String version) {
+        ComparableVersion cached = CACHE.get(version);
+        if (cached != null) {
+            return cached;
+        }
+        if (CACHE.size() >= MAX_CACHED) {
+            CACHE.clear();
+        }
+        return CACHE.computeIfAbsent(version, ComparableVersion::new);
+    }
+
+    /**
+     * Whether the version is a real version rather than the parser's "Unknown" placeholder.
+     */
+    public static boolean isKnown(String version) {
+        return version != null && !version.isEmpty() && !GAV.UNKNOWN_VERSION.equals(version);
+    }
+
+    /**
+     * Parse a range expression. Accepts Maven range syntax ({@code [2.13,2.15)},
+     * {@code (,2.17.1)}), a comparison shorthand ({@code <2.17.1}, {@code >=2.0})
+     * or a bare version, which matches that version exactly.
+     */
+    public static VersionRange parseRange(String expression) throws InvalidVersionSpecificationException {
+        String spec = expression.trim();
+        if (spec.startsWith("<=")) {
+            spec = "(," + spec.substring(2).trim() + "]";
+        } else if (spec.startsWith(">=")) {
+            spec = "[" + spec.substring(2).trim() + ",)";
+        } else if (spec.startsWith("<")) {
+            spec = "(," + spec.substring(1).trim() + ")";
+        } else if (spec.startsWith(">")) {
+            spec = "(" + spec.substring(1).trim() + ",)";
+        } else if (spec.startsWith("=")) {
+            spec = "[" + spec.substring(1).trim() + "]";
+        } else if (!spec.startsWith("[") && !spec.startsWith("(")) {
+            spec = "[" + spec + "]";
+        }
+        return VersionRange.createFromVersionSpec(spec);
+    }
+}
@@ -0,0 +1,119 @@
+package com.jdepanalyzer.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * One-hop neighborhood queries on the resident {@link GraphIndex}, for
+ * expanding the graph a node at a time.
+ *
+ * A page costs O(offset + limit) without a scope filter, regardless of the
+ * node's fan-out, because neighbors are read straight from the CSR ranges.
+ */
+@Service
+public class NeighborService {
+
+    private final ResidentGraphService residentGraphService;
+
+    public NeighborService(ResidentGraphService residentGraphService) {
+        this.residentGraphService = residentGraphService;
+    }
+
+    /**
+     * A page of the direct neighbors of {@code gav}. Dependencies (outgoing
+     * edges) are listed before dependents (incoming edges), each in index order.
+     *
+     * @param direction "forward" (dependencies), "reverse" (dependents) or "both"
+     */
+    public NeighborPage neighbors(String gav, String direction, Collection<String> scopes, int offset, int limit) {
+        GraphIndex graph = residentGraphService.current();
+        int node = graph.id(gav);
+        if (node < 0) {
+            return new NeighborPage(null, 0, List.of());
+        }
+        long mask = graph.scopeMask(scopes);
+        boolean forward = !"reverse".equals(direction);
+        boolean reverse = !"forward".equals(direction);
+
+        int outTotal = forward ? count(graph, graph.outBegin(node), graph.outEnd(node), mask, true) : 0;
+        int inTotal = reverse ? count(graph, graph.inBegin(node), graph.inEnd(node), mask, false) : 0;
+        Neighbor center = new Neighbor(gav, null, null, false,
+                count(graph, graph.outBegin(node), graph.outEnd(node), mask, true),
+                count(graph, graph.inBegin(node), graph.inEnd(node), mask, false));
+
+        List<Neighbor> page = new ArrayList<>(Math.min(limit, outTotal + inTotal));
+        int skip = offset;
+        if (forward) {
+            skip = collect(graph, node, mask, true, skip, limit, page);
+        }
+        if (reverse && page.size() < limit) {
+            collect(graph, node, mask, false, skip, limit, page);
+        }
+        return new NeighborPage(center, outTotal + inTotal, page);
+    }
+
+    /**
+     * Append up to {@code limit - page.size()} neighbors from one direction,
+     * skipping the first {@code skip} matches. Returns how many are still to skip.
+     */
+    private int collect(GraphIndex graph, int node, long mask, boolean outgoing, int skip, int limit,
+            List<Neighbor> page) {
+        int begin = outgoing ? graph.outBegin(node) : graph.inBegin(node);
+        int end = outgoing ? graph.outEnd(node) : graph.inEnd(node);
+        if (mask == -1L && skip > 0) {
+            // No filter: jump straight to the offset
+            int jump = Math.min(skip, end - begin);
+            begin += jump;
+            skip -= jump;
+        }
+        for (int e = begin; e < end && page.size() < limit; e++) {
+            int scope = outgoing ? graph.outScope(e) : graph.inScope(e);
+            if ((mask & (1L << scope)) == 0) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            int other = outgoing ? graph.outTarget(e) : graph.inSource(e);
+            page.add(new Neighbor(graph.gav(other), outgoing ? "dependency" : "dependent",
+                    graph.scopeName(scope), outgoing ? graph.outOptional(e) : graph.inOptional(e),
+                    count(graph, graph.outBegin(other), graph.outEnd(other), mask, true),
+                    count(graph, graph.inBegin(other), graph.inEnd(other), mask, false)));
+        }
+        return skip;
+    }
+
+    private static int count(GraphIndex graph, int begin, int end, long mask, boolean outgoing) {
+        if (mask == -1L) {
+            return end - begin;
+        }
+        int count = 0;
+        for (int e = begin; e < end; e++) {
+            int scope = outgoing ? graph.outScope(e) : graph.inScope(e);
+            if ((mask & (1L << scope)) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A node adjacent to the expanded one. {@code relation}, {@code scope} and
+     * {@code optional} describe the connecting edge; the degrees let the client
+     * show how much is still unexplored behind it.
+     */
+    public record Neighbor(String gav, String relation, String scope, boolean optional,
+            int outDegree, int inDegree) {
+    }
+
+    /**
+     * @param center null if the node is not in the graph
+     * @param total  matching neighbors across all pages
+     */
+    public record NeighborPage(Neighbor center, int total, List<Neighbor> neighbors) {
+    }
+}
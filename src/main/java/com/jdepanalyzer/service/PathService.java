@@ -0,0 +1,327 @@
+package com.jdepanalyzer.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * "Why is this here?" queries: dependency paths from a root to a target,
+ * answered on the resident {@link GraphIndex}.
+ *
+ * The shortest path comes from a bidirectional BFS. Further paths are
+ * enumerated by a depth-first search that only enters nodes which can still
+ * reach the target within the depth limit, and that stops at a path count or
+ * time budget, whichever comes first.
+ */
+@Service
+public class PathService {
+
+    private static final int UNSEEN = -2;
+    private static final int NONE = -1;
+
+    private final ResidentGraphService residentGraphService;
+
+    public PathService(ResidentGraphService residentGraphService) {
+        this.residentGraphService = residentGraphService;
+    }
+
+    /**
+     * Find paths from {@code root} to {@code target}. The target may be a full
+     * GAV or a groupId:artifactId, which matches every version.
+     */
+    public PathResult findPaths(String root, String target, Collection<String> scopes,
+            int maxPaths, int maxDepth, long timeBudgetMillis) {
+
+        GraphIndex graph = residentGraphService.current();
+        int rootId = graph.id(root);
+        int[] targets = resolveTargets(graph, target);
+        List<String> matched = new ArrayList<>();
+        for (int t : targets) {
+            matched.add(graph.gav(t));
+        }
+        if (rootId < 0 || targets.length == 0) {
+            return new PathResult(matched, null, List.of(), false, null);
+        }
+
+        long mask = graph.scopeMask(scopes);
+        Path shortest = shortestPath(graph, rootId, targets, mask, maxDepth);
+        if (shortest == null) {
+            return new PathResult(matched, null, List.of(), false, null);
+        }
+
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        List<Path> paths = new ArrayList<>();
+        String truncated = enumeratePaths(graph, rootId, targets, mask, maxPaths, maxDepth, deadline, paths);
+        paths.sort(Comparator.comparingInt((Path p) -> p.nodes().size()));
+        return new PathResult(matched, shortest, paths, truncated != null, truncated);
+    }
+
+    /**
+     * Level-synchronous bidirectional BFS: always expands the smaller frontier
+     * and, once the frontiers meet, finishes that level to pick the best meeting node.
+     */
+    Path shortestPath(GraphIndex graph, int root, int[] targets, long mask, int maxDepth) {
+        int n = graph.nodeCount();
+        int[] fwdParent = new int[n];
+        int[] fwdEdge = new int[n];
+        int[] fwdDist = new int[n];
+        int[] bwdNext = new int[n];
+        int[] bwdEdge = new int[n];
+        int[] bwdDist = new int[n];
+        Arrays.fill(fwdParent, UNSEEN);
+        Arrays.fill(bwdNext, UNSEEN);
+
+        IntList fwdFrontier = new IntList();
+        IntList bwdFrontier = new IntList();
+        fwdParent[root] = NONE;
+        fwdFrontier.add(root);
+        for (int t : targets) {
+            bwdNext[t] = NONE;
+            bwdFrontier.add(t);
+        }
+        if (bwdNext[root] != UNSEEN) {
+            return new Path(List.of(graph.gav(root)), List.of());
+        }
+
+        int meet = NONE;
+        int explored = 0;
+        while (meet == NONE && !fwdFrontier.isEmpty() && !bwdFrontier.isEmpty() && explored < maxDepth) {
+            IntList next = new IntList();
+            if (fwdFrontier.size() <= bwdFrontier.size()) {
+                for (int i = 0; i < fwdFrontier.size(); i++) {
+                    int u = fwdFrontier.get(i);
+                    for (int e = graph.outBegin(u); e < graph.outEnd(u); e++) {
+                        if ((mask & (1L << graph.outScope(e))) == 0) {
+                            continue;
+                        }
+                        int w = graph.outTarget(e);
+                        if (fwdParent[w] != UNSEEN) {
+                            continue;
+                        }
+                        fwdParent[w] = u;
+                        fwdEdge[w] = e;
+                        fwdDist[w] = fwdDist[u] + 1;
+                        next.add(w);
+                        if (bwdNext[w] != UNSEEN) {
+                            meet = better(meet, w, fwdDist, bwdDist);
+                        }
+                    }
+                }
+                fwdFrontier = next;
+            } else {
+                for (int i = 0; i < bwdFrontier.size(); i++) {
+                    int u = bwdFrontier.get(i);
+                    for (int e = graph.inBegin(u); e < graph.inEnd(u); e++) {
+                        if ((mask & (1L << graph.inScope(e))) == 0) {
+                            continue;
+                        }
+                        int w = graph.inSource(e);
+                        if (bwdNext[w] != UNSEEN) {
+                            continue;
+                        }
+                        bwdNext[w] = u;
+                        bwdEdge[w] = e;
+                        bwdDist[w] = bwdDist[u] + 1;
+                        next.add(w);
+                        if (fwdParent[w] != UNSEEN) {
+                            meet = better(meet, w, fwdDist, bwdDist);
+                        }
+                    }
+                }
+                bwdFrontier = next;
+            }
+            explored++;
+        }
+
+        if (meet == NONE) {
+            return null;
+        }
+
+        // root ... meet
+        LinkedList<String> nodes = new LinkedList<>();
+        LinkedList<String> scopes = new LinkedList<>();
+        for (int v = meet; v != root; v = fwdParent[v]) {
+            nodes.addFirst(graph.gav(v));
+            scopes.addFirst(graph.scopeName(graph.outScope(fwdEdge[v])));
+        }
+        nodes.addFirst(graph.gav(root));
+        // meet ... target
+        for (int v = meet; bwdNext[v] != NONE; v = bwdNext[v]) {
+            nodes.addLast(graph.gav(bwdNext[v]));
+            scopes.addLast(graph.scopeName(graph.inScope(bwdEdge[v])));
+        }
+        return new Path(nodes, scopes);
+    }
+
+    /**
+     * Bounded enumeration of simple paths. Returns the reason enumeration
+     * stopped early, or null if every path within {@code maxDepth} was found.
+     */
+    String enumeratePaths(GraphIndex graph, int root, int[] targets, long mask,
+            int maxPaths, int maxDepth, long deadlineNanos, List<Path> out) {
+
+        int n = graph.nodeCount();
+
+        // Distance from every node to the nearest target, limited to maxDepth
+        int[] toTarget = new int[n];
+        Arrays.fill(toTarget, Integer.MAX_VALUE);
+        boolean[] isTarget = new boolean[n];
+        IntList frontier = new IntList();
+        for (int t : targets) {
+            toTarget[t] = 0;
+            isTarget[t] = true;
+            frontier.add(t);
+        }
+        for (int d = 1; d <= maxDepth && !frontier.isEmpty(); d++) {
+            IntList next = new IntList();
+            for (int i = 0; i < frontier.size(); i++) {
+                int u = frontier.get(i);
+                for (int e = graph.inBegin(u); e < graph.inEnd(u); e++) {
+                    int w = graph.inSource(e);
+                    if ((mask & (1L << graph.inScope(e))) != 0 && toTarget[w] == Integer.MAX_VALUE) {
+                        toTarget[w] = d;
+                        next.add(w);
+                    }
+                }
+            }
+            frontier = next;
+        }
+
+        Set<List<Integer>> seen = new HashSet<>();
+        int[] pathNodes = new int[maxDepth + 1];
+        int[] pathEdges = new int[maxDepth + 1];
+        int[] cursor = new int[maxDepth + 1];
+        boolean[] onPath = new boolean[n];
+        int depth = 0;
+        pathNodes[0] = root;
+        cursor[0] = graph.outBegin(root);
+        onPath[root] = true;
+        long steps = 0;
+
+        while (depth >= 0) {
+            if ((++steps & 1023) == 0 && System.nanoTime() > deadlineNanos) {
+                return "time_budget";
+            }
+            int u = pathNodes[depth];
+            if (isTarget[u]) {
+                List<Integer> key = new ArrayList<>(depth + 1);
+                for (int i = 0; i <= depth; i++) {
+                    key.add(pathNodes[i]);
+                }
+                if (seen.add(key)) {
+                    List<String> nodes = new ArrayList<>(depth + 1);
+                    List<String> scopes = new ArrayList<>(depth);
+                    for (int i = 0; i <= depth; i++) {
+                        nodes.add(graph.gav(pathNodes[i]));
+                        if (i > 0) {
+                            scopes.add(graph.scopeName(graph.outScope(pathEdges[i])));
+                        }
+                    }
+                    out.add(new Path(nodes, scopes));
+                    if (out.size() >= maxPaths) {
+                        return "max_paths";
+                    }
+                }
+                // Paths end at the first target reached
+                onPath[u] = false;
+                depth--;
+                continue;
+            }
+
+            boolean descended = false;
+            while (cursor[depth] < graph.outEnd(u)) {
+                int e = cursor[depth]++;
+                int w = graph.outTarget(e);
+                if ((mask & (1L << graph.outScope(e))) == 0 || onPath[w]) {
+                    continue;
+                }
+                if (toTarget[w] == Integer.MAX_VALUE || depth + 1 + toTarget[w] > maxDepth) {
+                    continue;
+                }
+                depth++;
+                pathNodes[depth] = w;
+                pathEdges[depth] = e;
+                cursor[depth] = graph.outBegin(w);
+                onPath[w] = true;
+                descended = true;
+                break;
+            }
+            if (!descended) {
+                onPath[u] = false;
+                depth--;
+            }
+        }
+        return null;
+    }
+
+    private int[] resolveTargets(GraphIndex graph, String target) {
+        if (target == null || target.isEmpty()) {
+            return new int[0];
+        }
+        int id = graph.id(target);
+        if (id >= 0) {
+            return new int[] { id };
+        }
+        if (target.indexOf(':') < 0 || target.indexOf(':') != target.lastIndexOf(':')) {
+            return new int[0];
+        }
+        // groupId:artifactId - every version of it
+        String prefix = target + ":";
+        IntList matches = new IntList();
+        for (int v = 0; v < graph.nodeCount(); v++) {
+            if (graph.gav(v).startsWith(prefix)) {
+                matches.add(v);
+            }
+        }
+        return matches.toArray();
+    }
+
+    private static int better(int current, int candidate, int[] fwdDist, int[] bwdDist) {
+        if (current == NONE || fwdDist[candidate] + bwdDist[candidate] < fwdDist[current] + bwdDist[current]) {
+            return candidate;
+        }
+        return current;
+    }
+
+    public record Path(List<String> nodes, List<String> scopes) {
+    }
+
+    public record PathResult(
+            List<String> targets,
+            Path shortest,
+            List<Path> paths,
+            boolean truncated,
+            String truncatedReason) {
+    }
+
+    /**
+     * Minimal growable int array for BFS frontiers.
+     */
+    static final class IntList {
+        private int[] items = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        int get(int i) {
+            return items[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+}
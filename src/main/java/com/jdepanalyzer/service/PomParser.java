@@ -2,6 +2,10 @@ package com.jdepanalyzer.service;
 
 import com.jdepanalyzer.dto.GAV;
 import com.jdepanalyzer.dto.MavenProject;
+import com.jdepanalyzer.jfr.PomParseEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -13,6 +17,8 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathFactory;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.util.*;
@@ -28,30 +34,79 @@ public class PomParser {
 
     private static final Pattern PLACEHOLDER_RE = Pattern.compile("\\$\\{([^}]+)}");
 
+    private final Timer parseTimer;
+    private final DistributionSummary parseBytes;
+
+    public PomParser(MeterRegistry meterRegistry) {
+        this.parseTimer = Timer.builder("jdep.pom.parse")
+                .description("Time to parse one POM")
+                .register(meterRegistry);
+        this.parseBytes = DistributionSummary.builder("jdep.pom.parse.size")
+                .description("Size of parsed POMs")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
     /**
      * Parse a POM XML from an InputStream.
      */
     public MavenProject parse(InputStream inputStream) throws Exception {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(false);
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.parse(inputStream);
-        doc.getDocumentElement().normalize();
-
-        return parseDocument(doc);
+        CountingInputStream counted = new CountingInputStream(inputStream);
+        PomParseEvent event = new PomParseEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start();
+        MavenProject project = null;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document doc = builder.parse(counted);
+            doc.getDocumentElement().normalize();
+
+            project = parseDocument(doc);
+            return project;
+        } finally {
+            sample.stop(parseTimer);
+            parseBytes.record(counted.count);
+            commit(event, project, counted.count);
+        }
     }
 
     /**
      * Parse a POM XML from a String.
      */
     public MavenProject parse(String xmlContent) throws Exception {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(false);
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.parse(new InputSource(new StringReader(xmlContent)));
-        doc.getDocumentElement().normalize();
+        PomParseEvent event = new PomParseEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start();
+        MavenProject project = null;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(false);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document doc = builder.parse(new InputSource(new StringReader(xmlContent)));
+            doc.getDocumentElement().normalize();
+
+            project = parseDocument(doc);
+            return project;
+        } finally {
+            sample.stop(parseTimer);
+            parseBytes.record(xmlContent.length());
+            commit(event, project, xmlContent.length());
+        }
+    }
 
-        return parseDocument(doc);
+    /**
+     * Commit the JFR event of one parse; {@code project} is null if it failed.
+     */
+    private static void commit(PomParseEvent event, MavenProject project, long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.gav = project != null ? project.getProject().compact() : null;
+            event.bytes = bytes;
+            event.dependencies = project != null ? project.getDependencies().size() : 0;
+            event.commit();
+        }
     }
 
     private MavenProject parseDocument(Document doc) throws Exception {
@@ -252,4 +307,33 @@ public class PomParser {
             return false;
         return null;
     }
+
+    /**
+     * Counts the bytes the XML parser actually reads.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
 }
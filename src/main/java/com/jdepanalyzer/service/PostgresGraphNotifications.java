@@ -0,0 +1,241 @@
+package com.jdepanalyzer.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jdepanalyzer.model.Artifact;
+import com.jdepanalyzer.model.DependencyEdge;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the in-memory graphs of several instances on one PostgreSQL database
+ * in step, using {@code LISTEN}/{@code NOTIFY}.
+ *
+ * Every upload takes a number from {@code graph_change_seq} (created by the V2
+ * migration) and sends its
+ * inserted rows with {@code pg_notify} inside the upload transaction, so the
+ * notification goes out exactly when the rows become visible. Every instance
+ * listens on a dedicated connection and applies other instances' deltas through
+ * {@link GraphVersionService#applyRemoteChange}.
+ *
+ * When a delta does not fit in a notification (8000 bytes), when a sequence
+ * number is skipped or arrives out of order, or after the listening connection
+ * was lost, the instance cannot trust its delta chain and falls back to
+ * {@link GraphVersionService#invalidate}, which makes every index reload.
+ *
+ * Taking the sequence number before commit has a cost: numbers follow
+ * {@code nextval} order, but notifications are delivered in commit order,
+ * and a rolled-back upload leaves a hole. With concurrent uploads on several
+ * instances, overlapping transactions can therefore make the receivers
+ * reload even though no notification was lost. Uploads are rare compared with
+ * reads, so this trades an occasional reload for a simple protocol that
+ * needs no coordination beyond the sequence.
+ */
+@Service
+@ConditionalOnProperty(name = "jdep.cluster.notify.enabled", havingValue = "true")
+public class PostgresGraphNotifications implements GraphChangeBroadcaster, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresGraphNotifications.class);
+
+    static final String CHANNEL = "jdep_graph_changes";
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final GraphVersionService graphVersionService;
+    private final ObjectMapper objectMapper;
+    private final int pollMillis;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listener;
+    private long lastSeq = -1; // listener thread only
+
+    public PostgresGraphNotifications(DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            GraphVersionService graphVersionService,
+            ObjectMapper objectMapper,
+            @Value("${jdep.cluster.notify.poll-millis:500}") int pollMillis) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.graphVersionService = graphVersionService;
+        this.objectMapper = objectMapper;
+        this.pollMillis = pollMillis;
+    }
+
+    @Override
+    public void broadcast(List<Artifact> addedArtifacts, List<DependencyEdge> addedEdges) {
+        long seq = jdbcTemplate.queryForObject("SELECT nextval('graph_change_seq')", Long.class);
+        send(encode(seq, addedArtifacts, addedEdges));
+    }
+
+    @Override
+    public void broadcastReload() {
+        long seq = jdbcTemplate.queryForObject("SELECT nextval('graph_change_seq')", Long.class);
+        try {
+            send(objectMapper.writeValueAsString(new Message(instanceId, seq, true, null, null)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode graph change", e);
+        }
+    }
+
+    private void send(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (ResultSetExtractor<Void>) rs -> null, CHANNEL, payload);
+    }
+
+    private String encode(long seq, List<Artifact> artifacts, List<DependencyEdge> edges) {
+        List<String> gavs = new ArrayList<>(artifacts.size());
+        for (Artifact artifact : artifacts) {
+            gavs.add(artifact.getGav());
+        }
+        List<List<Object>> rows = new ArrayList<>(edges.size());
+        for (DependencyEdge edge : edges) {
+            rows.add(Arrays.asList(edge.getId(), edge.getFromGav(), edge.getToGav(), edge.getScope(),
+                    edge.getOptional()));
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(new Message(instanceId, seq, false, gavs, rows));
+            if (payload.getBytes(StandardCharsets.UTF_8).length <= MAX_PAYLOAD_BYTES) {
+                return payload;
+            }
+            return objectMapper.writeValueAsString(new Message(instanceId, seq, true, null, null));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode graph change", e);
+        }
+    }
+
+    /**
+     * Handle one notification on the listener thread.
+     */
+    void receive(String payload) {
+        Message message;
+        try {
+            message = objectMapper.readValue(payload, Message.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed graph change notification: {}", e.getMessage());
+            graphVersionService.invalidate();
+            return;
+        }
+
+        boolean inOrder = lastSeq < 0 || message.seq() == lastSeq + 1;
+        lastSeq = Math.max(lastSeq, message.seq());
+        if (!inOrder) {
+            log.info("Graph change sequence jumped to {}, reloading", message.seq());
+            graphVersionService.invalidate();
+        } else if (instanceId.equals(message.origin())) {
+            // Already applied locally when our own transaction committed
+        } else if (message.full()) {
+            graphVersionService.invalidate();
+        } else {
+            graphVersionService.applyRemoteChange(artifacts(message), edges(message));
+        }
+    }
+
+    private static List<Artifact> artifacts(Message message) {
+        List<Artifact> artifacts = new ArrayList<>();
+        if (message.artifacts() != null) {
+            for (String gav : message.artifacts()) {
+                artifacts.add(Artifact.fromGav(gav));
+            }
+        }
+        return artifacts;
+    }
+
+    private static List<DependencyEdge> edges(Message message) {
+        List<DependencyEdge> edges = new ArrayList<>();
+        if (message.edges() != null) {
+            for (List<Object> row : message.edges()) {
+                DependencyEdge edge = DependencyEdge.of((String) row.get(1), (String) row.get(2),
+                        (String) row.get(3), (Boolean) row.get(4));
+                edge.setId(((Number) row.get(0)).longValue());
+                edges.add(edge);
+            }
+        }
+        return edges;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "graph-change-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnect) {
+                    // Notifications sent while we were away are lost
+                    lastSeq = -1;
+                    graphVersionService.invalidate();
+                }
+                reconnect = true;
+
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Graph change listener lost its connection, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Notification payload. {@code edges} rows are
+     * {@code [id, fromGav, toGav, scope, optional]}; with {@code full} the
+     * delta was too large to send and receivers reload instead.
+     */
+    record Message(String origin, long seq, boolean full, List<String> artifacts, List<List<Object>> edges) {
+    }
+}
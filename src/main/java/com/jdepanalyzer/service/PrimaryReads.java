@@ -0,0 +1,44 @@
+package com.jdepanalyzer.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * Runs reads whose result is kept under a graph version against the primary
+ * database.
+ *
+ * With a separate read pool ({@code ReadWriteDataSourceConfig}), a read-only
+ * transaction may run on a replica that has not yet replayed the upload which
+ * moved {@link GraphVersionService#current()}. An index built from it would
+ * be cached under the new version while missing its rows, until the next
+ * upload. Such reads therefore run in a new read-write transaction, which
+ * always takes a primary connection. Without a read pool they simply run in
+ * the caller's transaction; a new one could not get a connection from the
+ * single-connection SQLite pool anyway.
+ */
+@Component
+public class PrimaryReads {
+
+    private final TransactionTemplate primary; // null without a read pool
+
+    public PrimaryReads(PlatformTransactionManager transactionManager,
+            @Qualifier("readDataSource") ObjectProvider<DataSource> readDataSource) {
+        if (readDataSource.getIfAvailable() != null) {
+            primary = new TransactionTemplate(transactionManager);
+            primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        } else {
+            primary = null;
+        }
+    }
+
+    public <T> T load(Supplier<T> read) {
+        return primary != null ? primary.execute(status -> read.get()) : read.get();
+    }
+}
@@ -0,0 +1,160 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.model.Artifact;
+import com.jdepanalyzer.model.DependencyEdge;
+import com.jdepanalyzer.repository.ArtifactRepository;
+import com.jdepanalyzer.repository.DependencyEdgeRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Keeps the current {@link GraphIndex} resident in memory so graph queries do
+ * not reload {@code artifact}/{@code dependencyedge} on every request.
+ *
+ * Readers take the published index with a single volatile read and never wait
+ * for an upload: an upload's {@link GraphChangedEvent} is applied by the
+ * writing thread, which builds the next index from the delta and publishes it
+ * atomically, while readers keep using the previous, immutable one. Edges the
+ * index already holds (ids up to {@link GraphIndex#maxEdgeId()}) are skipped,
+ * so a delta is never applied twice.
+ *
+ * When the version moved without a usable delta, the previous index (or, on a
+ * cold start or after {@link GraphVersionService#invalidate()}, the
+ * memory-mapped {@link GraphSnapshotStore} file) is brought up to date by
+ * replaying the edges added since its {@code maxEdgeId}. Rows are
+ * only ever appended, so the replay is checked against the row counts and a
+ * full reload happens if they disagree. New indexes are written back as the
+ * snapshot.
+ */
+@Service
+public class ResidentGraphService {
+
+    private final ArtifactRepository artifactRepository;
+    private final DependencyEdgeRepository edgeRepository;
+    private final GraphVersionService graphVersionService;
+    private final GraphSnapshotStore snapshotStore;
+    private final PrimaryReads primaryReads;
+
+    private volatile GraphIndex current;
+
+    public ResidentGraphService(ArtifactRepository artifactRepository,
+            DependencyEdgeRepository edgeRepository,
+            GraphVersionService graphVersionService,
+            GraphSnapshotStore snapshotStore,
+            PrimaryReads primaryReads) {
+        this.artifactRepository = artifactRepository;
+        this.edgeRepository = edgeRepository;
+        this.graphVersionService = graphVersionService;
+        this.snapshotStore = snapshotStore;
+        this.primaryReads = primaryReads;
+    }
+
+    /**
+     * The index for the current graph version, or the one before it while the
+     * delta to the current version is still being applied.
+     */
+    public GraphIndex current() {
+        GraphIndex index = current;
+        if (index != null && (index.version() == graphVersionService.current()
+                || graphVersionService.deltaPending(index.version()))) {
+            return index;
+        }
+        return rebuild();
+    }
+
+    @EventListener
+    public synchronized void onGraphChanged(GraphChangedEvent event) {
+        GraphIndex base = current;
+        if (base == null || base.version() != event.fromVersion()) {
+            return; // stale: the next reader rebuilds
+        }
+        GraphIndex.Builder builder = null;
+        for (Artifact artifact : event.addedArtifacts()) {
+            if (base.id(artifact.getGav()) < 0) {
+                builder = builder != null ? builder : GraphIndex.Builder.from(base, event.toVersion());
+                builder.addNode(artifact.getGav());
+            }
+        }
+        for (DependencyEdge edge : event.addedEdges()) {
+            if (edge.getId() != null && edge.getId() <= base.maxEdgeId()) {
+                continue; // already replayed from the table
+            }
+            builder = builder != null ? builder : GraphIndex.Builder.from(base, event.toVersion());
+            builder.addEdge(edge.getFromGav(), edge.getToGav(), edge.getScope(), edge.getOptional());
+            if (edge.getId() != null) {
+                builder.edgeId(edge.getId());
+            }
+        }
+        if (builder == null) {
+            current = base.withVersion(event.toVersion());
+        } else {
+            current = builder.build();
+            snapshotStore.save(current);
+        }
+    }
+
+    /**
+     * The most recently built index, possibly stale, or null before the first
+     * query. Never triggers a rebuild; meant for metrics.
+     */
+    public GraphIndex lastBuilt() {
+        return current;
+    }
+
+    private synchronized GraphIndex rebuild() {
+        long version = graphVersionService.current();
+        if (current != null && current.version() == version) {
+            return current;
+        }
+        GraphIndex base = current != null && !graphVersionService.invalidatedSince(current.version())
+                ? current
+                : snapshotStore.open(version);
+        GraphIndex next = primaryReads.load(() -> {
+            GraphIndex replayed = base != null ? replay(base, version) : null;
+            return replayed != null ? replayed : load(version);
+        });
+        if (base == null || next.maxEdgeId() != base.maxEdgeId() || next.nodeCount() != base.nodeCount()) {
+            snapshotStore.save(next);
+        }
+        current = next;
+        return next;
+    }
+
+    /**
+     * {@code base} plus the edges inserted after it, or null if the tables no
+     * longer match {@code base} (rows removed, or artifacts without edges added).
+     */
+    private GraphIndex replay(GraphIndex base, long version) {
+        List<DependencyEdge> added = edgeRepository.findByIdGreaterThan(base.maxEdgeId(), Sort.by("id"));
+        if (base.edgeCount() + added.size() != edgeRepository.count()) {
+            return null;
+        }
+        GraphIndex next;
+        if (added.isEmpty()) {
+            next = base.withVersion(version);
+        } else {
+            GraphIndex.Builder builder = GraphIndex.Builder.from(base, version);
+            for (DependencyEdge edge : added) {
+                builder.addEdge(edge.getFromGav(), edge.getToGav(), edge.getScope(), edge.getOptional())
+                        .edgeId(edge.getId());
+            }
+            next = builder.build();
+        }
+        return next.nodeCount() == artifactRepository.count() ? next : null;
+    }
+
+    private GraphIndex load(long version) {
+        GraphIndex.Builder builder = new GraphIndex.Builder(version);
+        for (Artifact artifact : artifactRepository.findAll()) {
+            builder.addNode(artifact.getGav());
+        }
+        for (DependencyEdge edge : edgeRepository.findAll(Sort.by("id"))) {
+            builder.addEdge(edge.getFromGav(), edge.getToGav(), edge.getScope(), edge.getOptional())
+                    .edgeId(edge.getId());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.jdepanalyzer.service;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Set;
+
+/**
+ * Graph traversal pushed down to the database with {@code WITH RECURSIVE},
+ * for graphs too large to load into memory.
+ *
+ * The walk follows {@code idx_edge_from} (forward) or {@code idx_edge_to}
+ * (reverse) from the root, and only the edges between the reached nodes are
+ * read back. Whether to use it is decided by an estimate of the edge count
+ * against {@code jdep.graph.in-memory-max-edges}; the estimate is taken once
+ * per graph version, from {@code pg_class.reltuples} on PostgreSQL and
+ * {@code COUNT(*)} elsewhere.
+ *
+ * With {@link DependencyClosureService} enabled, queries without a scope
+ * filter read the reached nodes from {@code dependency_closure} instead of
+ * walking: {@code min_depth} is the BFS distance, so a depth limit is a
+ * plain range condition.
+ */
+@Service
+public class SqlGraphTraversal {
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final GraphVersionService graphVersionService;
+    private final boolean closureEnabled;
+    private final long inMemoryMaxEdges;
+
+    private volatile Estimate estimate = new Estimate(-1, 0);
+    private volatile Boolean postgres;
+
+    public SqlGraphTraversal(NamedParameterJdbcTemplate jdbc, GraphVersionService graphVersionService,
+            ObjectProvider<DependencyClosureService> closure,
+            @Value("${jdep.graph.in-memory-max-edges:2000000}") long inMemoryMaxEdges) {
+        this.jdbc = jdbc;
+        this.graphVersionService = graphVersionService;
+        this.closureEnabled = closure.getIfAvailable() != null;
+        this.inMemoryMaxEdges = inMemoryMaxEdges;
+    }
+
+    /**
+     * True if the graph is estimated to be too large to load whole, so rooted
+     * queries should be answered by {@link #loadReachable}.
+     */
+    public boolean preferred() {
+        return estimatedEdges() > inMemoryMaxEdges;
+    }
+
+    /**
+     * Estimated number of rows in {@code dependencyedge}.
+     */
+    public long estimatedEdges() {
+        long version = graphVersionService.current();
+        Estimate current = estimate;
+        if (current.version() != version) {
+            current = new Estimate(version, countEdges());
+            estimate = current;
+        }
+        return current.edges();
+    }
+
+    /**
+     * The subgraph reachable from {@code root} within {@code depth} hops (all
+     * reachable nodes if null), with every edge between those nodes. Edges are
+     * limited to {@code scopes} when given, as in
+     * {@link GraphService#loadAtomicGraph}. Empty if {@code root} is unknown.
+     *
+     * @param direction "forward" (dependencies) or "reverse" (dependents)
+     */
+    @Transactional(readOnly = true)
+    public Graph<String, GraphService.EdgeData> loadReachable(String root, String direction, Integer depth,
+            Set<String> scopes) {
+        boolean reverse = "reverse".equals(direction);
+        String from = reverse ? "to_gav" : "from_gav";
+        String to = reverse ? "from_gav" : "to_gav";
+        boolean scoped = scopes != null && !scopes.isEmpty();
+        String scopeFilter = scoped ? " AND e.scope IN (:scopes)" : "";
+
+        MapSqlParameterSource params = new MapSqlParameterSource("root", root);
+        if (scoped) {
+            params.addValue("scopes", new ArrayList<>(scopes));
+        }
+
+        String reach;
+        if (closureEnabled && !scoped) {
+            String near = reverse ? "ancestor" : "descendant";
+            String far = reverse ? "descendant" : "ancestor";
+            if (depth != null) {
+                params.addValue("depth", depth);
+            }
+            reach = "reach(gav) AS ("
+                    + " SELECT :root"
+                    + " UNION"
+                    + " SELECT " + near + " FROM " + DependencyClosureService.TABLE
+                    + " WHERE " + far + " = :root" + (depth != null ? " AND min_depth <= :depth" : "") + ")";
+        } else if (depth != null) {
+            // UNION keeps one row per (node, hop), so diamonds cost at most depth rows per node
+            params.addValue("depth", depth);
+            reach = "reach(gav, hops) AS ("
+                    + " SELECT :root, 0"
+                    + " UNION"
+                    + " SELECT e." + to + ", r.hops + 1 FROM reach r"
+                    + " JOIN dependencyedge e ON e." + from + " = r.gav"
+                    + " WHERE r.hops < :depth" + scopeFilter + ")";
+        } else {
+            // UNION drops nodes already reached, which also ends the walk on cycles
+            reach = "reach(gav) AS ("
+                    + " SELECT :root"
+                    + " UNION"
+                    + " SELECT e." + to + " FROM reach r"
+                    + " JOIN dependencyedge e ON e." + from + " = r.gav"
+                    + (scoped ? " WHERE e.scope IN (:scopes)" : "") + ")";
+        }
+        String sql = "WITH RECURSIVE " + reach
+                + " SELECT e.from_gav, e.to_gav, e.scope, e.optional FROM dependencyedge e"
+                + " WHERE e.from_gav IN (SELECT gav FROM reach)"
+                + " AND e.to_gav IN (SELECT gav FROM reach)" + scopeFilter
+                + " ORDER BY e.id";
+
+        Graph<String, GraphService.EdgeData> graph = new DefaultDirectedGraph<>(GraphService.EdgeData.class);
+        jdbc.query(sql, params, rs -> {
+            String source = rs.getString(1);
+            String target = rs.getString(2);
+            String scope = rs.getString(3);
+            boolean optional = rs.getBoolean(4);
+            Boolean optionalOrNull = rs.wasNull() ? null : optional;
+            graph.addVertex(source);
+            graph.addVertex(target);
+            graph.addEdge(source, target, new GraphService.EdgeData(scope, optionalOrNull));
+        });
+
+        if (!graph.containsVertex(root) && exists(root)) {
+            graph.addVertex(root);
+        }
+        return graph;
+    }
+
+    private boolean exists(String gav) {
+        MapSqlParameterSource params = new MapSqlParameterSource("gav", gav);
+        Integer found = jdbc.queryForObject(
+                "SELECT CASE WHEN EXISTS (SELECT 1 FROM artifact WHERE gav = :gav)"
+                        + " OR EXISTS (SELECT 1 FROM dependencyedge WHERE from_gav = :gav OR to_gav = :gav)"
+                        + " THEN 1 ELSE 0 END",
+                params, Integer.class);
+        return found != null && found == 1;
+    }
+
+    private long countEdges() {
+        if (isPostgres()) {
+            Long rows = jdbc.getJdbcTemplate().queryForObject(
+                    "SELECT COALESCE(MAX(reltuples), -1)::bigint FROM pg_class WHERE relname = 'dependencyedge'",
+                    Long.class);
+            if (rows != null && rows >= 0) {
+                return rows;
+            }
+            // Never analyzed: fall back to an exact count
+        }
+        Long rows = jdbc.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM dependencyedge", Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbc.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    private record Estimate(long version, long edges) {
+    }
+}
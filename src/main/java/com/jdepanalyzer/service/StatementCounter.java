@@ -0,0 +1,40 @@
+package com.jdepanalyzer.service;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the JDBC statements Hibernate prepares on the calling thread.
+ *
+ * A transaction's session runs on one thread, so the difference between two
+ * {@link #count()} calls is the statements that thread's work issued, unlike
+ * the SessionFactory-wide statistics, which also include every concurrent
+ * request. Registered as the session factory's statement inspector.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread so far.
+     */
+    public long count() {
+        return COUNT.get()[0];
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
@@ -1,18 +1,26 @@
 package com.jdepanalyzer.service;
 
 import com.jdepanalyzer.dto.MavenProject;
+import com.jdepanalyzer.jfr.PomPersistEvent;
 import com.jdepanalyzer.model.Artifact;
 import com.jdepanalyzer.model.DependencyEdge;
+import com.jdepanalyzer.model.IngestionBatch;
 import com.jdepanalyzer.repository.ArtifactRepository;
 import com.jdepanalyzer.repository.DependencyEdgeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service to handle POM file uploads and data persistence.
@@ -25,13 +33,46 @@ public class UploadService {
     private final PomParser pomParser;
     private final ArtifactRepository artifactRepository;
     private final DependencyEdgeRepository edgeRepository;
+    private final GraphVersionService graphVersionService;
+    private final IngestionHistoryService history;
+    private final DependencyClosureService closure; // null unless jdep.closure.enabled
+
+    private final Timer batchTimer;
+    private final Timer fileParsedTimer;
+    private final Timer fileSkippedTimer;
+    private final DistributionSummary batchDbCalls;
+    private final StatementCounter statements;
 
     public UploadService(PomParser pomParser,
             ArtifactRepository artifactRepository,
-            DependencyEdgeRepository edgeRepository) {
+            DependencyEdgeRepository edgeRepository,
+            GraphVersionService graphVersionService,
+            IngestionHistoryService history,
+            ObjectProvider<DependencyClosureService> closure,
+            StatementCounter statements,
+            MeterRegistry meterRegistry) {
         this.pomParser = pomParser;
         this.artifactRepository = artifactRepository;
         this.edgeRepository = edgeRepository;
+        this.graphVersionService = graphVersionService;
+        this.history = history;
+        this.closure = closure.getIfAvailable();
+        this.batchTimer = Timer.builder("jdep.upload.batch")
+                .description("Time to store one upload request")
+                .register(meterRegistry);
+        this.fileParsedTimer = fileTimer(meterRegistry, "parsed");
+        this.fileSkippedTimer = fileTimer(meterRegistry, "skipped");
+        this.batchDbCalls = DistributionSummary.builder("jdep.upload.batch.db.calls")
+                .description("JDBC statements prepared per upload request")
+                .register(meterRegistry);
+        this.statements = statements;
+    }
+
+    private static Timer fileTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jdep.upload.file")
+                .description("Time to parse and store one uploaded POM")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     /**
@@ -39,25 +80,55 @@ public class UploadService {
      */
     @Transactional
     public UploadResult processUpload(List<MultipartFile> files) {
+        return processUpload(files, false);
+    }
+
+    /**
+     * Process uploaded POM files as one ingestion batch. A full scan stands
+     * for the whole estate: stored edges that none of its POMs declare are
+     * closed in the history and deleted, and so are artifacts that it does
+     * not mention and no remaining edge references. If any file fails to
+     * parse, the scan is incomplete and is recorded as an additive batch
+     * instead, so nothing is removed.
+     */
+    @Transactional
+    public UploadResult processUpload(List<MultipartFile> files, boolean fullScan) {
+        Timer.Sample batch = Timer.start();
+        long statementsBefore = statements.count();
+        IngestionBatch ingestion = history.begin(fullScan);
         int parsed = 0;
         int skipped = 0;
         int newArtifacts = 0;
         int newEdges = 0;
         List<String> errors = new ArrayList<>();
+        List<Artifact> addedArtifacts = new ArrayList<>();
+        List<DependencyEdge> addedEdges = new ArrayList<>();
+        List<IngestionHistoryService.Edge> declared = new ArrayList<>();
+        List<IngestionHistoryService.Edge> inserted = new ArrayList<>();
+        Set<String> scanned = new HashSet<>();
+        boolean closureLocked = false;
 
         for (MultipartFile file : files) {
             String filename = file.getOriginalFilename();
+            Timer.Sample sample = Timer.start();
             try {
                 MavenProject project = pomParser.parse(file.getInputStream());
+                PomPersistEvent persist = new PomPersistEvent();
+                persist.begin();
+                long fileStatementsBefore = statements.count();
+                int artifactsBefore = newArtifacts;
+                int edgesBefore = newEdges;
 
                 // Upsert project artifact
                 Artifact projectArtifact = Artifact.of(
                         project.getProject().getGroupId(),
                         project.getProject().getArtifactId(),
                         project.getProject().getVersion());
+                scanned.add(projectArtifact.getGav());
 
                 if (!artifactRepository.existsById(projectArtifact.getGav())) {
                     artifactRepository.save(projectArtifact);
+                    addedArtifacts.add(projectArtifact);
                     newArtifacts++;
                 }
 
@@ -68,9 +139,11 @@ public class UploadService {
                             dep.getGav().getGroupId(),
                             dep.getGav().getArtifactId(),
                             dep.getGav().getVersion());
+                    scanned.add(depArtifact.getGav());
 
                     if (!artifactRepository.existsById(depArtifact.getGav())) {
                         artifactRepository.save(depArtifact);
+                        addedArtifacts.add(depArtifact);
                         newArtifacts++;
                     }
 
@@ -78,34 +151,96 @@ public class UploadService {
                     String fromGav = projectArtifact.getGav();
                     String toGav = depArtifact.getGav();
                     String scope = dep.getScope() != null ? dep.getScope() : "compile";
+                    IngestionHistoryService.Edge declaredEdge =
+                            new IngestionHistoryService.Edge(fromGav, toGav, scope, dep.getOptional());
+                    declared.add(declaredEdge);
 
                     if (!edgeRepository.existsByFromGavAndToGavAndScopeAndOptional(
                             fromGav, toGav, scope, dep.getOptional())) {
                         DependencyEdge edge = DependencyEdge.of(fromGav, toGav, scope, dep.getOptional());
-                        edgeRepository.save(edge);
+                        addedEdges.add(edgeRepository.save(edge));
+                        inserted.add(declaredEdge);
                         newEdges++;
+                        if (closure != null) {
+                            if (!closureLocked) {
+                                closure.lock();
+                                closureLocked = true;
+                            }
+                            closure.addEdge(fromGav, toGav);
+                        }
                     }
                 }
 
+                persist.end();
+                if (persist.shouldCommit()) {
+                    persist.fileName = filename;
+                    persist.gav = projectArtifact.getGav();
+                    persist.dependencies = project.getDependencies().size();
+                    persist.newArtifacts = newArtifacts - artifactsBefore;
+                    persist.newEdges = newEdges - edgesBefore;
+                    persist.dbCalls = (int) (statements.count() - fileStatementsBefore);
+                    persist.commit();
+                }
+
                 parsed++;
                 log.info("Parsed POM: {} -> {} dependencies",
                         project.getProject().compact(), project.getDependencies().size());
+                sample.stop(fileParsedTimer);
 
             } catch (Exception e) {
                 log.warn("Failed to parse {}: {}", filename, e.getMessage());
                 errors.add(filename + ": " + e.getMessage());
                 skipped++;
+                sample.stop(fileSkippedTimer);
+            }
+        }
+
+        if (fullScan && skipped > 0) {
+            log.warn("Full scan had {} unparsable file(s); recording it as additive, nothing is removed", skipped);
+            ingestion.setFullScan(false);
+        }
+        List<IngestionHistoryService.Edge> closed = history.record(ingestion, inserted, declared);
+        for (IngestionHistoryService.Edge edge : closed) {
+            edgeRepository.findByFromGavAndToGavAndScopeAndOptional(
+                    edge.fromGav(), edge.toGav(), edge.scope(), edge.optional())
+                    .ifPresent(edgeRepository::delete);
+        }
+        int removedArtifacts = 0;
+        if (Boolean.TRUE.equals(ingestion.getFullScan())) {
+            edgeRepository.flush();
+            for (Artifact artifact : artifactRepository.findUnreferenced()) {
+                if (!scanned.contains(artifact.getGav())) {
+                    artifactRepository.delete(artifact);
+                    removedArtifacts++;
+                }
+            }
+        }
+
+        graphVersionService.recordChange(addedArtifacts, addedEdges);
+        if (!closed.isEmpty() || removedArtifacts > 0) {
+            graphVersionService.recordRemoval();
+            if (closure != null && !closed.isEmpty()) {
+                edgeRepository.flush();
+                closure.rebuild();
             }
         }
+        edgeRepository.flush(); // count the statements commit would otherwise issue
+        batchDbCalls.record(statements.count() - statementsBefore);
+        batch.stop(batchTimer);
 
-        return new UploadResult(parsed, skipped, newArtifacts, newEdges, errors);
+        return new UploadResult(ingestion.getId(), Boolean.TRUE.equals(ingestion.getFullScan()), parsed, skipped,
+                newArtifacts, newEdges, closed.size(), removedArtifacts, errors);
     }
 
     public record UploadResult(
+            long batchId,
+            boolean fullScan,
             int parsed,
             int skipped,
             int newArtifacts,
             int newEdges,
+            int removedEdges,
+            int removedArtifacts,
             List<String> errors) {
     }
 }
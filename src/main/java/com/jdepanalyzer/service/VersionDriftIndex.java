@@ -0,0 +1,159 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.dto.GAV;
+import com.jdepanalyzer.model.DependencyEdge;
+import com.jdepanalyzer.repository.DependencyEdgeRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintained index of which versions of each groupId:artifactId are referenced,
+ * and by whom: GA -> version -> consumer GAVs.
+ *
+ * Built lazily from {@code dependencyedge} and updated from upload deltas, so
+ * the drift report never scans the edge table. Consumers are kept as sets,
+ * which makes re-applying an edge harmless. References with an "Unknown"
+ * version are left out; they say nothing about drift. So are {@code parent}
+ * edges: a parent POM is inherited, not consumed.
+ */
+@Service
+public class VersionDriftIndex {
+
+    private final DependencyEdgeRepository edgeRepository;
+    private final GraphVersionService graphVersionService;
+    private final PrimaryReads primaryReads;
+
+    private volatile Map<String, Map<String, Set<String>>> byGa = new ConcurrentHashMap<>();
+    private volatile long builtVersion = -1;
+
+    public VersionDriftIndex(DependencyEdgeRepository edgeRepository, GraphVersionService graphVersionService,
+            PrimaryReads primaryReads) {
+        this.edgeRepository = edgeRepository;
+        this.graphVersionService = graphVersionService;
+        this.primaryReads = primaryReads;
+    }
+
+    /**
+     * Build the drift report for every GA referenced in at least {@code minVersions}
+     * distinct versions, most fragmented first.
+     *
+     * @param gaFilter if not null, only GAs containing this text (case-insensitive)
+     */
+    public List<Drift> report(int minVersions, String gaFilter, int limit) {
+        String filter = gaFilter != null && !gaFilter.isEmpty() ? gaFilter.toLowerCase() : null;
+        List<Drift> result = new ArrayList<>();
+
+        for (Map.Entry<String, Map<String, Set<String>>> entry : current().entrySet()) {
+            String ga = entry.getKey();
+            if (entry.getValue().size() < minVersions) {
+                continue;
+            }
+            if (filter != null && !ga.toLowerCase().contains(filter)) {
+                continue;
+            }
+            result.add(drift(ga, entry.getValue()));
+        }
+
+        result.sort(Comparator.comparingInt((Drift d) -> d.versions().size()).reversed()
+                .thenComparing(Comparator.comparingInt(Drift::consumerCount).reversed())
+                .thenComparing(Drift::ga));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    @EventListener
+    public synchronized void onGraphChanged(GraphChangedEvent event) {
+        if (builtVersion != event.fromVersion()) {
+            return; // stale: the next reader rebuilds
+        }
+        for (DependencyEdge edge : event.addedEdges()) {
+            add(byGa, edge);
+        }
+        builtVersion = event.toVersion();
+    }
+
+    private Drift drift(String ga, Map<String, Set<String>> versions) {
+        List<VersionUsage> usages = new ArrayList<>();
+        Set<String> consumers = new HashSet<>();
+        for (Map.Entry<String, Set<String>> entry : versions.entrySet()) {
+            usages.add(new VersionUsage(entry.getKey(), entry.getValue().size()));
+            consumers.addAll(entry.getValue());
+        }
+        // Newest first
+        usages.sort(Comparator.comparing(VersionUsage::version, MavenVersions.COMPARATOR).reversed());
+
+        // Dominant = most consumers; the newer version wins a tie
+        VersionUsage dominant = usages.get(0);
+        for (VersionUsage usage : usages) {
+            if (usage.consumers() > dominant.consumers()) {
+                dominant = usage;
+            }
+        }
+
+        List<Outlier> outliers = new ArrayList<>();
+        for (VersionUsage usage : usages) {
+            if (usage == dominant) {
+                continue;
+            }
+            for (String consumer : new TreeSet<>(versions.get(usage.version()))) {
+                outliers.add(new Outlier(consumer, usage.version()));
+            }
+        }
+
+        return new Drift(ga, consumers.size(), usages.get(0).version(), dominant.version(), usages, outliers);
+    }
+
+    /**
+     * The index, rebuilt only when it missed a delta; see {@link VersionIndex}.
+     */
+    private Map<String, Map<String, Set<String>>> current() {
+        long built = builtVersion;
+        if (built != graphVersionService.current() && !graphVersionService.deltaPending(built)) {
+            rebuild();
+        }
+        return byGa;
+    }
+
+    private synchronized void rebuild() {
+        long version = graphVersionService.current();
+        if (builtVersion == version) {
+            return;
+        }
+        Map<String, Map<String, Set<String>>> fresh = new ConcurrentHashMap<>();
+        for (DependencyEdge edge : primaryReads.load(edgeRepository::findAll)) {
+            add(fresh, edge);
+        }
+        byGa = fresh;
+        builtVersion = version;
+    }
+
+    private static void add(Map<String, Map<String, Set<String>>> index, DependencyEdge edge) {
+        if ("parent".equals(edge.getScope())) {
+            return;
+        }
+        GAV target = GAV.parse(edge.getToGav());
+        if (!MavenVersions.isKnown(target.getVersion())) {
+            return;
+        }
+        index.computeIfAbsent(target.getGroupId() + ":" + target.getArtifactId(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(target.getVersion(), k -> ConcurrentHashMap.newKeySet())
+                .add(edge.getFromGav());
+    }
+
+    public record VersionUsage(String version, int consumers) {
+    }
+
+    public record Outlier(String consumer, String version) {
+    }
+
+    public record Drift(
+            String ga,
+            int consumerCount,
+            String latestVersion,
+            String dominantVersion,
+            List<VersionUsage> versions,
+            List<Outlier> outliers) {
+    }
+}
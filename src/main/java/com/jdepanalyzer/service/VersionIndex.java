@@ -0,0 +1,130 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.model.Artifact;
+import com.jdepanalyzer.repository.ArtifactRepository;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.apache.maven.artifact.versioning.Restriction;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index of artifact versions per groupId:artifactId, sorted with
+ * Maven version semantics so range queries are sub-map lookups.
+ *
+ * Built lazily from the {@code artifact} table and kept current by applying
+ * upload deltas; it is only rebuilt after a delta was missed or the graph was
+ * invalidated. Artifacts with an "Unknown" version are not indexed.
+ */
+@Service
+public class VersionIndex {
+
+    private final ArtifactRepository artifactRepository;
+    private final GraphVersionService graphVersionService;
+    private final PrimaryReads primaryReads;
+
+    private volatile Map<String, NavigableMap<ComparableVersion, Set<String>>> byGa = new ConcurrentHashMap<>();
+    private volatile long builtVersion = -1;
+
+    public VersionIndex(ArtifactRepository artifactRepository, GraphVersionService graphVersionService,
+            PrimaryReads primaryReads) {
+        this.artifactRepository = artifactRepository;
+        this.graphVersionService = graphVersionService;
+        this.primaryReads = primaryReads;
+    }
+
+    /**
+     * GAVs of the given groupId:artifactId whose version falls in the range,
+     * in ascending version order.
+     */
+    public List<String> findInRange(String ga, VersionRange range) {
+        NavigableMap<ComparableVersion, Set<String>> versions = current().get(ga);
+        if (versions == null) {
+            return List.of();
+        }
+
+        List<String> result = new ArrayList<>();
+        for (Restriction restriction : range.getRestrictions()) {
+            NavigableMap<ComparableVersion, Set<String>> slice = versions;
+            ArtifactVersion lower = restriction.getLowerBound();
+            ArtifactVersion upper = restriction.getUpperBound();
+            if (lower != null) {
+                slice = slice.tailMap(MavenVersions.parse(lower.toString()), restriction.isLowerBoundInclusive());
+            }
+            if (upper != null) {
+                slice = slice.headMap(MavenVersions.parse(upper.toString()), restriction.isUpperBoundInclusive());
+            }
+            for (Set<String> gavs : slice.values()) {
+                result.addAll(new TreeSet<>(gavs));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * All indexed versions of a groupId:artifactId, ascending.
+     */
+    public List<String> versionsOf(String ga) {
+        NavigableMap<ComparableVersion, Set<String>> versions = current().get(ga);
+        if (versions == null) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        for (ComparableVersion version : versions.keySet()) {
+            result.add(version.toString());
+        }
+        return result;
+    }
+
+    @EventListener
+    public synchronized void onGraphChanged(GraphChangedEvent event) {
+        if (builtVersion != event.fromVersion()) {
+            return; // stale: the next reader rebuilds
+        }
+        for (Artifact artifact : event.addedArtifacts()) {
+            add(byGa, artifact);
+        }
+        builtVersion = event.toVersion();
+    }
+
+    /**
+     * The index, rebuilt only when it missed a delta. Between the version bump
+     * and the delivery of its {@link GraphChangedEvent} the delta is still on
+     * its way, so the index keeps serving, like {@link ResidentGraphService}.
+     */
+    private Map<String, NavigableMap<ComparableVersion, Set<String>>> current() {
+        long built = builtVersion;
+        if (built != graphVersionService.current() && !graphVersionService.deltaPending(built)) {
+            rebuild();
+        }
+        return byGa;
+    }
+
+    private synchronized void rebuild() {
+        long version = graphVersionService.current();
+        if (builtVersion == version) {
+            return;
+        }
+        Map<String, NavigableMap<ComparableVersion, Set<String>>> fresh = new ConcurrentHashMap<>();
+        for (Artifact artifact : primaryReads.load(artifactRepository::findAll)) {
+            add(fresh, artifact);
+        }
+        byGa = fresh;
+        builtVersion = version;
+    }
+
+    private static void add(Map<String, NavigableMap<ComparableVersion, Set<String>>> index, Artifact artifact) {
+        if (!MavenVersions.isKnown(artifact.getVersion())) {
+            return;
+        }
+        index.computeIfAbsent(artifact.getGroupId() + ":" + artifact.getArtifactId(),
+                        k -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(MavenVersions.parse(artifact.getVersion()), k -> ConcurrentHashMap.newKeySet())
+                .add(artifact.getGav());
+    }
+}
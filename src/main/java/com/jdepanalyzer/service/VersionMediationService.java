@@ -0,0 +1,203 @@
+package com.jdepanalyzer.service;
+
+import com.jdepanalyzer.dto.GAV;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Computes the dependency tree Maven would actually resolve for a root GAV.
+ *
+ * Conflicts are mediated the Maven way: the nearest declaration of a
+ * groupId:artifactId wins, and among equally near declarations the first one
+ * declared wins. Parent edges are not dependencies and are never followed;
+ * test/provided and optional dependencies are only honoured on the root.
+ *
+ * Resolution walks the resident {@link GraphIndex}, whose outgoing edges keep
+ * declaration order, so no request reads the database.
+ */
+@Service
+public class VersionMediationService {
+
+    private final ResidentGraphService residentGraphService;
+
+    public VersionMediationService(ResidentGraphService residentGraphService) {
+        this.residentGraphService = residentGraphService;
+    }
+
+    /**
+     * Resolve several roots against one snapshot of the resident graph.
+     * Roots share a single {@link Session}, so repeated roots and the
+     * per-GAV child lists are computed only once per call.
+     */
+    public List<Resolution> resolve(List<String> roots, Set<String> rootScopes) {
+        Session session = newSession(residentGraphService.current());
+        List<Resolution> results = new ArrayList<>();
+        for (String root : roots) {
+            results.add(session.resolve(root, rootScopes));
+        }
+        return results;
+    }
+
+    public Session newSession(GraphIndex graph) {
+        return new Session(graph);
+    }
+
+    /**
+     * Maven scope mediation: the scope a transitive dependency ends up with,
+     * given the scope of the dependency that brought it in. Returns null when
+     * the transitive dependency is not inherited at all.
+     */
+    static String mediateScope(String parentScope, String childScope) {
+        if (!"compile".equals(childScope) && !"runtime".equals(childScope)) {
+            return null;
+        }
+        return switch (parentScope) {
+            case "compile" -> childScope;
+            case "runtime" -> "runtime";
+            case "provided" -> "provided";
+            case "test" -> "test";
+            default -> null;
+        };
+    }
+
+    /**
+     * Resolution state shared between roots. Memoizes, per GAV, the declared
+     * dependency list in declaration order, and per root the full resolution.
+     *
+     * Whole subtrees are deliberately not memoized: under nearest-wins a choice
+     * made higher up the tree can prune or replace any part of a subtree, so a
+     * subtree resolved on its own is not reusable inside another root.
+     */
+    public static class Session {
+
+        private final GraphIndex graph;
+        private final Map<String, List<Declared>> declaredCache = new HashMap<>();
+        private final Map<String, Resolution> resolutionCache = new HashMap<>();
+
+        Session(GraphIndex graph) {
+            this.graph = graph;
+        }
+
+        public Resolution resolve(String root, Set<String> rootScopes) {
+            String key = root + "|" + (rootScopes != null ? new TreeSet<>(rootScopes) : "*");
+            return resolutionCache.computeIfAbsent(key, k -> doResolve(root, rootScopes));
+        }
+
+        private Resolution doResolve(String root, Set<String> rootScopes) {
+            if (root == null || graph.id(root) < 0) {
+                return new Resolution(root, false, List.of(), List.of());
+            }
+
+            // GA -> winning entry, in the order the winners were chosen
+            Map<String, ResolvedDependency> chosen = new LinkedHashMap<>();
+            // GA -> versions that lost mediation, in encounter order
+            Map<String, Set<String>> omitted = new LinkedHashMap<>();
+
+            chosen.put(ga(root), new ResolvedDependency(ga(root), GAV.parse(root).getVersion(), root, 0, null, null));
+
+            // Level-order walk; each queue entry is a node whose dependencies still need visiting
+            Deque<ResolvedDependency> queue = new ArrayDeque<>();
+            queue.add(chosen.get(ga(root)));
+
+            while (!queue.isEmpty()) {
+                ResolvedDependency current = queue.poll();
+                boolean isRoot = current.depth() == 0;
+
+                for (Declared dep : declared(current.gav())) {
+                    String scope;
+                    if (isRoot) {
+                        if (rootScopes != null && !rootScopes.isEmpty() && !rootScopes.contains(dep.scope())) {
+                            continue;
+                        }
+                        scope = dep.scope();
+                    } else {
+                        if (dep.optional()) {
+                            continue;
+                        }
+                        scope = mediateScope(current.scope(), dep.scope());
+                        if (scope == null) {
+                            continue;
+                        }
+                    }
+
+                    String depGa = ga(dep.gav());
+                    String depVersion = GAV.parse(dep.gav()).getVersion();
+                    ResolvedDependency winner = chosen.get(depGa);
+                    if (winner != null) {
+                        // Anything seen later is either farther away or declared later: it loses
+                        if (!winner.version().equals(depVersion)) {
+                            omitted.computeIfAbsent(depGa, k -> new LinkedHashSet<>()).add(depVersion);
+                        }
+                        continue;
+                    }
+
+                    ResolvedDependency entry = new ResolvedDependency(
+                            depGa, depVersion, dep.gav(), current.depth() + 1, scope, current.gav());
+                    chosen.put(depGa, entry);
+                    queue.add(entry);
+                }
+            }
+
+            List<ResolvedDependency> resolved = new ArrayList<>(chosen.values());
+            resolved.remove(0); // the root itself
+
+            List<Conflict> conflicts = new ArrayList<>();
+            for (Map.Entry<String, Set<String>> entry : omitted.entrySet()) {
+                ResolvedDependency winner = chosen.get(entry.getKey());
+                conflicts.add(new Conflict(entry.getKey(), winner.version(), new ArrayList<>(entry.getValue())));
+            }
+
+            return new Resolution(root, true, resolved, conflicts);
+        }
+
+        /**
+         * Declared dependencies of a GAV in declaration order (out-edges keep edge id
+         * order, which follows the order they appear in the POM). Parent edges are dropped.
+         */
+        private List<Declared> declared(String gav) {
+            return declaredCache.computeIfAbsent(gav, g -> {
+                List<Declared> result = new ArrayList<>();
+                int node = graph.id(g);
+                for (int e = graph.outBegin(node); e < graph.outEnd(node); e++) {
+                    String scope = graph.scopeName(graph.outScope(e));
+                    if ("parent".equals(scope)) {
+                        continue;
+                    }
+                    result.add(new Declared(graph.gav(graph.outTarget(e)), scope, graph.outOptional(e)));
+                }
+                return result;
+            });
+        }
+
+        private static String ga(String gav) {
+            GAV parsed = GAV.parse(gav);
+            return parsed.getGroupId() + ":" + parsed.getArtifactId();
+        }
+    }
+
+    private record Declared(String gav, String scope, boolean optional) {
+    }
+
+    public record ResolvedDependency(
+            String ga,
+            String version,
+            String gav,
+            int depth,
+            String scope,
+            String via) {
+    }
+
+    public record Conflict(
+            String ga,
+            String chosenVersion,
+            List<String> omittedVersions) {
+    }
+
+    public record Resolution(
+            String root,
+            boolean found,
+            List<ResolvedDependency> resolved,
+            List<Conflict> conflicts) {
+    }
+}
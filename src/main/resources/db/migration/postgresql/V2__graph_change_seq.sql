@@ -0,0 +1,3 @@
+-- V2: Sequence numbering graph change notifications between instances
+
+CREATE SEQUENCE IF NOT EXISTS graph_change_seq;
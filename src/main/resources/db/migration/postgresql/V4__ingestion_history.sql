@@ -0,0 +1,20 @@
+-- V4: Ingestion batches, and the range of batches in which each edge existed
+
+CREATE TABLE IF NOT EXISTS ingestion_batch (
+    id BIGSERIAL PRIMARY KEY,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    full_scan BOOLEAN
+);
+
+CREATE TABLE IF NOT EXISTS edge_validity (
+    id BIGSERIAL PRIMARY KEY,
+    from_gav VARCHAR(500) NOT NULL,
+    to_gav VARCHAR(500) NOT NULL,
+    scope VARCHAR(50),
+    optional BOOLEAN,
+    valid_from BIGINT NOT NULL,
+    valid_to BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_validity_from ON edge_validity(valid_from);
+CREATE INDEX IF NOT EXISTS idx_validity_to ON edge_validity(valid_to);
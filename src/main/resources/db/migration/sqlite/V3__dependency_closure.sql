@@ -0,0 +1,10 @@
+-- V3: Transitive closure, maintained on upload when jdep.closure.enabled is set
+
+CREATE TABLE IF NOT EXISTS dependency_closure (
+    ancestor TEXT NOT NULL,
+    descendant TEXT NOT NULL,
+    min_depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestor, descendant)
+);
+
+CREATE INDEX IF NOT EXISTS idx_closure_descendant ON dependency_closure(descendant);
@@ -0,0 +1,4 @@
+-- V5: At most one open validity range per edge
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_validity_open ON edge_validity
+    (from_gav, to_gav, COALESCE(scope, ''), COALESCE(optional, 0)) WHERE valid_to IS NULL;
@@ -0,0 +1,92 @@
+package com.jdepanalyzer.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/artifacts/search endpoint.
+ *
+ * BDD-style tests for the trigram-backed artifact typeahead.
+ */
+class ArtifactSearchApiTest extends BaseApiTest {
+
+    // ========================================================================
+    // Scenario: Ranked substring search
+    // ========================================================================
+    @Test
+    @DisplayName("Given artifacts with similar names, when I search, then exact and prefix artifactId matches rank first")
+    void search_shouldRankArtifactIdMatchesFirst() {
+        // Given: core, core-utils and a group containing "core"
+        saveEdge("org.example:core-utils:1.0", "org.example:core:1.0");
+        saveEdge("org.example:app:1.0", "com.core.tools:helper:2.0");
+        saveEdge("org.example:app:1.0", "org.example:hardcore:1.0");
+
+        // When: I search for "core"
+        List<Map<String, Object>> items = search("core", 10);
+
+        // Then: exact, then prefix, then group segment, then substring
+        assertThat(items).extracting(i -> i.get("gav")).containsExactly(
+                "org.example:core:1.0",
+                "org.example:core-utils:1.0",
+                "com.core.tools:helper:2.0",
+                "org.example:hardcore:1.0");
+        assertThat(items.get(0).get("artifact_id")).isEqualTo("core");
+    }
+
+    // ========================================================================
+    // Scenario: Multi-token and short queries
+    // ========================================================================
+    @Test
+    @DisplayName("Given several versions, when I search with two tokens or a short prefix, then all tokens must match")
+    void search_withTokensAndShortPrefix_shouldMatch() {
+        // Given: two versions of one artifact and another artifact
+        saveEdge("org.slf4j:slf4j-api:2.0.9", "org.slf4j:slf4j-api:1.7.36");
+        saveEdge("org.slf4j:slf4j-simple:2.0.9", "org.slf4j:slf4j-api:2.0.9");
+
+        // When / Then: "SLF4J-API 2.0" needs both tokens, case-insensitively
+        assertThat(search("SLF4J-API 2.0", 10)).extracting(i -> i.get("gav"))
+                .containsExactly("org.slf4j:slf4j-api:2.0.9");
+
+        // And: a two-character query uses the name prefix lookup
+        assertThat(search("sl", 10)).hasSize(3);
+    }
+
+    // ========================================================================
+    // Scenario: Index follows uploads
+    // ========================================================================
+    @Test
+    @DisplayName("Given a searched index, when a POM is uploaded, then its artifacts become searchable")
+    void search_afterUpload_shouldFindNewArtifacts() throws IOException {
+        // Given: A built index without spring-context
+        uploadPomFiles("spring-core-6.2.15.pom");
+        assertThat(search("spring-context", 10)).isEmpty();
+
+        // When: spring-context is uploaded
+        uploadPomFiles("spring-context-6.2.15.pom");
+
+        // Then: It is found, and limit is honoured
+        assertThat(search("spring-context", 10)).extracting(i -> i.get("gav"))
+                .contains("org.springframework:spring-context:6.2.15");
+        assertThat(search("spring", 2)).hasSize(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> search(String q, int limit) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/artifacts/search?q={q}&limit={limit}"), HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                }, q, limit);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (List<Map<String, Object>>) response.getBody().get("items");
+    }
+}
@@ -3,11 +3,13 @@ package com.jdepanalyzer.api;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -115,4 +117,89 @@ class ArtifactsApiTest extends BaseApiTest {
             assertThat(artifact.get("version")).isEqualTo("6.2.15");
         });
     }
+
+    // ========================================================================
+    // Scenario: Keyset pagination with a cursor
+    // ========================================================================
+    @Test
+    @DisplayName("Given more artifacts than a page, when I follow the next cursor, then I walk every artifact once in gav order")
+    void getArtifacts_withCursor_shouldWalkAllPages() {
+        // Given: Five artifacts
+        for (int i = 0; i < 4; i++) {
+            saveEdge("g:app" + i + ":1", "g:lib:1");
+        }
+
+        // When: I page through them two at a time
+        List<Object> gavs = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ResponseEntity<List<Map<String, Object>>> response = restTemplate.exchange(
+                    apiUrl("/api/artifacts?limit=2" + (cursor != null ? "&after=" + cursor : "")),
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<>() {
+                    });
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            response.getBody().forEach(a -> gavs.add(a.get("gav")));
+            cursor = response.getHeaders().getFirst("X-Next-Cursor");
+            if (cursor != null) {
+                assertThat(response.getHeaders().getFirst(HttpHeaders.LINK)).contains("after=" + cursor, "rel=\"next\"");
+            }
+            pages++;
+        } while (cursor != null);
+
+        // Then: Three pages covering all five artifacts in order
+        assertThat(pages).isEqualTo(3);
+        assertThat(gavs).containsExactly("g:app0:1", "g:app1:1", "g:app2:1", "g:app3:1", "g:lib:1");
+    }
+
+    // ========================================================================
+    // Scenario: Sorting by another column
+    // ========================================================================
+    @Test
+    @DisplayName("Given artifacts, when I sort by artifact_id descending, then pages follow that order")
+    void getArtifacts_withSort_shouldOrderAcrossPages() {
+        // Given: Artifacts whose gav and artifactId orders differ
+        saveEdge("a:zeta:1", "z:alpha:1");
+        saveEdge("m:mid:1", "z:alpha:2");
+
+        // When: I request the first page and then the rest
+        ResponseEntity<List<Map<String, Object>>> first = restTemplate.exchange(
+                apiUrl("/api/artifacts?limit=2&sort=artifact_id&order=desc"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+        ResponseEntity<List<Map<String, Object>>> rest = restTemplate.exchange(
+                apiUrl("/api/artifacts?limit=2&sort=artifact_id&order=desc&after="
+                        + first.getHeaders().getFirst("X-Next-Cursor")),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+
+        // Then: zeta, mid, then both alpha versions with gav as the tiebreaker
+        assertThat(first.getBody()).extracting(a -> a.get("gav")).containsExactly("a:zeta:1", "m:mid:1");
+        assertThat(rest.getBody()).extracting(a -> a.get("gav")).containsExactly("z:alpha:2", "z:alpha:1");
+        assertThat(rest.getHeaders().getFirst("X-Next-Cursor")).isNull();
+    }
+
+    // ========================================================================
+    // Scenario: Invalid sort or cursor
+    // ========================================================================
+    @Test
+    @DisplayName("Given a cursor issued for another sort, when I use it, then I get a 400")
+    void getArtifacts_withForeignCursor_shouldReturnBadRequest() {
+        // Given: A cursor from a gav-sorted page
+        saveEdge("g:a:1", "g:b:1");
+        String cursor = restTemplate.exchange(apiUrl("/api/artifacts?limit=1"), HttpMethod.GET, null, String.class)
+                .getHeaders().getFirst("X-Next-Cursor");
+
+        // When / Then: It is rejected for a group_id sort, as is an unknown sort
+        assertThat(restTemplate.exchange(apiUrl("/api/artifacts?sort=group_id&after=" + cursor),
+                HttpMethod.GET, null, String.class).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.exchange(apiUrl("/api/artifacts?sort=size"),
+                HttpMethod.GET, null, String.class).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
 }
@@ -1,22 +1,35 @@
 package com.jdepanalyzer.api;
 
+import com.jdepanalyzer.model.Artifact;
+import com.jdepanalyzer.model.DependencyEdge;
 import com.jdepanalyzer.repository.ArtifactRepository;
 import com.jdepanalyzer.repository.DependencyEdgeRepository;
+import com.jdepanalyzer.repository.EdgeValidityRepository;
+import com.jdepanalyzer.repository.IngestionBatchRepository;
+import com.jdepanalyzer.service.GraphVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Base class for API integration tests.
@@ -43,13 +56,26 @@ public abstract class BaseApiTest {
     @Autowired
     protected DependencyEdgeRepository edgeRepository;
 
+    @Autowired
+    protected EdgeValidityRepository edgeValidityRepository;
+
+    @Autowired
+    protected IngestionBatchRepository ingestionBatchRepository;
+
+    @Autowired
+    protected GraphVersionService graphVersionService;
+
     /**
      * Clean up database before each test to ensure independence.
+     * The graph version is bumped so no in-memory index outlives the data.
      */
     @BeforeEach
     void cleanDatabase() {
         edgeRepository.deleteAll();
         artifactRepository.deleteAll();
+        edgeValidityRepository.deleteAll();
+        ingestionBatchRepository.deleteAll();
+        graphVersionService.invalidate();
     }
 
     /**
@@ -99,4 +125,57 @@ public abstract class BaseApiTest {
         HttpEntity<MultiValueMap<String, Object>> entity = createUploadEntity(pomFilenames);
         restTemplate.postForEntity(apiUrl("/api/upload"), entity, String.class);
     }
+
+    /**
+     * GET /api/graph/data with the given query string (including the leading
+     * "?", or empty), asserting 200 OK.
+     */
+    protected Map<String, Object> graphData(String query) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/data" + query), HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    /**
+     * Ids of the node elements of a /api/graph/data response, in response order.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<Object> nodeIds(Map<String, Object> body) {
+        return ((List<Map<String, Object>>) body.get("elements")).stream()
+                .map(element -> (Map<String, Object>) element.get("data"))
+                .filter(data -> !data.containsKey("source"))
+                .map(data -> data.get("id"))
+                .toList();
+    }
+
+    /**
+     * Insert a compile-scope edge (and its artifacts) directly into the database.
+     * Helper for tests that need a graph shape no sample POM provides.
+     */
+    protected void saveEdge(String fromGav, String toGav) {
+        saveEdge(fromGav, toGav, "compile");
+    }
+
+    /**
+     * Insert an edge with the given scope directly into the database.
+     */
+    protected void saveEdge(String fromGav, String toGav, String scope) {
+        saveEdge(fromGav, toGav, scope, null);
+    }
+
+    /**
+     * Insert an edge with the given scope and optional flag directly into the database.
+     */
+    protected void saveEdge(String fromGav, String toGav, String scope, Boolean optional) {
+        for (String gav : List.of(fromGav, toGav)) {
+            if (!artifactRepository.existsById(gav)) {
+                artifactRepository.save(Artifact.fromGav(gav));
+            }
+        }
+        edgeRepository.save(DependencyEdge.of(fromGav, toGav, scope, optional));
+        graphVersionService.invalidate();
+    }
 }
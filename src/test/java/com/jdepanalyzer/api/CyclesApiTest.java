@@ -0,0 +1,95 @@
+package com.jdepanalyzer.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/graph/cycles endpoint.
+ *
+ * BDD-style tests for strongly connected component detection.
+ */
+class CyclesApiTest extends BaseApiTest {
+
+    // ========================================================================
+    // Scenario: Acyclic graph
+    // ========================================================================
+    @Test
+    @DisplayName("Given an acyclic graph, when I request cycles, then none are reported")
+    void getCycles_withAcyclicGraph_shouldReturnNone() throws IOException {
+        // Given: spring-context and its dependencies (a DAG)
+        uploadPomFiles("spring-context-6.2.15.pom", "spring-core-6.2.15.pom");
+
+        // When: I request cycles
+        Map<String, Object> body = cycles("");
+
+        // Then: No cycles, one component per node
+        assertThat(body.get("cycle_count")).isEqualTo(0);
+        assertThat(body.get("component_count")).isEqualTo(body.get("node_count"));
+    }
+
+    // ========================================================================
+    // Scenario: Cycle in the atomic graph
+    // ========================================================================
+    @Test
+    @DisplayName("Given a three-node cycle, when I request cycles, then its members form one component")
+    @SuppressWarnings("unchecked")
+    void getCycles_withCycle_shouldReturnComponentMembers() {
+        // Given: a -> b -> c -> a, plus c -> d outside the cycle
+        saveEdge("g:a:1", "g:b:1");
+        saveEdge("g:b:1", "g:c:1");
+        saveEdge("g:c:1", "g:a:1");
+        saveEdge("g:c:1", "g:d:1");
+
+        // When: I request cycles
+        Map<String, Object> body = cycles("");
+
+        // Then: Exactly one cycle with a, b and c
+        List<Map<String, Object>> cycles = (List<Map<String, Object>>) body.get("cycles");
+        assertThat(cycles).singleElement().satisfies(cycle ->
+                assertThat((List<String>) cycle.get("members")).containsExactly("g:a:1", "g:b:1", "g:c:1"));
+        assertThat(body.get("component_count")).isEqualTo(2);
+        assertThat(body.get("dag_edge_count")).isEqualTo(1);
+    }
+
+    // ========================================================================
+    // Scenario: Cycle introduced by version aggregation
+    // ========================================================================
+    @Test
+    @DisplayName("Given a graph acyclic per version, when I request cycles with show_version=false, then the merged cycle is reported")
+    @SuppressWarnings("unchecked")
+    void getCycles_withAggregation_shouldDetectMergedCycle() {
+        // Given: a:1 -> b:1 -> a:2 (acyclic until versions are merged)
+        saveEdge("g:a:1", "g:b:1");
+        saveEdge("g:b:1", "g:a:2");
+        assertThat(cycles("").get("cycle_count")).isEqualTo(0);
+
+        // When: I request cycles with versions hidden
+        Map<String, Object> body = cycles("?show_version=false");
+
+        // Then: g:a and g:b form a cycle
+        List<Map<String, Object>> cycles = (List<Map<String, Object>>) body.get("cycles");
+        assertThat(cycles).singleElement().satisfies(cycle ->
+                assertThat((List<String>) cycle.get("members")).containsExactly("g:a", "g:b"));
+    }
+
+    private Map<String, Object> cycles(String params) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/cycles" + params),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
@@ -2,6 +2,9 @@ package com.jdepanalyzer.api;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -148,6 +151,52 @@ class DependenciesApiTest extends BaseApiTest {
         assertThat(response.getBody()).hasSize(1);
     }
 
+    @Test
+    @DisplayName("Given a previous table response, when I revalidate with If-None-Match, then I get 304 with validators")
+    void getDependenciesTable_withMatchingEtag_shouldReturnNotModified() throws IOException {
+        // Given: A first response carrying ETag and Last-Modified
+        uploadPomFiles("spring-context-6.2.15.pom");
+        ResponseEntity<String> first = restTemplate.getForEntity(
+                apiUrl("/api/dependencies/table"), String.class);
+        assertThat(first.getHeaders().getETag()).isNotBlank();
+        assertThat(first.getHeaders().getLastModified()).isPositive();
+        assertThat(first.getHeaders().getCacheControl()).isEqualTo("no-cache");
+
+        // When: I send the same request with If-None-Match
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(first.getHeaders().getETag());
+        ResponseEntity<String> second = restTemplate.exchange(
+                apiUrl("/api/dependencies/table"), HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Then: The server answers 304 without a body
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given dependencies exist, when I request the table with explain=true, then I get its stage profile instead of rows")
+    @SuppressWarnings("unchecked")
+    void getDependenciesTable_withExplain_shouldReturnProfile() throws IOException {
+        // Given: spring-context with several dependencies
+        uploadPomFiles("spring-context-6.2.15.pom");
+        long edges = edgeRepository.count();
+
+        // When: I ask for the explain profile of a filtered query
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+                apiUrl("/api/dependencies/table?q=spring-core&explain=true"), Map.class);
+
+        // Then: Every edge was scanned and one row matched
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Map<String, Object> explain = (Map<String, Object>) response.getBody().get("explain");
+        assertThat(((Number) explain.get("rows_scanned")).longValue()).isEqualTo(edges);
+        assertThat(explain.get("rows_returned")).isEqualTo(1);
+        assertThat((List<Map<String, Object>>) explain.get("stages")).extracting(st -> st.get("name"))
+                .containsExactly("load", "filter");
+
+        // And: The stages are also in Server-Timing for browser devtools
+        assertThat(response.getHeaders().getFirst("Server-Timing")).contains("load;dur=", "filter;dur=", "total;dur=");
+    }
+
     // ========================================================================
     // /api/dependencies/export - CSV Export Tests
     // ========================================================================
@@ -0,0 +1,93 @@
+package com.jdepanalyzer.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the materialized {@code dependency_closure} table.
+ *
+ * BDD-style tests for incremental closure maintenance on upload, and for
+ * graph queries answered from the closure instead of a recursive walk.
+ */
+@TestPropertySource(properties = {
+        "jdep.closure.enabled=true",
+        "jdep.graph.in-memory-max-edges=0"
+})
+class DependencyClosureApiTest extends BaseApiTest {
+
+    private static final String CONTEXT = "org.springframework:spring-context:6.2.15";
+    private static final String CORE = "org.springframework:spring-core:6.2.15";
+    private static final String JCL = "org.springframework:spring-jcl:6.2.15";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanClosure() {
+        jdbcTemplate.update("DELETE FROM dependency_closure");
+    }
+
+    // ========================================================================
+    // Scenario: Closure grows with uploads in any order
+    // ========================================================================
+    @Test
+    @DisplayName("Given spring-context is uploaded before spring-core, when I read the closure, then transitive pairs carry their shortest depth")
+    void upload_shouldMaintainTransitiveClosure() throws IOException {
+        // Given: spring-context (-> spring-core) uploaded first, spring-core (-> spring-jcl) second
+        uploadPomFiles("spring-context-6.2.15.pom");
+        uploadPomFiles("spring-core-6.2.15.pom");
+
+        // When: I look up all transitive dependencies of spring-context
+        Map<String, Integer> deps = closureOf("ancestor", "descendant", CONTEXT);
+
+        // Then: spring-core is one hop away and spring-jcl two
+        assertThat(deps).containsEntry(CORE, 1).containsEntry(JCL, 2);
+
+        // And: all consumers of spring-jcl are found with one lookup
+        assertThat(closureOf("descendant", "ancestor", JCL))
+                .containsEntry(CORE, 1)
+                .containsEntry(CONTEXT, 2);
+    }
+
+    // ========================================================================
+    // Scenario: Graph queries read the closure
+    // ========================================================================
+    @Test
+    @DisplayName("Given a closure, when I request a depth-limited reverse view, then nodes come from the closure depths")
+    @SuppressWarnings("unchecked")
+    void getGraphData_withClosure_shouldUseMinDepth() throws IOException {
+        // Given: context -> core -> jcl
+        uploadPomFiles("spring-core-6.2.15.pom", "spring-context-6.2.15.pom");
+
+        // When: I request dependents of spring-jcl one hop deep, and without a limit
+        Map<String, Object> oneHop = graphData("?root_id=" + JCL + "&direction=reverse&depth=1");
+        Map<String, Object> all = graphData("?root_id=" + JCL + "&direction=reverse");
+
+        // Then: one hop reaches core only, no limit reaches context too
+        assertThat(oneHop.get("node_count")).isEqualTo(2);
+        assertThat(all.get("node_count")).isEqualTo(3);
+        List<Map<String, Object>> elements = (List<Map<String, Object>>) all.get("elements");
+        assertThat(elements).extracting(e -> ((Map<String, Object>) e.get("data")).get("id"))
+                .contains(CONTEXT, CORE, JCL);
+    }
+
+    private Map<String, Integer> closureOf(String keyColumn, String valueColumn, String gav) {
+        Map<String, Integer> result = new HashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT " + valueColumn
+                + " AS gav, min_depth FROM dependency_closure WHERE " + keyColumn + " = ?", gav)) {
+            result.put((String) row.get("gav"), ((Number) row.get("min_depth")).intValue());
+        }
+        return result;
+    }
+}
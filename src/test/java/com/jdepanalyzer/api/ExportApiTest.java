@@ -2,10 +2,16 @@ package com.jdepanalyzer.api;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -175,4 +181,62 @@ class ExportApiTest extends BaseApiTest {
         assertThat(response.getHeaders().getFirst("Content-Disposition")).contains("attachment");
         assertThat(response.getHeaders().getFirst("Content-Disposition")).contains("artifacts.csv");
     }
+
+    // ========================================================================
+    // Scenario: Compressed export
+    // ========================================================================
+    @Test
+    @DisplayName("Given a client accepting gzip, when I export a table, then the CSV is gzip-compressed")
+    void exportArtifacts_withGzip_shouldCompress() throws IOException {
+        // Given: Enough artifacts to pass the compression threshold, and a client that accepts gzip
+        uploadPomFiles("spring-core-6.2.15.pom");
+        for (int i = 0; i < 200; i++) {
+            saveEdge("com.example.generated:module-" + i + ":1.0.0", "org.springframework:spring-core:6.2.15");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // When: I export the artifacts table
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+                apiUrl("/api/export/artifacts.csv"), HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        // Then: The body is gzip and decompresses to the CSV
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(csv).startsWith("gav,group_id,artifact_id,version");
+            assertThat(csv).contains("org.springframework:spring-core:6.2.15");
+        }
+    }
+
+    // ========================================================================
+    // Scenario: Conditional export
+    // ========================================================================
+    @Test
+    @DisplayName("Given a previous export's ETag, when I export again with If-None-Match, then I get 304 until the data changes")
+    void exportArtifacts_withMatchingEtag_shouldReturnNotModified() throws IOException {
+        // Given: A first export with validators
+        uploadPomFiles("spring-core-6.2.15.pom");
+        ResponseEntity<String> first = restTemplate.getForEntity(apiUrl("/api/export/artifacts.csv"), String.class);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotBlank();
+        assertThat(first.getHeaders().getLastModified()).isPositive();
+
+        // When: I repeat the export with If-None-Match
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<String> second = restTemplate.exchange(
+                apiUrl("/api/export/artifacts.csv"), HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Then: The server answers 304
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        // And: After another upload the same validator gets a fresh export
+        uploadPomFiles("spring-context-6.2.15.pom");
+        ResponseEntity<String> third = restTemplate.exchange(
+                apiUrl("/api/export/artifacts.csv"), HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertThat(third.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(third.getBody()).contains("org.springframework:spring-context:6.2.15");
+    }
 }
@@ -0,0 +1,77 @@
+package com.jdepanalyzer.api;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the custom JDK Flight Recorder events.
+ *
+ * BDD-style tests that record an upload and a graph query and read the
+ * recording back.
+ */
+class FlightRecorderEventsTest extends BaseApiTest {
+
+    // ========================================================================
+    // Scenario: Upload and graph stages are recorded
+    // ========================================================================
+    @Test
+    @DisplayName("Given a running recording, when I upload a POM and query its graph, then every stage emits an event")
+    void recording_ofUploadAndGraphQuery_shouldContainStageEvents() throws IOException {
+        Path file = Files.createTempFile("jdep", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("PomParse", "PomPersist", "GraphLoad", "GraphAggregate",
+                    "GraphTraversal", "GraphSerialize")) {
+                recording.enable("com.jdepanalyzer." + name);
+            }
+            recording.start();
+
+            // Given: An uploaded POM
+            uploadPomFiles("spring-core-6.2.15.pom");
+
+            // When: I query its forward graph with version aggregation off and a depth
+            restTemplate.getForEntity(apiUrl("/api/graph/data?root_id=org.springframework:spring-core:6.2.15"
+                    + "&depth=1&show_group=true&show_version=false"), String.class);
+            recording.stop();
+            recording.dump(file);
+
+            // Then: Each stage was recorded with its fields
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertThat(events).extracting(e -> e.getEventType().getName()).contains(
+                    "com.jdepanalyzer.PomParse", "com.jdepanalyzer.PomPersist", "com.jdepanalyzer.GraphLoad",
+                    "com.jdepanalyzer.GraphAggregate", "com.jdepanalyzer.GraphTraversal",
+                    "com.jdepanalyzer.GraphSerialize");
+
+            RecordedEvent parse = first(events, "com.jdepanalyzer.PomParse");
+            assertThat(parse.getString("gav")).isEqualTo("org.springframework:spring-core:6.2.15");
+            assertThat(parse.getLong("bytes")).isPositive();
+
+            RecordedEvent persist = first(events, "com.jdepanalyzer.PomPersist");
+            assertThat(persist.getInt("newArtifacts")).isEqualTo(2);
+            assertThat(persist.getInt("newEdges")).isEqualTo(1);
+
+            RecordedEvent load = first(events, "com.jdepanalyzer.GraphLoad");
+            assertThat(load.getInt("nodes")).isEqualTo(2);
+            assertThat(load.getInt("edges")).isEqualTo(1);
+
+            RecordedEvent traversal = first(events, "com.jdepanalyzer.GraphTraversal");
+            assertThat(traversal.getInt("depth")).isEqualTo(1);
+            assertThat(traversal.getString("direction")).isEqualTo("forward");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent first(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -1,15 +1,26 @@
 package com.jdepanalyzer.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -20,6 +31,9 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class GraphDataApiTest extends BaseApiTest {
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // ========================================================================
     // Scenario: Get graph data when database is empty
     // ========================================================================
@@ -214,4 +228,280 @@ class GraphDataApiTest extends BaseApiTest {
             return data != null && data.containsKey("source") && data.containsKey("target");
         });
     }
+
+    // ========================================================================
+    // Scenario: Conditional request with an unchanged graph
+    // ========================================================================
+    @Test
+    @DisplayName("Given a previous response's ETag, when I request the same graph again with If-None-Match, then I should get 304")
+    void getGraphData_withMatchingEtag_shouldReturnNotModified() throws IOException {
+        // Given: A graph and a first response with an ETag
+        uploadPomFiles("spring-core-6.2.15.pom");
+        ResponseEntity<String> first = restTemplate.getForEntity(apiUrl("/api/graph/data?depth=1"), String.class);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotBlank();
+
+        // When: I send the same request with If-None-Match
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<String> second = restTemplate.exchange(
+                apiUrl("/api/graph/data?depth=1"), HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Then: The server answers 304 without a body
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+    }
+
+    // ========================================================================
+    // Scenario: Upload invalidates cached responses
+    // ========================================================================
+    @Test
+    @DisplayName("Given a cached graph response, when a new upload changes the graph, then the ETag and data change")
+    void getGraphData_afterUpload_shouldReturnFreshData() throws IOException {
+        // Given: A cached response for a one-POM graph
+        uploadPomFiles("spring-core-6.2.15.pom");
+        ResponseEntity<Map<String, Object>> before = restTemplate.exchange(
+                apiUrl("/api/graph/data"), HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+                });
+
+        // When: Another POM is uploaded and the same query is repeated
+        uploadPomFiles("spring-context-6.2.15.pom");
+        ResponseEntity<Map<String, Object>> after = restTemplate.exchange(
+                apiUrl("/api/graph/data"), HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+                });
+
+        // Then: The response reflects the new data under a new ETag
+        assertThat(after.getHeaders().getETag()).isNotEqualTo(before.getHeaders().getETag());
+        assertThat((Integer) after.getBody().get("node_count"))
+                .isGreaterThan((Integer) before.getBody().get("node_count"));
+    }
+
+    // ========================================================================
+    // Scenario: Server-side layout
+    // ========================================================================
+    @Test
+    @DisplayName("Given a graph with a cycle, when I request graph data with layout=server, then every node has a layered position")
+    @SuppressWarnings("unchecked")
+    void getGraphData_withServerLayout_shouldReturnPositions() {
+        // Given: a -> b -> c -> b (a cycle) and a separate pair x -> y
+        saveEdge("g:a:1", "g:b:1");
+        saveEdge("g:b:1", "g:c:1");
+        saveEdge("g:c:1", "g:b:1");
+        saveEdge("g:x:1", "g:y:1");
+
+        // When: I request graph data with a server-side layout
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/data?layout=server"), HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+                });
+
+        // Then: The client is told to use the preset layout
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("layout")).isEqualTo("preset");
+
+        // And: Every node has a position, edges do not, and layers run left to right
+        Map<String, Map<String, Number>> positions = new HashMap<>();
+        for (Map<String, Object> element : (List<Map<String, Object>>) response.getBody().get("elements")) {
+            Map<String, Object> data = (Map<String, Object>) element.get("data");
+            if (data.containsKey("source")) {
+                assertThat(element).doesNotContainKey("position");
+            } else {
+                assertThat(element).containsKey("position");
+                positions.put((String) data.get("id"), (Map<String, Number>) element.get("position"));
+            }
+        }
+        assertThat(positions).containsOnlyKeys("g:a:1", "g:b:1", "g:c:1", "g:x:1", "g:y:1");
+        assertThat(positions.get("g:a:1").get("x").doubleValue())
+                .isLessThan(positions.get("g:b:1").get("x").doubleValue());
+        assertThat(positions.get("g:b:1").get("x").doubleValue())
+                .isLessThan(positions.get("g:c:1").get("x").doubleValue());
+        assertThat(positions.values()).doesNotHaveDuplicates();
+    }
+
+    // ========================================================================
+    // Scenario: Compact binary encoding
+    // ========================================================================
+    @Test
+    @DisplayName("Given a graph, when I request graph data accepting the compact binary type, then it decodes to the same elements and is smaller")
+    @SuppressWarnings("unchecked")
+    void getGraphData_withCompactEncoding_shouldMatchJson() throws IOException {
+        // Given: A graph and its JSON representation
+        uploadPomFiles("spring-context-6.2.15.pom", "spring-core-6.2.15.pom");
+        ResponseEntity<byte[]> json = restTemplate.getForEntity(apiUrl("/api/graph/data"), byte[].class);
+        Map<String, Object> jsonBody = objectMapper.readValue(json.getBody(), Map.class);
+
+        // When: I request the same graph in the compact encoding
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, "application/vnd.jdep.graph+binary");
+        ResponseEntity<byte[]> binary = restTemplate.exchange(
+                apiUrl("/api/graph/data"), HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        // Then: The binary content type is used, under its own ETag
+        assertThat(binary.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(binary.getHeaders().getContentType().toString()).isEqualTo("application/vnd.jdep.graph+binary");
+        assertThat(binary.getHeaders().getETag()).isNotEqualTo(json.getHeaders().getETag());
+        assertThat(binary.getBody().length).isLessThan(json.getBody().length);
+
+        // And: Decoding it yields the same node ids and edges
+        ByteBuffer buffer = ByteBuffer.wrap(binary.getBody()).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(buffer.getInt(12)).isEqualTo(jsonBody.get("node_count"));
+        assertThat(buffer.getInt(24)).isEqualTo(jsonBody.get("edge_count"));
+        List<String> nodeIds = compactNodeIds(buffer);
+        List<String> edgeIds = new ArrayList<>();
+        for (int i = 0; i < buffer.getInt(16); i++) {
+            edgeIds.add(nodeIds.get(buffer.getInt()) + "__" + nodeIds.get(buffer.getInt()));
+            buffer.position(buffer.position() + 2 * 4);
+        }
+
+        List<String> jsonNodeIds = new ArrayList<>();
+        List<String> jsonEdgeIds = new ArrayList<>();
+        for (Map<String, Object> element : (List<Map<String, Object>>) jsonBody.get("elements")) {
+            Map<String, Object> data = (Map<String, Object>) element.get("data");
+            (data.containsKey("source") ? jsonEdgeIds : jsonNodeIds).add((String) data.get("id"));
+        }
+        assertThat(nodeIds).containsExactlyElementsOf(jsonNodeIds);
+        assertThat(edgeIds).containsExactlyElementsOf(jsonEdgeIds);
+    }
+
+    // ========================================================================
+    // Scenario: Compact encoding of strings with line breaks
+    // ========================================================================
+    @Test
+    @DisplayName("Given a GAV containing a line break, when I request the compact encoding, then every string decodes intact")
+    void getGraphData_withCompactEncodingAndLineBreak_shouldKeepStrings() {
+        // Given: An artifact id with an embedded newline
+        saveEdge("g:multi\nline:1", "g:lib:1");
+
+        // When: I request the compact encoding
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, "application/vnd.jdep.graph+binary");
+        ResponseEntity<byte[]> binary = restTemplate.exchange(
+                apiUrl("/api/graph/data"), HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        // Then: Both node ids decode unchanged
+        ByteBuffer buffer = ByteBuffer.wrap(binary.getBody()).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(compactNodeIds(buffer)).containsExactlyInAnyOrder("g:multi\nline:1", "g:lib:1");
+    }
+
+    /**
+     * Read the string table and node ids of a compact payload, leaving the
+     * buffer at the first edge row.
+     */
+    private static List<String> compactNodeIds(ByteBuffer buffer) {
+        assertThat(buffer.getInt(0)).isEqualTo(0x3247444A);
+        int stringCount = buffer.getInt(8);
+        int nodeCount = buffer.getInt(12);
+        int tableBytes = buffer.getInt(28);
+        int table = 32 + (stringCount + 1) * 4;
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            int start = buffer.getInt(32 + i * 4);
+            int end = buffer.getInt(32 + (i + 1) * 4);
+            strings[i] = new String(buffer.array(), table + start, end - start, StandardCharsets.UTF_8);
+        }
+        buffer.position(table + ((tableBytes + 3) & ~3));
+
+        List<String> nodeIds = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            nodeIds.add(strings[buffer.getInt()]);
+            buffer.position(buffer.position() + 5 * 4);
+        }
+        return nodeIds;
+    }
+
+    // ========================================================================
+    // Scenario: Compressed cached response
+    // ========================================================================
+    @Test
+    @DisplayName("Given a client accepting gzip, when I request a large graph, then the cached gzip copy is served under its own ETag")
+    @SuppressWarnings("unchecked")
+    void getGraphData_withGzip_shouldServeCompressedCopy() throws IOException {
+        // Given: A graph larger than the compression threshold
+        uploadPomFiles("spring-context-6.2.15.pom", "spring-core-6.2.15.pom");
+        for (int i = 0; i < 50; i++) {
+            saveEdge("com.example.generated:module-" + i + ":1.0.0", "org.springframework:spring-core:6.2.15");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        // When: I request graph data accepting gzip
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+                apiUrl("/api/graph/data"), HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        // Then: The body is gzip and decompresses to the JSON graph
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getETag()).endsWith("-gz\"");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            Map<String, Object> body = objectMapper.readValue(in.readAllBytes(), Map.class);
+            assertThat((List<?>) body.get("elements")).isNotEmpty();
+        }
+
+        // And: Revalidating the gzip copy answers 304
+        headers.setIfNoneMatch(response.getHeaders().getETag());
+        ResponseEntity<byte[]> again = restTemplate.exchange(
+                apiUrl("/api/graph/data"), HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        assertThat(again.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    @DisplayName("Given a client refusing gzip with q=0, when I request a large graph, then the plain JSON copy is served")
+    @SuppressWarnings("unchecked")
+    void getGraphData_withGzipQZero_shouldServePlainCopy() throws IOException {
+        // Given: A graph larger than the compression threshold
+        uploadPomFiles("spring-context-6.2.15.pom", "spring-core-6.2.15.pom");
+        for (int i = 0; i < 50; i++) {
+            saveEdge("com.example.generated:module-" + i + ":1.0.0", "org.springframework:spring-core:6.2.15");
+        }
+
+        for (String acceptEncoding : List.of("gzip;q=0", "identity, *;q=0", "*, gzip;q=0")) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+
+            // When: I request graph data with an Accept-Encoding that rules gzip out
+            ResponseEntity<byte[]> response = restTemplate.exchange(
+                    apiUrl("/api/graph/data"), HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+            // Then: The body is uncompressed JSON under the plain ETag
+            assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).as(acceptEncoding).isNull();
+            assertThat(response.getHeaders().getETag()).as(acceptEncoding).doesNotEndWith("-gz\"");
+            Map<String, Object> body = objectMapper.readValue(response.getBody(), Map.class);
+            assertThat((List<?>) body.get("elements")).isNotEmpty();
+        }
+    }
+
+    // ========================================================================
+    // Scenario: Explain mode and Server-Timing
+    // ========================================================================
+    @Test
+    @DisplayName("Given a graph, when I request graph data with explain=true, then I get per-stage timings and counts")
+    @SuppressWarnings("unchecked")
+    void getGraphData_withExplain_shouldReturnStageProfile() throws IOException {
+        // Given: A graph whose rooted, version-aggregated view was already served once
+        uploadPomFiles("spring-context-6.2.15.pom", "spring-core-6.2.15.pom");
+        String query = "/api/graph/data?root_id=org.springframework:spring-context:6.2.15&depth=1&show_version=false";
+        ResponseEntity<String> first = restTemplate.getForEntity(apiUrl(query), String.class);
+        ResponseEntity<String> second = restTemplate.getForEntity(apiUrl(query), String.class);
+        assertThat(first.getHeaders().getFirst("Server-Timing")).startsWith("cache;desc=\"miss\"");
+        assertThat(second.getHeaders().getFirst("Server-Timing")).startsWith("cache;desc=\"hit\"");
+
+        // When: I ask for the explain profile of the same query
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl(query + "&explain=true"), HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+                });
+
+        // Then: It reports the cache state and every stage, in order
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Map<String, Object> explain = (Map<String, Object>) response.getBody().get("explain");
+        assertThat(explain.get("cache_hit")).isEqualTo(true);
+        assertThat((List<Map<String, Object>>) explain.get("stages")).extracting(st -> st.get("name"))
+                .containsExactly("load", "aggregate", "traverse", "elements", "encode");
+        assertThat(((Number) explain.get("rows_scanned")).intValue()).isPositive();
+        assertThat(((Number) explain.get("nodes_visited")).intValue()).isGreaterThan(1);
+        assertThat(((Number) explain.get("response_bytes")).intValue()).isPositive();
+        assertThat(explain).containsKeys("total_ms", "allocated_bytes");
+
+        // And: The same stages are in Server-Timing, and the profile is not cacheable
+        assertThat(response.getHeaders().getFirst("Server-Timing"))
+                .contains("load;dur=", "aggregate;dur=", "traverse;dur=", "elements;dur=", "total;dur=");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-store");
+    }
 }
@@ -0,0 +1,189 @@
+package com.jdepanalyzer.api;
+
+import com.jdepanalyzer.model.EdgeValidity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for ingestion batches and GET /api/graph/diff.
+ *
+ * BDD-style tests for edge validity ranges across additive uploads and full
+ * scans, and for diffs between two batches.
+ */
+class GraphDiffApiTest extends BaseApiTest {
+
+    private static final String CORE = "org.springframework:spring-core:6.2.15";
+    private static final String CONTEXT = "org.springframework:spring-context:6.2.15";
+    private static final String JCL = "org.springframework:spring-jcl:6.2.15";
+
+    // ========================================================================
+    // Scenario: Additive uploads
+    // ========================================================================
+    @Test
+    @DisplayName("Given two uploads, when I diff their batches, then only the second upload's rows are added")
+    @SuppressWarnings("unchecked")
+    void diff_betweenAdditiveBatches_shouldListAddedRows() throws IOException {
+        // Given: spring-core in one batch, spring-context in the next
+        long first = upload(false, "spring-core-6.2.15.pom");
+        long second = upload(false, "spring-context-6.2.15.pom");
+
+        // When: I diff the two batches
+        Map<String, Object> diff = getDiff(first, second).getBody();
+
+        // Then: spring-context and its edges were added, nothing was removed
+        assertThat((List<String>) diff.get("added_artifacts")).contains(CONTEXT).doesNotContain(CORE, JCL);
+        assertThat((List<String>) diff.get("removed_artifacts")).isEmpty();
+        assertThat((List<Map<String, Object>>) diff.get("added_edges"))
+                .hasSize(5)
+                .allSatisfy(edge -> assertThat(edge.get("from")).isEqualTo(CONTEXT));
+        assertThat((List<Object>) diff.get("removed_edges")).isEmpty();
+        assertThat(diff.get("from_edges")).isEqualTo(1);
+        assertThat(diff.get("to_edges")).isEqualTo(6);
+
+        // And: Both batches are listed, oldest first
+        ResponseEntity<List<Map<String, Object>>> batches = restTemplate.exchange(
+                apiUrl("/api/graph/batches"), HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+                });
+        assertThat(batches.getBody()).extracting(b -> ((Number) b.get("id")).longValue())
+                .containsExactly(first, second);
+    }
+
+    // ========================================================================
+    // Scenario: A full scan removes what it no longer declares
+    // ========================================================================
+    @Test
+    @DisplayName("Given a full scan without spring-context, when I diff it with the previous batch, then spring-context's edges are removed")
+    @SuppressWarnings("unchecked")
+    void diff_afterFullScan_shouldListRemovedRows() throws IOException {
+        // Given: spring-core and spring-context, then a full scan of spring-core only
+        long before = upload(false, "spring-core-6.2.15.pom", "spring-context-6.2.15.pom");
+        long after = upload(true, "spring-core-6.2.15.pom");
+
+        // When: I diff forwards and backwards
+        Map<String, Object> forward = getDiff(before, after).getBody();
+        Map<String, Object> backward = getDiff(after, before).getBody();
+
+        // Then: spring-context and its edges are removed; spring-core's edge is kept
+        assertThat((List<String>) forward.get("removed_artifacts")).contains(CONTEXT).doesNotContain(CORE, JCL);
+        assertThat((List<Map<String, Object>>) forward.get("removed_edges"))
+                .hasSize(5)
+                .allSatisfy(edge -> assertThat(edge.get("from")).isEqualTo(CONTEXT));
+        assertThat((List<Object>) forward.get("added_edges")).isEmpty();
+        assertThat((List<Object>) backward.get("added_edges")).hasSize(5);
+
+        // And: The live graph only keeps the edges of the scan
+        assertThat(edgeRepository.findAll()).extracting(edge -> edge.getFromGav()).containsOnly(CORE);
+
+        // And: spring-context's artifact row is gone; the scanned artifacts remain
+        assertThat(artifactRepository.findAll()).extracting(artifact -> artifact.getGav())
+                .contains(CORE, JCL)
+                .doesNotContain(CONTEXT);
+    }
+
+    // ========================================================================
+    // Scenario: An incomplete full scan removes nothing
+    // ========================================================================
+    @Test
+    @DisplayName("Given a full scan with one corrupt file, when it is uploaded, then it is recorded as additive and nothing is removed")
+    @SuppressWarnings("unchecked")
+    void upload_fullScanWithCorruptFile_shouldNotRemoveAnything() throws IOException {
+        // Given: spring-core and spring-context, then a full scan of spring-core plus a corrupt POM
+        long before = upload(false, "spring-core-6.2.15.pom", "spring-context-6.2.15.pom");
+        HttpEntity<MultiValueMap<String, Object>> entity = createUploadEntity("spring-core-6.2.15.pom");
+        entity.getBody().add("files", new ByteArrayResource("<project>".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "broken.pom";
+            }
+        });
+
+        // When: I upload the scan
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/upload?full_scan=true"), HttpMethod.POST, entity,
+                new ParameterizedTypeReference<>() {
+                });
+
+        // Then: The scan was downgraded to additive and reports the skipped file
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().get("fullScan")).isEqualTo(false);
+        assertThat(response.getBody().get("skipped")).isEqualTo(1);
+        assertThat(response.getBody().get("removedEdges")).isEqualTo(0);
+        assertThat(response.getBody().get("removedArtifacts")).isEqualTo(0);
+
+        // And: spring-context and its edges are still there
+        long after = ((Number) response.getBody().get("batchId")).longValue();
+        assertThat((List<Object>) getDiff(before, after).getBody().get("removed_edges")).isEmpty();
+        assertThat(edgeRepository.findAll()).extracting(edge -> edge.getFromGav()).contains(CONTEXT);
+        assertThat(artifactRepository.findAll()).extracting(artifact -> artifact.getGav()).contains(CONTEXT);
+    }
+
+    // ========================================================================
+    // Scenario: One open range per edge
+    // ========================================================================
+    @Test
+    @DisplayName("Given an edge with an open range, when a second open range is stored for it, then the schema rejects it")
+    void validity_secondOpenRange_shouldBeRejected() throws IOException {
+        // Given: spring-core's edge, recorded with an open range
+        long batch = upload(false, "spring-core-6.2.15.pom");
+
+        // When / Then: Another open range for the same edge violates uq_validity_open
+        assertThatThrownBy(() -> edgeValidityRepository.saveAndFlush(
+                EdgeValidity.open(CORE, JCL, "compile", null, batch)))
+                .isInstanceOf(DataAccessException.class)
+                .hasMessageContaining("uq_validity_open");
+
+        // And: A closed range for the same edge is allowed
+        EdgeValidity closed = EdgeValidity.open(CORE, JCL, "compile", null, batch);
+        closed.setValidTo(batch);
+        edgeValidityRepository.saveAndFlush(closed);
+    }
+
+    // ========================================================================
+    // Scenario: Unknown batch
+    // ========================================================================
+    @Test
+    @DisplayName("Given one batch, when I diff it with an unknown batch, then 404 is returned")
+    void diff_withUnknownBatch_shouldReturn404() throws IOException {
+        // Given: One batch
+        long batch = upload(false, "spring-core-6.2.15.pom");
+
+        // When: I diff it with a batch that does not exist
+        ResponseEntity<Map<String, Object>> response = getDiff(batch, batch + 100);
+
+        // Then: Not found, naming the batch
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody().get("error")).isEqualTo("Unknown batch: " + (batch + 100));
+    }
+
+    private long upload(boolean fullScan, String... pomFilenames) throws IOException {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/upload?full_scan=" + fullScan), HttpMethod.POST, createUploadEntity(pomFilenames),
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return ((Number) response.getBody().get("batchId")).longValue();
+    }
+
+    private ResponseEntity<Map<String, Object>> getDiff(long from, long to) {
+        return restTemplate.exchange(
+                apiUrl("/api/graph/diff?from=" + from + "&to=" + to), HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+    }
+}
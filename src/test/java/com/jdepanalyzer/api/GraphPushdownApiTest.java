@@ -0,0 +1,79 @@
+package com.jdepanalyzer.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/graph/data on the recursive-SQL traversal path.
+ *
+ * The in-memory limit is set to zero, so every rooted GAV query is walked in
+ * the database instead of loading the whole graph.
+ */
+@TestPropertySource(properties = "jdep.graph.in-memory-max-edges=0")
+class GraphPushdownApiTest extends BaseApiTest {
+
+    // ========================================================================
+    // Scenario: Forward closure through a cycle
+    // ========================================================================
+    @Test
+    @DisplayName("Given a cyclic graph, when I request a forward closure, then the database walk returns every reachable node once")
+    void getGraphData_forwardClosure_shouldFollowEdgesAndStopOnCycles() {
+        // Given: app -> lib -> util -> lib, and an unrelated other -> util
+        saveEdge("g:app:1", "g:lib:1");
+        saveEdge("g:lib:1", "g:util:1");
+        saveEdge("g:util:1", "g:lib:1");
+        saveEdge("g:other:1", "g:util:1");
+
+        // When: I request everything app depends on
+        Map<String, Object> body = graphData("?root_id=g:app:1&direction=forward");
+
+        // Then: app, lib and util with the three edges between them
+        assertThat(nodeIds(body)).containsExactlyInAnyOrder("g:app:1", "g:lib:1", "g:util:1");
+        assertThat(body.get("node_count")).isEqualTo(3);
+        assertThat(body.get("edge_count")).isEqualTo(3);
+    }
+
+    // ========================================================================
+    // Scenario: Depth-limited reverse neighborhood with a scope filter
+    // ========================================================================
+    @Test
+    @DisplayName("Given dependents in several scopes, when I request a depth-limited reverse view by scope, then only matching hops are walked")
+    void getGraphData_reverseWithDepthAndScope_shouldLimitWalk() {
+        // Given: a -> b -> log, c -> log (test scope), and d -> a
+        saveEdge("g:b:1", "g:log:1");
+        saveEdge("g:a:1", "g:b:1");
+        saveEdge("g:d:1", "g:a:1");
+        saveEdge("g:c:1", "g:log:1", "test");
+
+        // When: I request two hops of compile-scope dependents of log
+        Map<String, Object> body = graphData("?root_id=g:log:1&direction=reverse&depth=2&scope=compile");
+
+        // Then: log, b and a; d is three hops away and c only has a test edge
+        assertThat(nodeIds(body)).containsExactlyInAnyOrder("g:log:1", "g:b:1", "g:a:1");
+    }
+
+    // ========================================================================
+    // Scenario: Explain reports the backend
+    // ========================================================================
+    @Test
+    @DisplayName("Given a graph over the in-memory limit, when I explain a rooted query, then the sql backend is reported")
+    @SuppressWarnings("unchecked")
+    void getGraphData_explain_shouldReportSqlBackend() {
+        // Given: a small chain
+        saveEdge("g:app:1", "g:lib:1");
+
+        // When: I explain a rooted query and an unknown root
+        Map<String, Object> explain = (Map<String, Object>) graphData("?root_id=g:app:1&explain=true").get("explain");
+        Map<String, Object> unknown = graphData("?root_id=g:missing:1");
+
+        // Then: the walk ran in the database, and an unknown root is empty
+        assertThat(explain.get("backend")).isEqualTo("sql");
+        assertThat(explain.get("nodes_visited")).isEqualTo(2);
+        assertThat(unknown.get("node_count")).isEqualTo(0);
+    }
+}
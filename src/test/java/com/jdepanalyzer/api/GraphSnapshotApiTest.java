@@ -0,0 +1,126 @@
+package com.jdepanalyzer.api;
+
+import com.jdepanalyzer.service.GraphIndex;
+import com.jdepanalyzer.service.GraphSnapshotStore;
+import com.jdepanalyzer.service.ResidentGraphService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the memory-mapped graph snapshot.
+ *
+ * BDD-style tests for writing the resident graph index to disk, mapping it
+ * back, and replaying newer edges onto it.
+ */
+@TestPropertySource(properties = "jdep.graph.snapshot.path=target/test-graph.snapshot")
+class GraphSnapshotApiTest extends BaseApiTest {
+
+    private static final String CORE = "org.springframework:spring-core:6.2.15";
+    private static final String CONTEXT = "org.springframework:spring-context:6.2.15";
+
+    @Autowired
+    private GraphSnapshotStore snapshotStore;
+
+    @Autowired
+    private ResidentGraphService residentGraphService;
+
+    // ========================================================================
+    // Scenario: Snapshot round trip
+    // ========================================================================
+    @Test
+    @DisplayName("Given a resident graph, when its snapshot is mapped back, then it answers the same lookups")
+    void snapshot_shouldMapToEquivalentIndex() throws Exception {
+        // Given: A graph queried once, so the index is built and saved
+        uploadPomFiles("spring-core-6.2.15.pom", "spring-context-6.2.15.pom");
+        neighbors(CORE);
+        GraphIndex resident = residentGraphService.lastBuilt();
+
+        // When: The snapshot file is mapped
+        GraphIndex mapped = awaitSnapshot(resident.edgeCount());
+
+        // Then: Nodes, edges and lookups match the resident index
+        assertThat(mapped.nodeCount()).isEqualTo(resident.nodeCount());
+        assertThat(mapped.maxEdgeId()).isEqualTo(resident.maxEdgeId());
+        int core = mapped.id(CORE);
+        assertThat(core).isEqualTo(resident.id(CORE));
+        assertThat(mapped.gav(core)).isEqualTo(CORE);
+        assertThat(mapped.inDegree(core)).isEqualTo(resident.inDegree(core));
+        assertThat(mapped.id("org.example:missing:1.0")).isEqualTo(-1);
+    }
+
+    // ========================================================================
+    // Scenario: Newer edges are replayed
+    // ========================================================================
+    @Test
+    @DisplayName("Given a built index, when another POM is uploaded, then its edges are replayed and saved")
+    void upload_afterIndexBuilt_shouldReplayNewEdges() throws IOException, InterruptedException {
+        // Given: An index with spring-core only
+        uploadPomFiles("spring-core-6.2.15.pom");
+        assertThat(neighbors(CORE).get("total")).isEqualTo(1);
+        int before = residentGraphService.lastBuilt().edgeCount();
+
+        // When: spring-context, which depends on spring-core, is uploaded
+        uploadPomFiles("spring-context-6.2.15.pom");
+
+        // Then: spring-context shows up as a dependent of spring-core
+        assertThat(neighbors(CORE + "&direction=reverse").get("total")).isEqualTo(1);
+        GraphIndex after = residentGraphService.lastBuilt();
+        assertThat(after.edgeCount()).isGreaterThan(before);
+        assertThat(after.id(CONTEXT)).isNotNegative();
+
+        // And: the snapshot catches up
+        assertThat(awaitSnapshot(after.edgeCount()).id(CONTEXT)).isNotNegative();
+    }
+
+    // ========================================================================
+    // Scenario: Graph data is built from the resident index
+    // ========================================================================
+    @Test
+    @DisplayName("Given uploaded POMs, when I request graph data, then it is built from the saved resident index")
+    void getGraphData_shouldUseResidentIndex() throws Exception {
+        // Given: Two uploaded POMs
+        uploadPomFiles("spring-core-6.2.15.pom", "spring-context-6.2.15.pom");
+
+        // When: I request the whole graph
+        Map<String, Object> body = graphData("");
+
+        // Then: The resident index is at the current version and matches the response
+        GraphIndex resident = residentGraphService.lastBuilt();
+        assertThat(resident.version()).isEqualTo(graphVersionService.current());
+        assertThat(body.get("node_count")).isEqualTo(resident.nodeCount());
+        assertThat(body.get("edge_count")).isEqualTo(resident.edgeCount());
+
+        // And: It was written as the snapshot a cold start maps
+        assertThat(awaitSnapshot(resident.edgeCount()).id(CONTEXT)).isNotNegative();
+    }
+
+    private GraphIndex awaitSnapshot(int edgeCount) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            GraphIndex mapped = snapshotStore.open(0);
+            if (mapped != null && mapped.edgeCount() == edgeCount) {
+                return mapped;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Snapshot with " + edgeCount + " edges was not written");
+    }
+
+    private Map<String, Object> neighbors(String nodeQuery) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/neighbors?node_id=" + nodeQuery), HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+        return response.getBody();
+    }
+}
@@ -0,0 +1,171 @@
+package com.jdepanalyzer.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/graph/hierarchy endpoint.
+ *
+ * BDD-style tests for the groupId-prefix hierarchy with rolled-up edges.
+ */
+class HierarchyApiTest extends BaseApiTest {
+
+    // ========================================================================
+    // Scenario: Top level collapses single-child group chains
+    // ========================================================================
+    @Test
+    @DisplayName("Given artifacts under two group trees, when I request the hierarchy, then only the collapsed top-level groups are returned with rolled-up edges")
+    void getHierarchy_topLevel_shouldRollUpEdges() {
+        // Given: two apps in com.acme depending on org.lib artifacts
+        saveEdge("com.acme.app:web:1", "org.lib:core:1");
+        saveEdge("com.acme.app:batch:1", "org.lib:core:1");
+        saveEdge("com.acme.app:batch:1", "org.lib.extra:util:2");
+
+        // When: I request the top level
+        Map<String, Object> body = hierarchy("");
+
+        // Then: com.acme.app (collapsed from com > com.acme) and org.lib are the roots
+        Map<String, Map<String, Object>> nodes = nodesById(body);
+        assertThat(nodes).containsOnlyKeys("com.acme.app", "org.lib");
+        assertThat(nodes.get("com.acme.app").get("artifact_count")).isEqualTo(2);
+        assertThat(nodes.get("org.lib").get("expandable")).isEqualTo(true);
+
+        // And: the three atomic edges are rolled up into one weighted edge
+        assertThat(edges(body)).singleElement().satisfies(edge -> {
+            assertThat(edge.get("source")).isEqualTo("com.acme.app");
+            assertThat(edge.get("target")).isEqualTo("org.lib");
+            assertThat(edge.get("weight")).isEqualTo(3);
+        });
+    }
+
+    // ========================================================================
+    // Scenario: Expanding a node
+    // ========================================================================
+    @Test
+    @DisplayName("Given the top level, when I expand a group, then it is replaced by its children and edges are re-lifted")
+    void getHierarchy_expandGroup_shouldReturnChildren() {
+        // Given: the same estate
+        saveEdge("com.acme.app:web:1", "org.lib:core:1");
+        saveEdge("com.acme.app:batch:1", "org.lib:core:1");
+        saveEdge("com.acme.app:batch:1", "org.lib.extra:util:2");
+
+        // When: I expand org.lib
+        Map<String, Object> body = hierarchy("?expand=org.lib");
+
+        // Then: org.lib shows its artifact and its sub-group
+        Map<String, Map<String, Object>> nodes = nodesById(body);
+        assertThat(nodes).containsOnlyKeys("com.acme.app", "org.lib:core", "org.lib.extra");
+        assertThat(nodes.get("org.lib:core").get("kind")).isEqualTo("artifact");
+        assertThat(nodes.get("org.lib.extra").get("hierarchy_parent")).isEqualTo("org.lib");
+
+        // And: edges point at the expanded children
+        assertThat(edges(body)).extracting(e -> e.get("target") + "=" + e.get("weight"))
+                .containsExactlyInAnyOrder("org.lib:core=2", "org.lib.extra=1");
+    }
+
+    // ========================================================================
+    // Scenario: Counts and views that mix levels
+    // ========================================================================
+    @Test
+    @DisplayName("Given artifacts in several versions, when I expand down to one artifact's versions, then counts separate artifacts from versions and edges are lifted to mixed levels")
+    void getHierarchy_mixedLevels_shouldCountArtifactsAndLiftEdges() {
+        // Given: two apps in three versions depending on two versions of org.lib:core
+        saveEdge("com.acme.app:web:1", "org.lib:core:1");
+        saveEdge("com.acme.app:web:2", "org.lib:core:2");
+        saveEdge("com.acme.app:batch:1", "org.lib:core:1");
+
+        // When: I request the top level, then expand org.lib down to its versions
+        Map<String, Map<String, Object>> top = nodesById(hierarchy(""));
+        Map<String, Object> body = hierarchy("?expand=org.lib,org.lib:core");
+
+        // Then: com.acme.app holds two artifacts in three versions
+        assertThat(top.get("com.acme.app").get("artifact_count")).isEqualTo(2);
+        assertThat(top.get("com.acme.app").get("version_count")).isEqualTo(3);
+
+        // And: the collapsed group links to each expanded version with its own weight
+        assertThat(nodesById(body)).containsOnlyKeys("com.acme.app", "org.lib:core:1", "org.lib:core:2");
+        assertThat(edges(body)).extracting(e -> e.get("source") + "->" + e.get("target") + "=" + e.get("weight"))
+                .containsExactlyInAnyOrder("com.acme.app->org.lib:core:1=2", "com.acme.app->org.lib:core:2=1");
+    }
+
+    // ========================================================================
+    // Scenario: View size guard
+    // ========================================================================
+    @Test
+    @DisplayName("Given a view larger than max_nodes, when I request it, then I get 400")
+    void getHierarchy_tooManyNodes_shouldReturnBadRequest() {
+        // Given: one group with three artifacts
+        saveEdge("g:a:1", "g:b:1");
+        saveEdge("g:b:1", "g:c:1");
+
+        // When: I expand the group with a limit of two nodes
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/hierarchy?expand=g&max_nodes=2"), HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+
+        // Then: The request is rejected
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).containsKey("error");
+    }
+
+    // ========================================================================
+    // Scenario: Edge cap
+    // ========================================================================
+    @Test
+    @DisplayName("Given a view with more edges than max_edges, when I request it, then only the heaviest edges are returned")
+    void getHierarchy_tooManyEdges_shouldKeepHeaviest() {
+        // Given: the same estate
+        saveEdge("com.acme.app:web:1", "org.lib:core:1");
+        saveEdge("com.acme.app:batch:1", "org.lib:core:1");
+        saveEdge("com.acme.app:batch:1", "org.lib.extra:util:2");
+
+        // When: I expand org.lib with room for one edge
+        Map<String, Object> body = hierarchy("?expand=org.lib&max_edges=1");
+
+        // Then: the edge of weight 2 is kept and the response says it was cut
+        assertThat(edges(body)).extracting(e -> e.get("target") + "=" + e.get("weight"))
+                .containsExactly("org.lib:core=2");
+        assertThat(body.get("edges_truncated")).isEqualTo(true);
+        assertThat(nodesById(body)).hasSize(3);
+    }
+
+    private Map<String, Object> hierarchy(String query) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/hierarchy" + query), HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> nodesById(Map<String, Object> body) {
+        Map<String, Map<String, Object>> nodes = new HashMap<>();
+        for (Map<String, Object> element : (List<Map<String, Object>>) body.get("elements")) {
+            Map<String, Object> data = (Map<String, Object>) element.get("data");
+            if (!data.containsKey("source")) {
+                nodes.put((String) data.get("id"), data);
+            }
+        }
+        return nodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> edges(Map<String, Object> body) {
+        return ((List<Map<String, Object>>) body.get("elements")).stream()
+                .map(element -> (Map<String, Object>) element.get("data"))
+                .filter(data -> data.containsKey("source"))
+                .toList();
+    }
+}
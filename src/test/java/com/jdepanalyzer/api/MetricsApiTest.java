@@ -0,0 +1,77 @@
+package com.jdepanalyzer.api;
+
+import com.jdepanalyzer.service.StatementCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the Prometheus scrape endpoint.
+ *
+ * BDD-style tests for ingestion and graph-building metrics, and for the
+ * per-thread statement count behind {@code jdep.upload.batch.db.calls}.
+ */
+@AutoConfigureObservability
+class MetricsApiTest extends BaseApiTest {
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    // ========================================================================
+    // Scenario: Ingestion and graph stages are measured
+    // ========================================================================
+    @Test
+    @DisplayName("Given an upload and a graph query, when Prometheus scrapes, then parse, upload and stage metrics are exported")
+    void prometheus_afterUploadAndQuery_shouldExportMetrics() throws IOException {
+        // Given: An uploaded POM and a rendered graph
+        uploadPomFiles("spring-core-6.2.15.pom");
+        restTemplate.getForEntity(apiUrl("/api/graph/data"), String.class);
+
+        // When: Prometheus scrapes the application
+        ResponseEntity<String> response = restTemplate.getForEntity(apiUrl("/actuator/prometheus"), String.class);
+
+        // Then: Parser, upload and graph stage timers are present
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody())
+                .contains("jdep_pom_parse_seconds_count")
+                .contains("jdep_pom_parse_size_bytes_sum")
+                .contains("jdep_upload_file_seconds_count{outcome=\"parsed\"")
+                .contains("jdep_upload_batch_db_calls_count")
+                .contains("jdep_graph_stage_seconds_count{stage=\"load\"")
+                .contains("jdep_graph_stage_seconds_count{stage=\"elements\"");
+
+        // And: Cache and graph size gauges are present
+        assertThat(response.getBody())
+                .contains("jdep_cache_graph_data_requests_total{result=\"miss\"")
+                .contains("jdep_cache_graph_data_hit_ratio")
+                .contains("jdep_graph_nodes");
+    }
+
+    // ========================================================================
+    // Scenario: Statement counts are per thread
+    // ========================================================================
+    @Test
+    @DisplayName("Given a query on another thread, when I read the statement count, then only this thread's statements are counted")
+    void statementCounter_withConcurrentQuery_shouldCountCallingThreadOnly() throws Exception {
+        // Given: The statement count of this thread
+        long before = statementCounter.count();
+
+        // When: Another thread queries the database
+        CompletableFuture.runAsync(() -> artifactRepository.count()).get();
+
+        // Then: This thread's count did not move
+        assertThat(statementCounter.count()).isEqualTo(before);
+
+        // And: A query on this thread is counted
+        artifactRepository.count();
+        assertThat(statementCounter.count()).isEqualTo(before + 1);
+    }
+}
@@ -0,0 +1,147 @@
+package com.jdepanalyzer.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/graph/neighbors endpoint.
+ *
+ * BDD-style tests for one-hop, paginated graph expansion.
+ */
+class NeighborsApiTest extends BaseApiTest {
+
+    // ========================================================================
+    // Scenario: Dependencies and dependents of a node
+    // ========================================================================
+    @Test
+    @DisplayName("Given a node with dependencies and dependents, when I request its neighbors, then both are returned with their degrees")
+    @SuppressWarnings("unchecked")
+    void getNeighbors_both_shouldReturnDependenciesThenDependents() {
+        // Given: app -> lib -> util, and lib -> log (test scope)
+        saveEdge("g:app:1", "g:lib:1");
+        saveEdge("g:lib:1", "g:util:1");
+        saveEdge("g:lib:1", "g:log:1", "test");
+
+        // When: I request the neighbors of lib
+        Map<String, Object> body = neighbors("?node_id=g:lib:1");
+
+        // Then: Three neighbors, dependencies first
+        assertThat(body.get("found")).isEqualTo(true);
+        assertThat(body.get("total")).isEqualTo(3);
+        assertThat(body.get("next_offset")).isNull();
+        List<Map<String, Object>> nodes = nodeData(body);
+        assertThat(nodes).extracting(n -> n.get("id")).containsExactly("g:util:1", "g:log:1", "g:app:1");
+
+        // And: app still has nothing else to expand, but is the source of its edge
+        assertThat(nodes.get(2).get("out_degree")).isEqualTo(1);
+        assertThat(nodes.get(2).get("in_degree")).isEqualTo(0);
+        List<Map<String, Object>> elements = (List<Map<String, Object>>) body.get("elements");
+        Map<String, Object> lastEdge = (Map<String, Object>) elements.get(elements.size() - 1).get("data");
+        assertThat(lastEdge.get("source")).isEqualTo("g:app:1");
+        assertThat(lastEdge.get("target")).isEqualTo("g:lib:1");
+    }
+
+    // ========================================================================
+    // Scenario: Pagination over a large fan-in
+    // ========================================================================
+    @Test
+    @DisplayName("Given many consumers of a library, when I page through its dependents, then pages are disjoint and complete")
+    void getNeighbors_paged_shouldWalkAllDependents() {
+        // Given: five consumers of a logging API
+        for (int i = 0; i < 5; i++) {
+            saveEdge("g:consumer" + i + ":1", "org.slf4j:slf4j-api:2.0.9");
+        }
+
+        // When: I page through the dependents two at a time
+        Map<String, Object> first = neighbors("?node_id=org.slf4j:slf4j-api:2.0.9&direction=reverse&limit=2");
+        Map<String, Object> second = neighbors("?node_id=org.slf4j:slf4j-api:2.0.9&direction=reverse&limit=2&offset="
+                + first.get("next_offset"));
+        Map<String, Object> third = neighbors("?node_id=org.slf4j:slf4j-api:2.0.9&direction=reverse&limit=2&offset="
+                + second.get("next_offset"));
+
+        // Then: 2 + 2 + 1 distinct consumers, and the last page has no next offset
+        assertThat(first.get("total")).isEqualTo(5);
+        assertThat(third.get("next_offset")).isNull();
+        List<Object> all = new ArrayList<>();
+        for (Map<String, Object> page : List.of(first, second, third)) {
+            nodeData(page).forEach(n -> all.add(n.get("id")));
+        }
+        assertThat(all).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    // ========================================================================
+    // Scenario: Optional flag on both directions
+    // ========================================================================
+    @Test
+    @DisplayName("Given optional edges into and out of a node, when I request its neighbors, then each edge keeps its optional flag")
+    @SuppressWarnings("unchecked")
+    void getNeighbors_optionalEdges_shouldKeepFlagInBothDirections() {
+        // Given: app optionally depends on lib, which optionally depends on util; cli needs lib
+        saveEdge("g:app:1", "g:lib:1", "compile", true);
+        saveEdge("g:cli:1", "g:lib:1", "compile", false);
+        saveEdge("g:lib:1", "g:util:1", "compile", true);
+
+        // When: I request the neighbors of lib
+        Map<String, Object> body = neighbors("?node_id=g:lib:1");
+
+        // Then: The dependency and the optional dependent are flagged; the other dependent is not
+        Map<Object, Object> optionalBySource = new HashMap<>();
+        for (Map<String, Object> element : (List<Map<String, Object>>) body.get("elements")) {
+            Map<String, Object> data = (Map<String, Object>) element.get("data");
+            if (data.containsKey("source")) {
+                optionalBySource.put(data.get("source") + "->" + data.get("target"), data.get("optional"));
+            }
+        }
+        assertThat(optionalBySource).containsOnly(
+                Map.entry("g:lib:1->g:util:1", true),
+                Map.entry("g:app:1->g:lib:1", true),
+                Map.entry("g:cli:1->g:lib:1", false));
+    }
+
+    // ========================================================================
+    // Scenario: Scope filter
+    // ========================================================================
+    @Test
+    @DisplayName("Given edges in several scopes, when I filter by scope, then only matching neighbors are counted and returned")
+    void getNeighbors_withScope_shouldFilter() {
+        // Given: lib has a compile and a test dependency
+        saveEdge("g:lib:1", "g:util:1");
+        saveEdge("g:lib:1", "g:junit:1", "test");
+
+        // When: I request compile-scope dependencies only
+        Map<String, Object> body = neighbors("?node_id=g:lib:1&direction=forward&scope=compile");
+
+        // Then: Only util is returned
+        assertThat(body.get("total")).isEqualTo(1);
+        assertThat(body.get("out_degree")).isEqualTo(1);
+        assertThat(nodeData(body)).extracting(n -> n.get("id")).containsExactly("g:util:1");
+    }
+
+    private Map<String, Object> neighbors(String query) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/neighbors" + query), HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> nodeData(Map<String, Object> body) {
+        return ((List<Map<String, Object>>) body.get("elements")).stream()
+                .map(element -> (Map<String, Object>) element.get("data"))
+                .filter(data -> !data.containsKey("source"))
+                .toList();
+    }
+}
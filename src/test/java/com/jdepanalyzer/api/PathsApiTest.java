@@ -0,0 +1,122 @@
+package com.jdepanalyzer.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/graph/paths endpoint.
+ *
+ * BDD-style tests for "why is this dependency here" path queries.
+ */
+class PathsApiTest extends BaseApiTest {
+
+    // ========================================================================
+    // Scenario: Shortest path through uploaded POMs
+    // ========================================================================
+    @Test
+    @DisplayName("Given uploaded POMs, when I ask for paths to a transitive dependency, then the shortest path is returned")
+    @SuppressWarnings("unchecked")
+    void getPaths_withUploadedPoms_shouldReturnShortestPath() throws IOException {
+        // Given: spring-context -> spring-core -> spring-jcl
+        uploadPomFiles("spring-context-6.2.15.pom", "spring-core-6.2.15.pom");
+
+        // When: I ask why spring-jcl is in spring-context
+        Map<String, Object> body = paths("root_id=org.springframework:spring-context:6.2.15"
+                + "&target_id=org.springframework:spring-jcl:6.2.15");
+
+        // Then: The path goes through spring-core
+        assertThat(body.get("found")).isEqualTo(true);
+        Map<String, Object> shortest = (Map<String, Object>) body.get("shortest");
+        assertThat((List<String>) shortest.get("nodes")).containsExactly(
+                "org.springframework:spring-context:6.2.15",
+                "org.springframework:spring-core:6.2.15",
+                "org.springframework:spring-jcl:6.2.15");
+        assertThat((List<String>) shortest.get("scopes")).containsExactly("compile", "compile");
+    }
+
+    // ========================================================================
+    // Scenario: Several paths, target given without version
+    // ========================================================================
+    @Test
+    @DisplayName("Given a diamond, when I ask for paths to a groupId:artifactId, then all paths are returned shortest first")
+    @SuppressWarnings("unchecked")
+    void getPaths_withDiamondAndGaTarget_shouldReturnAllPaths() {
+        // Given: app -> a -> logging:1, app -> b -> c -> logging:2, app -> logging:1
+        saveEdge("g:app:1", "g:a:1");
+        saveEdge("g:app:1", "g:b:1");
+        saveEdge("g:a:1", "commons-logging:commons-logging:1");
+        saveEdge("g:b:1", "g:c:1");
+        saveEdge("g:c:1", "commons-logging:commons-logging:2");
+        saveEdge("g:app:1", "commons-logging:commons-logging:1");
+
+        // When: I ask for paths to commons-logging in any version
+        Map<String, Object> body = paths("root_id=g:app:1&target_id=commons-logging:commons-logging");
+
+        // Then: Both versions matched, the direct edge is shortest and all three paths are listed
+        assertThat((List<String>) body.get("matched_targets")).hasSize(2);
+        assertThat(((Map<String, Object>) body.get("shortest")).get("length")).isEqualTo(1);
+        List<Map<String, Object>> paths = (List<Map<String, Object>>) body.get("paths");
+        assertThat(paths).extracting(p -> p.get("length")).containsExactly(1, 2, 3);
+        assertThat(body.get("truncated")).isEqualTo(false);
+    }
+
+    // ========================================================================
+    // Scenario: Path count cap
+    // ========================================================================
+    @Test
+    @DisplayName("Given more paths than max_paths, when I ask for paths, then enumeration stops and is marked truncated")
+    void getPaths_withMaxPaths_shouldTruncate() {
+        // Given: Three parallel routes from app to lib
+        for (String mid : List.of("g:m1:1", "g:m2:1", "g:m3:1")) {
+            saveEdge("g:app:1", mid);
+            saveEdge(mid, "g:lib:1");
+        }
+
+        // When: I ask for at most two paths
+        Map<String, Object> body = paths("root_id=g:app:1&target_id=g:lib:1&max_paths=2");
+
+        // Then: Two paths and a truncation marker
+        assertThat((List<?>) body.get("paths")).hasSize(2);
+        assertThat(body.get("truncated")).isEqualTo(true);
+        assertThat(body.get("truncated_reason")).isEqualTo("max_paths");
+    }
+
+    // ========================================================================
+    // Scenario: Unreachable target
+    // ========================================================================
+    @Test
+    @DisplayName("Given an unreachable target, when I ask for paths, then found is false")
+    void getPaths_withUnreachableTarget_shouldReturnNotFound() {
+        // Given: Two unrelated edges
+        saveEdge("g:app:1", "g:a:1");
+        saveEdge("g:other:1", "g:b:1");
+
+        // When: I ask for a path between them
+        Map<String, Object> body = paths("root_id=g:app:1&target_id=g:b:1");
+
+        // Then: Nothing is found
+        assertThat(body.get("found")).isEqualTo(false);
+        assertThat((List<?>) body.get("paths")).isEmpty();
+    }
+
+    private Map<String, Object> paths(String params) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/paths?" + params),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
@@ -0,0 +1,155 @@
+package com.jdepanalyzer.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/graph/resolve endpoint.
+ *
+ * BDD-style tests for Maven version mediation (nearest wins, first declaration breaks ties).
+ */
+class ResolveApiTest extends BaseApiTest {
+
+    // ========================================================================
+    // Scenario: Resolve a root from uploaded POMs
+    // ========================================================================
+    @Test
+    @DisplayName("Given uploaded POMs, when I resolve a root, then transitive dependencies appear with their depth")
+    @SuppressWarnings("unchecked")
+    void resolve_withUploadedPoms_shouldReturnTransitiveDependencies() throws IOException {
+        // Given: spring-boot-starter-web and the spring-boot-starter it depends on
+        uploadPomFiles("spring-boot-starter-web-3.5.8.pom", "spring-boot-starter-3.5.8.pom");
+
+        // When: I resolve spring-boot-starter-web
+        Map<String, Object> result = resolveSingle("org.springframework.boot:spring-boot-starter-web:3.5.8");
+
+        // Then: spring-core arrives transitively through spring-boot-starter at depth 2
+        assertThat(result.get("found")).isEqualTo(true);
+        List<Map<String, Object>> resolved = (List<Map<String, Object>>) result.get("resolved");
+        assertThat(resolved).anySatisfy(dep -> {
+            assertThat(dep.get("gav")).isEqualTo("org.springframework:spring-core:6.2.14");
+            assertThat(dep.get("depth")).isEqualTo(2);
+            assertThat(dep.get("via")).isEqualTo("org.springframework.boot:spring-boot-starter:3.5.8");
+        });
+    }
+
+    // ========================================================================
+    // Scenario: Nearest declaration wins
+    // ========================================================================
+    @Test
+    @DisplayName("Given two versions at different depths, when I resolve, then the nearest version wins")
+    @SuppressWarnings("unchecked")
+    void resolve_withConflictAtDifferentDepths_shouldPickNearest() {
+        // Given: app -> lib-a -> guava:1.0 and app -> guava:2.0
+        saveEdge("g:app:1", "g:lib-a:1");
+        saveEdge("g:lib-a:1", "com.google:guava:1.0");
+        saveEdge("g:app:1", "com.google:guava:2.0");
+
+        // When: I resolve app
+        Map<String, Object> result = resolveSingle("g:app:1");
+
+        // Then: guava 2.0 (depth 1) wins and 1.0 is reported as omitted
+        List<Map<String, Object>> resolved = (List<Map<String, Object>>) result.get("resolved");
+        assertThat(resolved).anySatisfy(dep -> {
+            assertThat(dep.get("ga")).isEqualTo("com.google:guava");
+            assertThat(dep.get("version")).isEqualTo("2.0");
+        });
+        List<Map<String, Object>> conflicts = (List<Map<String, Object>>) result.get("conflicts");
+        assertThat(conflicts).hasSize(1);
+        assertThat(conflicts.get(0).get("chosen_version")).isEqualTo("2.0");
+        assertThat((List<String>) conflicts.get(0).get("omitted_versions")).containsExactly("1.0");
+    }
+
+    // ========================================================================
+    // Scenario: First declaration breaks ties and losers are not expanded
+    // ========================================================================
+    @Test
+    @DisplayName("Given two versions at the same depth, when I resolve, then the first declared wins and the loser's dependencies are dropped")
+    @SuppressWarnings("unchecked")
+    void resolve_withConflictAtSameDepth_shouldPickFirstDeclared() {
+        // Given: app -> a -> lib:1.0, app -> b -> lib:2.0 -> extra
+        saveEdge("g:app:1", "g:a:1");
+        saveEdge("g:app:1", "g:b:1");
+        saveEdge("g:a:1", "g:lib:1.0");
+        saveEdge("g:b:1", "g:lib:2.0");
+        saveEdge("g:lib:2.0", "g:extra:1");
+
+        // When: I resolve app
+        Map<String, Object> result = resolveSingle("g:app:1");
+
+        // Then: lib 1.0 wins and nothing from lib 2.0 is resolved
+        List<Map<String, Object>> resolved = (List<Map<String, Object>>) result.get("resolved");
+        assertThat(resolved).extracting(dep -> dep.get("gav"))
+                .contains("g:lib:1.0")
+                .doesNotContain("g:lib:2.0", "g:extra:1");
+    }
+
+    // ========================================================================
+    // Scenario: Test-scoped dependencies are not transitive
+    // ========================================================================
+    @Test
+    @DisplayName("Given a transitive test dependency, when I resolve, then it is not included")
+    @SuppressWarnings("unchecked")
+    void resolve_withTransitiveTestScope_shouldExclude() {
+        // Given: app -> lib (compile) -> junit (test)
+        saveEdge("g:app:1", "g:lib:1");
+        saveEdge("g:lib:1", "org.junit:junit:5", "test");
+
+        // When: I resolve app
+        Map<String, Object> result = resolveSingle("g:app:1");
+
+        // Then: junit is not part of the effective tree
+        List<Map<String, Object>> resolved = (List<Map<String, Object>>) result.get("resolved");
+        assertThat(resolved).extracting(dep -> dep.get("gav")).containsExactly("g:lib:1");
+    }
+
+    // ========================================================================
+    // Scenario: Several roots in one request
+    // ========================================================================
+    @Test
+    @DisplayName("Given several roots, when I resolve them together, then each root gets its own result")
+    @SuppressWarnings("unchecked")
+    void resolve_withMultipleRoots_shouldReturnOneResultPerRoot() {
+        // Given: Two applications sharing a library
+        saveEdge("g:app1:1", "g:lib:1");
+        saveEdge("g:app2:1", "g:lib:1");
+
+        // When: I resolve both plus an unknown root
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/resolve?root_id=g:app1:1&root_id=g:app2:1&root_id=g:missing:1"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+
+        // Then: There is one result per root, and the unknown root is marked as not found
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map<String, Object>> results = (List<Map<String, Object>>) response.getBody().get("results");
+        assertThat(results).hasSize(3);
+        assertThat(results.get(2).get("found")).isEqualTo(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> resolveSingle(String root) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/graph/resolve?root_id=" + root),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map<String, Object>> results = (List<Map<String, Object>>) response.getBody().get("results");
+        assertThat(results).hasSize(1);
+        return results.get(0);
+    }
+}
@@ -0,0 +1,194 @@
+package com.jdepanalyzer.api;
+
+import com.jdepanalyzer.service.GraphChangedEvent;
+import com.jdepanalyzer.service.StatementCounter;
+import com.jdepanalyzer.service.VersionDriftIndex;
+import com.jdepanalyzer.service.VersionIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/versions/drift endpoint.
+ *
+ * BDD-style tests for the version drift / convergence report, and for the
+ * version indexes keeping up with upload deltas.
+ */
+class VersionDriftApiTest extends BaseApiTest {
+
+    @Autowired
+    private VersionIndex versionIndex;
+
+    @Autowired
+    private EarlyReader earlyReader;
+
+    /**
+     * Reads both version indexes from inside the delta event, before their
+     * own listeners have applied it.
+     */
+    @TestConfiguration
+    static class EarlyReaderConfig {
+        @Bean
+        EarlyReader earlyReader(VersionIndex versionIndex, VersionDriftIndex driftIndex,
+                StatementCounter statementCounter) {
+            return new EarlyReader(versionIndex, driftIndex, statementCounter);
+        }
+    }
+
+    static class EarlyReader {
+        private final VersionIndex versionIndex;
+        private final VersionDriftIndex driftIndex;
+        private final StatementCounter statementCounter;
+        volatile boolean armed;
+        volatile long statements = -1;
+        volatile List<String> coreVersions;
+
+        EarlyReader(VersionIndex versionIndex, VersionDriftIndex driftIndex, StatementCounter statementCounter) {
+            this.versionIndex = versionIndex;
+            this.driftIndex = driftIndex;
+            this.statementCounter = statementCounter;
+        }
+
+        @EventListener
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        public void onGraphChanged(GraphChangedEvent event) {
+            if (!armed) {
+                return;
+            }
+            armed = false;
+            long before = statementCounter.count();
+            coreVersions = versionIndex.versionsOf("org.springframework:spring-core");
+            driftIndex.report(2, null, 100);
+            statements = statementCounter.count() - before;
+        }
+    }
+
+    // ========================================================================
+    // Scenario: No drift
+    // ========================================================================
+    @Test
+    @DisplayName("Given every GA is used in one version, when I request drift, then the report is empty")
+    void getDrift_withSingleVersions_shouldReturnEmptyReport() throws IOException {
+        // Given: spring-context, which references each dependency once
+        uploadPomFiles("spring-context-6.2.15.pom");
+
+        // When: I request the drift report
+        Map<String, Object> body = drift("");
+
+        // Then: Nothing drifts
+        assertThat(body.get("count")).isEqualTo(0);
+    }
+
+    // ========================================================================
+    // Scenario: Drift picked up incrementally after a later upload
+    // ========================================================================
+    @Test
+    @DisplayName("Given a report was served, when a new upload adds another version, then the report shows the drift and outliers")
+    @SuppressWarnings("unchecked")
+    void getDrift_afterIncrementalUpload_shouldReportOutliers() throws IOException {
+        // Given: Three consumers of spring-core 6.2.15, and the report already built once
+        uploadPomFiles("spring-context-6.2.15.pom", "spring-tx-6.2.15.pom", "spring-web-6.2.15.pom");
+        assertThat(drift("?q=spring-core").get("count")).isEqualTo(0);
+
+        // When: spring-boot-starter (on spring-core 6.2.14) is uploaded
+        uploadPomFiles("spring-boot-starter-3.5.8.pom");
+        Map<String, Object> body = drift("?q=spring-core");
+
+        // Then: spring-core drifts, 6.2.15 dominates and spring-boot-starter is the outlier
+        List<Map<String, Object>> items = (List<Map<String, Object>>) body.get("items");
+        assertThat(items).hasSize(1);
+        Map<String, Object> item = items.get(0);
+        assertThat(item.get("ga")).isEqualTo("org.springframework:spring-core");
+        assertThat(item.get("version_count")).isEqualTo(2);
+        assertThat(item.get("consumer_count")).isEqualTo(4);
+        assertThat(item.get("dominant_version")).isEqualTo("6.2.15");
+        assertThat(item.get("latest_version")).isEqualTo("6.2.15");
+        assertThat((List<Map<String, Object>>) item.get("outliers")).singleElement().satisfies(o -> {
+            assertThat(o.get("consumer")).isEqualTo("org.springframework.boot:spring-boot-starter:3.5.8");
+            assertThat(o.get("version")).isEqualTo("6.2.14");
+        });
+    }
+
+    // ========================================================================
+    // Scenario: Reads while a delta is on its way
+    // ========================================================================
+    @Test
+    @DisplayName("Given built version indexes, when they are read after the version bump but before the delta arrives, then they are served without a rebuild")
+    void indexes_readBeforeDeltaArrives_shouldNotRebuild() throws IOException {
+        // Given: Both indexes built after a first upload
+        uploadPomFiles("spring-context-6.2.15.pom");
+        assertThat(drift("").get("count")).isEqualTo(0);
+        assertThat(versionIndex.versionsOf("org.springframework:spring-core")).containsExactly("6.2.15");
+
+        // When: Another upload's delta is published and a listener reads the indexes before they receive it
+        earlyReader.armed = true;
+        uploadPomFiles("spring-boot-starter-3.5.8.pom");
+
+        // Then: That read ran no statement, and saw the version before the delta
+        assertThat(earlyReader.statements).isZero();
+        assertThat(earlyReader.coreVersions).containsExactly("6.2.15");
+
+        // And: Once delivered, the delta is visible
+        assertThat(versionIndex.versionsOf("org.springframework:spring-core")).containsExactly("6.2.14", "6.2.15");
+    }
+
+    // ========================================================================
+    // Scenario: Shared parent POMs are not drift
+    // ========================================================================
+    @Test
+    @DisplayName("Given projects inheriting different versions of one parent, when I request drift, then the parent is not reported")
+    void getDrift_withParentEdges_shouldIgnoreParents() {
+        // Given: Two projects on different versions of the same parent POM
+        saveEdge("g:app-a:1", "g:parent:1", "parent");
+        saveEdge("g:app-b:1", "g:parent:2", "parent");
+
+        // When: I request the drift report
+        Map<String, Object> body = drift("");
+
+        // Then: Nothing drifts
+        assertThat(body.get("count")).isEqualTo(0);
+    }
+
+    // ========================================================================
+    // Scenario: Invalid limit
+    // ========================================================================
+    @Test
+    @DisplayName("Given any graph, when I request drift with a negative limit, then 400 is returned")
+    void getDrift_withNegativeLimit_shouldReturn400() {
+        // When: I request the report with limit=-1
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/versions/drift?limit=-1"), HttpMethod.GET, null,
+                new ParameterizedTypeReference<>() {
+                });
+
+        // Then: Bad request with an error message
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).containsKey("error");
+    }
+
+    private Map<String, Object> drift(String params) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/versions/drift" + params),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
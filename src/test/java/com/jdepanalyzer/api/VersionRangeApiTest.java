@@ -0,0 +1,114 @@
+package com.jdepanalyzer.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/versions/range endpoint.
+ *
+ * BDD-style tests for Maven version range queries.
+ */
+class VersionRangeApiTest extends BaseApiTest {
+
+    // ========================================================================
+    // Scenario: Comparison shorthand
+    // ========================================================================
+    @Test
+    @DisplayName("Given two versions of an artifact, when I query with '<', then only the older version matches")
+    @SuppressWarnings("unchecked")
+    void findInRange_withLessThan_shouldReturnOlderVersions() throws IOException {
+        // Given: spring-core 6.2.15 (via spring-context) and 6.2.14 (via spring-boot-starter)
+        uploadPomFiles("spring-context-6.2.15.pom", "spring-boot-starter-3.5.8.pom");
+
+        // When: I query spring-core below 6.2.15
+        Map<String, Object> body = query("ga=org.springframework:spring-core&range=<6.2.15");
+
+        // Then: Only 6.2.14 matches
+        List<Map<String, Object>> matches = (List<Map<String, Object>>) body.get("matches");
+        assertThat(matches).extracting(m -> m.get("gav"))
+                .containsExactly("org.springframework:spring-core:6.2.14");
+    }
+
+    // ========================================================================
+    // Scenario: Maven range syntax, ordered by Maven semantics
+    // ========================================================================
+    @Test
+    @DisplayName("Given several versions, when I query a Maven range, then matches are in Maven version order")
+    @SuppressWarnings("unchecked")
+    void findInRange_withMavenRange_shouldUseMavenOrdering() {
+        // Given: Versions whose string order differs from Maven order
+        saveEdge("g:app:1", "com.fasterxml.jackson.core:jackson-databind:2.9.10");
+        saveEdge("g:app:2", "com.fasterxml.jackson.core:jackson-databind:2.13.4");
+        saveEdge("g:app:3", "com.fasterxml.jackson.core:jackson-databind:2.14.0-rc1");
+        saveEdge("g:app:4", "com.fasterxml.jackson.core:jackson-databind:2.15.0");
+
+        // When: I query [2.13,2.15)
+        Map<String, Object> body = query("ga=com.fasterxml.jackson.core:jackson-databind&range=[2.13,2.15)");
+
+        // Then: 2.13.4 and the 2.14 release candidate match, in ascending order
+        List<Map<String, Object>> matches = (List<Map<String, Object>>) body.get("matches");
+        assertThat(matches).extracting(m -> m.get("version"))
+                .containsExactly("2.13.4", "2.14.0-rc1");
+    }
+
+    // ========================================================================
+    // Scenario: Reverse closure of matches
+    // ========================================================================
+    @Test
+    @DisplayName("Given a vulnerable version used transitively, when I ask for dependents, then the reverse closure is returned")
+    @SuppressWarnings("unchecked")
+    void findInRange_withDependents_shouldReturnReverseClosure() {
+        // Given: service -> lib -> log4j-core:2.14.1
+        saveEdge("g:service:1", "g:lib:1");
+        saveEdge("g:lib:1", "org.apache.logging.log4j:log4j-core:2.14.1");
+
+        // When: I query log4j-core below 2.17.1 with dependents
+        Map<String, Object> body = query(
+                "ga=org.apache.logging.log4j:log4j-core&range=(,2.17.1)&dependents=true");
+
+        // Then: Both direct and transitive consumers are listed
+        List<Map<String, Object>> matches = (List<Map<String, Object>>) body.get("matches");
+        assertThat(matches).hasSize(1);
+        assertThat((List<String>) matches.get(0).get("dependents"))
+                .containsExactly("g:lib:1", "g:service:1");
+    }
+
+    // ========================================================================
+    // Scenario: Invalid range
+    // ========================================================================
+    @Test
+    @DisplayName("Given an invalid range, when I query, then I should get 400 Bad Request")
+    void findInRange_withInvalidRange_shouldReturnBadRequest() {
+        // When: I query with an unbalanced range
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/versions/range?ga=g:a&range=[1.0"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+
+        // Then: The request is rejected
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private Map<String, Object> query(String params) {
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                apiUrl("/api/versions/range?" + params),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+}
@@ -0,0 +1,100 @@
+package com.jdepanalyzer.api;
+
+import com.jdepanalyzer.service.GraphIndex;
+import com.jdepanalyzer.service.ResidentGraphService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for GET /api/graph/data reading the resident graph index.
+ *
+ * BDD-style tests for applying upload deltas to the published index, and for
+ * reads that run while uploads commit.
+ */
+class VersionedGraphApiTest extends BaseApiTest {
+
+    private static final String CORE = "org.springframework:spring-core:6.2.15";
+    private static final String CONTEXT = "org.springframework:spring-context:6.2.15";
+
+    @Autowired
+    private ResidentGraphService residentGraphService;
+
+    // ========================================================================
+    // Scenario: Uploads extend the published index
+    // ========================================================================
+    @Test
+    @DisplayName("Given a published index, when another POM is uploaded, then the next index adds its rows and keeps the old one intact")
+    void upload_afterIndexPublished_shouldPublishNextVersion() throws IOException {
+        // Given: An index with spring-core only
+        uploadPomFiles("spring-core-6.2.15.pom");
+        assertThat(graphData("").get("node_count")).isEqualTo(2);
+        GraphIndex before = residentGraphService.current();
+
+        // When: spring-context is uploaded
+        uploadPomFiles("spring-context-6.2.15.pom");
+
+        // Then: The delta was applied without a reload: same edges as before, plus the new ones
+        GraphIndex after = residentGraphService.lastBuilt();
+        assertThat(after.version()).isEqualTo(graphVersionService.current()).isGreaterThan(before.version());
+        assertThat(after.edgeCount()).isEqualTo((int) edgeRepository.count()).isGreaterThan(before.edgeCount());
+        assertThat(after.maxEdgeId()).isGreaterThan(before.maxEdgeId());
+        assertThat(nodeIds(graphData("?root_id=" + CORE + "&direction=reverse"))).contains(CONTEXT);
+
+        // And: The earlier index still describes the earlier version
+        assertThat(before.id(CONTEXT)).isNegative();
+        assertThat(before.id(CORE)).isNotNegative();
+    }
+
+    // ========================================================================
+    // Scenario: Reads during uploads
+    // ========================================================================
+    @Test
+    @DisplayName("Given uploads in progress, when I read the graph concurrently, then every response is a complete version")
+    @SuppressWarnings("unchecked")
+    void getGraphData_duringUploads_shouldReturnConsistentVersions() throws Exception {
+        // Given: A graph read once, then several POMs uploaded one by one in the background
+        uploadPomFiles("spring-core-6.2.15.pom");
+        graphData("");
+        CompletableFuture<Void> uploads = CompletableFuture.runAsync(() -> {
+            for (String pom : List.of("spring-context-6.2.15.pom", "spring-tx-6.2.15.pom",
+                    "spring-web-6.2.15.pom", "spring-webmvc-6.2.15.pom")) {
+                try {
+                    uploadPomFiles(pom);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+
+        // When: I keep reading the whole graph until the uploads finish
+        int previousNodes = 0;
+        do {
+            Map<String, Object> body = graphData("");
+            Set<Object> nodes = new HashSet<>(nodeIds(body));
+
+            // Then: Every edge ends on nodes of the same response, and nothing disappears
+            for (Map<String, Object> element : (List<Map<String, Object>>) body.get("elements")) {
+                Map<String, Object> data = (Map<String, Object>) element.get("data");
+                if (data.containsKey("source")) {
+                    assertThat(nodes).contains(data.get("source"), data.get("target"));
+                }
+            }
+            assertThat(nodes.size()).isGreaterThanOrEqualTo(previousNodes);
+            previousNodes = nodes.size();
+        } while (!uploads.isDone());
+        uploads.get();
+
+        // And: The last snapshot matches the database
+        assertThat(graphData("").get("node_count")).isEqualTo((int) artifactRepository.count());
+    }
+}
@@ -0,0 +1,143 @@
+package com.jdepanalyzer.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jdepanalyzer.model.Artifact;
+import com.jdepanalyzer.model.DependencyEdge;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for how {@link PostgresGraphNotifications} handles incoming
+ * notifications.
+ *
+ * BDD-style tests feeding payloads to {@code receive} and checking what
+ * reaches a mocked {@link GraphVersionService}; no database is involved.
+ */
+class PostgresGraphNotificationsTest {
+
+    private static final String CORE = "org.springframework:spring-core:6.2.15";
+    private static final String JCL = "org.springframework:spring-jcl:6.2.15";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JdbcTemplate jdbcTemplate;
+    private GraphVersionService graphVersionService;
+    private PostgresGraphNotifications notifications;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        graphVersionService = mock(GraphVersionService.class);
+        notifications = new PostgresGraphNotifications(mock(DataSource.class), jdbcTemplate, graphVersionService,
+                objectMapper, 500);
+    }
+
+    // ========================================================================
+    // Scenario: Deltas from other instances
+    // ========================================================================
+    @Test
+    @DisplayName("Given consecutive deltas from another instance, when they arrive in order, then each is applied")
+    @SuppressWarnings("unchecked")
+    void receive_inOrderDelta_shouldApplyRemoteChange() throws Exception {
+        // Given: Two deltas numbered 7 and 8 from another instance
+        String first = delta("other", 7, List.of(CORE, JCL), List.of(Arrays.asList(1, CORE, JCL, "compile", null)));
+        String second = delta("other", 8, List.of(), List.of());
+
+        // When: They arrive in order
+        notifications.receive(first);
+        notifications.receive(second);
+
+        // Then: The first delta's rows reach the version service, and nothing reloads
+        ArgumentCaptor<List<Artifact>> artifacts = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<DependencyEdge>> edges = ArgumentCaptor.forClass(List.class);
+        verify(graphVersionService, times(2)).applyRemoteChange(artifacts.capture(), edges.capture());
+        assertThat(artifacts.getAllValues().get(0)).extracting(Artifact::getGav).containsExactly(CORE, JCL);
+        DependencyEdge edge = edges.getAllValues().get(0).get(0);
+        assertThat(edge.getId()).isEqualTo(1L);
+        assertThat(edge.getFromGav()).isEqualTo(CORE);
+        assertThat(edge.getToGav()).isEqualTo(JCL);
+        assertThat(edge.getScope()).isEqualTo("compile");
+        verify(graphVersionService, never()).invalidate();
+    }
+
+    @Test
+    @DisplayName("Given a delta I broadcast myself, when it comes back, then it is ignored")
+    void receive_ownOrigin_shouldBeIgnored() throws Exception {
+        // Given: A delta this instance broadcast as number 3
+        when(jdbcTemplate.queryForObject("SELECT nextval('graph_change_seq')", Long.class)).thenReturn(3L);
+        notifications.broadcast(List.of(Artifact.fromGav(CORE)), List.of());
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                eq(PostgresGraphNotifications.CHANNEL), payload.capture());
+
+        // When: The notification is delivered back to this instance
+        notifications.receive((String) payload.getValue());
+
+        // Then: Nothing is applied or reloaded
+        verifyNoInteractions(graphVersionService);
+    }
+
+    // ========================================================================
+    // Scenario: Falling back to a reload
+    // ========================================================================
+    @Test
+    @DisplayName("Given a delta too large to send, when its notification arrives, then the graph reloads")
+    void receive_fullReload_shouldInvalidate() throws Exception {
+        // When: A notification without rows arrives
+        notifications.receive(objectMapper.writeValueAsString(
+                new PostgresGraphNotifications.Message("other", 1, true, null, null)));
+
+        // Then: Indexes reload instead of applying a delta
+        verify(graphVersionService).invalidate();
+        verify(graphVersionService, never()).applyRemoteChange(anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Given a delta chain, when a number is skipped or arrives late, then the graph reloads")
+    void receive_gapOrReorder_shouldInvalidate() throws Exception {
+        // Given: Delta 4 was applied
+        notifications.receive(delta("other", 4, List.of(CORE), List.of()));
+
+        // When: Delta 6 arrives before 5, then 5 arrives
+        notifications.receive(delta("other", 6, List.of(JCL), List.of()));
+        notifications.receive(delta("other", 5, List.of(JCL), List.of()));
+
+        // Then: Only delta 4 was applied; the gap and the late delta each force a reload
+        verify(graphVersionService).applyRemoteChange(anyList(), anyList());
+        verify(graphVersionService, times(2)).invalidate();
+    }
+
+    @Test
+    @DisplayName("Given a malformed payload, when it arrives, then the graph reloads")
+    void receive_malformedPayload_shouldInvalidate() {
+        // When: Something that is not a graph change arrives on the channel
+        notifications.receive("{not json");
+
+        // Then: The delta chain can no longer be trusted
+        verify(graphVersionService).invalidate();
+        verify(graphVersionService, never()).applyRemoteChange(anyList(), anyList());
+    }
+
+    private String delta(String origin, long seq, List<String> artifacts, List<List<Object>> edges) throws Exception {
+        return objectMapper.writeValueAsString(
+                new PostgresGraphNotifications.Message(origin, seq, false, artifacts, edges));
+    }
+}